@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2022 VMware Inc. or its affiliates, All Rights Reserved.
+ * Copyright (c) 2011-2026 VMware Inc. or its affiliates, All Rights Reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -29,6 +29,7 @@ plugins {
     alias(libs.plugins.shadow)
     alias(libs.plugins.sass)
     alias(libs.plugins.spotless)
+    alias(libs.plugins.jmh)
 }
 
 group = "io.projectreactor"
@@ -65,6 +66,33 @@ tasks.withType<JavaCompile> {
     dependsOn(tasks.compileSass)
 }
 
+//benchmarks in src/jmh/java, run with ./gradlew jmh (-PjmhIncludes=<regex> to select some)
+jmh {
+    jmhVersion = "1.37"
+    if (project.hasProperty("jmhIncludes")) {
+        includes = listOf(project.properties["jmhIncludes"].toString())
+    }
+}
+
+//routes are driven with BlockHound installed in a dedicated JVM, failing on any blocking call on an event loop
+val blockHoundTest by tasks.registering(Test::class) {
+    description = "Checks that the routes don't block event loops."
+    group = "verification"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    filter.includeTestsMatching("io.projectreactor.BlockingCallsTest")
+    //BlockHound instruments JDK classes, which needs this flag since JDK 13
+    jvmArgs("-XX:+AllowRedefinitionToAddDeleteMethods")
+}
+
+tasks.test {
+    filter.excludeTestsMatching("io.projectreactor.BlockingCallsTest")
+}
+
+tasks.check {
+    dependsOn(blockHoundTest)
+}
+
 configure<SpotlessExtension> {
     if (project.hasProperty("spotlessFrom")) {
         val spotlessBranch = project.properties["spotlessFrom"].toString()
@@ -108,10 +136,15 @@ dependencies {
     implementation(libs.thymeleaf)
     implementation(libs.snakeYaml)
     implementation(libs.jackson)
+    implementation(libs.caffeine)
+    implementation(libs.brotli4j)
+    //brotli is only available on platforms with a native library, others fall back to gzip
+    runtimeOnly(libs.brotli4jNativeLinux)
     runtimeOnly(libs.commonsLogging)
     runtimeOnly(libs.slf4jApi)
     runtimeOnly(libs.logback)
 
     testImplementation(libs.junit4)
     testImplementation(libs.assertJ)
+    testImplementation(libs.blockHound)
 }
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2026 VMware Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.projectreactor;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import reactor.util.function.Tuple2;
+
+/**
+ * Compares the resolution of requested modules and versions by scanning the versions
+ * ({@link DocUtils#findModuleAndVersion(Map, String, String)}) with the precomputed
+ * {@link ModuleCatalog}, on modules with as many versions as the actual ones.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ModuleResolutionBenchmark {
+
+	/**
+	 * The requested version: an alias, an exact version, a version only found in the
+	 * archive module, or an unknown version.
+	 */
+	@Param({"release", "snapshot", "3.5.7", "3.1.2.RELEASE", "9.9.9"})
+	public String version;
+
+	Map<String, Module> modules;
+	ModuleCatalog       catalog;
+
+	@Setup
+	public void setUp() {
+		Module core = new Module("core", "io.projectreactor", "reactor-core");
+		for (int minor = 2; minor <= 8; minor++) {
+			for (int patch = 0; patch < 20; patch++) {
+				core.addVersion("3." + minor + "." + patch);
+				core.addVersion("3." + minor + "." + patch + "-SNAPSHOT");
+			}
+			core.addVersion("3." + minor + ".0-M1")
+			    .addVersion("3." + minor + ".0-RC1");
+		}
+		core.sortVersions();
+
+		Module coreArchive = new Module("coreArchive", "io.projectreactor", "reactor-core");
+		for (int patch = 0; patch < 20; patch++) {
+			coreArchive.addVersion("3.1." + patch + ".RELEASE")
+			           .addVersion("3.1." + patch + ".BUILD-SNAPSHOT");
+		}
+		coreArchive.sortVersions();
+
+		modules = new HashMap<>();
+		modules.put(core.getName(), core);
+		modules.put(coreArchive.getName(), coreArchive);
+		catalog = ModuleCatalog.of(modules);
+	}
+
+	@Benchmark
+	public Tuple2<Module, String> scan() {
+		return DocUtils.findModuleAndVersion(modules, "core", version);
+	}
+
+	@Benchmark
+	public Tuple2<Module, String> catalog() {
+		return catalog.resolve("core", version);
+	}
+}
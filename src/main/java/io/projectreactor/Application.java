@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2015-2025 VMware Inc. or its affiliates, All Rights Reserved.
+ * Copyright (c) 2015-2026 VMware Inc. or its affiliates, All Rights Reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,6 +20,7 @@ import java.io.IOException;
 import java.lang.management.ManagementFactory;
 import java.nio.file.FileSystem;
 import java.nio.file.FileSystems;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.Duration;
@@ -31,11 +32,21 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
+import java.util.zip.ZipEntry;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.util.AsciiString;
+import io.netty.util.ReferenceCountUtil;
 import org.reactivestreams.Publisher;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
@@ -46,14 +57,20 @@ import org.yaml.snakeyaml.constructor.Constructor;
 
 import org.springframework.core.io.ClassPathResource;
 
+import reactor.core.Disposable;
+import reactor.core.Disposables;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpResources;
 import reactor.netty.http.client.HttpClient;
 import reactor.netty.http.server.HttpServer;
 import reactor.netty.http.server.HttpServerRequest;
 import reactor.netty.http.server.HttpServerResponse;
 import reactor.util.Logger;
 import reactor.util.Loggers;
+import reactor.util.annotation.Nullable;
 import reactor.util.function.Tuple2;
 import reactor.util.function.Tuple4;
 import reactor.util.function.Tuple5;
@@ -71,6 +88,12 @@ public final class Application {
 	public static final boolean SKIP_SONATYPE =
 			Boolean.parseBoolean(System.getenv("REACTOR_SITE_SKIP_SONATYPE"));
 
+	/**
+	 * The maximum size of a proxied documentation file that can be buffered in memory, to
+	 * be cached and shared between concurrent requests. Bigger files are streamed.
+	 */
+	static final int MAX_BUFFERED_BYTES = ApplicationUtils.configInt("REACTOR_SITE_PROXY_MAX_BUFFERED_KB", 4096) * 1024;
+
 	static {
 		LOGGER.info("Env variable REACTOR_SITE_SKIP_SONATYPE={}",
 				System.getenv("REACTOR_SITE_SKIP_SONATYPE"));
@@ -82,12 +105,54 @@ public final class Application {
 		}
 	}
 
-	private final Map<String, Module> modules     = new HashMap<>();
-	private final HttpClient          client      = HttpClient.create();
+	/**
+	 * The modules and the resolution of requested modules and versions, replaced as a
+	 * whole when versions change.
+	 */
+	private volatile ModuleCatalog    catalog;
+	private final ModuleVersionsSnapshot versionsSnapshot = new ModuleVersionsSnapshot(Paths.get(
+			ApplicationUtils.config("REACTOR_SITE_VERSIONS_SNAPSHOT",
+					Paths.get(System.getProperty("java.io.tmpdir"), "reactor-site-versions.json").toString())));
+	private final boolean             versionsFromSnapshot;
+	private final UpstreamClients     upstreams   = new UpstreamClients();
+	private final VersionScraper      versionScraper = ModuleUtils.versionScraper(upstreams);
 	private final Path                contentPath = resolveContentPath();
+	/**
+	 * Where rendering and reads of the packaged content happen, off the event loops.
+	 */
+	private final Scheduler           offload     = Offloading.fromConfig();
+	@Nullable
+	private final DocArchiveStore     archiveStore;
+	@Nullable
+	private final ProxyCache          proxyCache  = ProxyCache.fromConfig(MAX_BUFFERED_BYTES, offload);
+	@Nullable
+	private final NegativeCache       negativeCache = NegativeCache.fromConfig();
+
+	private final SingleFlight<ProxyCache.CachedResponse> upstreamFlights = new SingleFlight<>();
+
+	/**
+	 * The urls of documentation files found to be too big to be buffered, which are then
+	 * streamed right away rather than requested once more after an attempt to buffer them.
+	 */
+	private final Cache<String, Boolean> unbufferedUrls = Caffeine.newBuilder()
+	                                                              .maximumSize(10_000)
+	                                                              .expireAfterWrite(Duration.ofDays(1))
+	                                                              .build();
+
+	/**
+	 * The rendered versions page of each module, with the module it was rendered from.
+	 */
+	private final Map<String, VersionsPage> versionsPages = new ConcurrentHashMap<>();
+
+	/**
+	 * The files of the packaged content that were served, read once.
+	 */
+	private final Map<Path, RenderedPage> staticFiles = new ConcurrentHashMap<>();
 
 	private final Mono<? extends DisposableServer> context;
 	private final TemplateEngine templateEngine;
+	private final PageTemplate   notFoundPage;
+	private final PageTemplate   noKdocPage;
 	private final Map<String, Object> docsModel = new HashMap<>();
 
 	Application() throws IOException {
@@ -97,6 +162,8 @@ public final class Application {
 		templateResolver.setSuffix(".html");
 		this.templateEngine = new TemplateEngine();
 		this.templateEngine.setTemplateResolver(templateResolver);
+		this.notFoundPage = pageTemplate("404", "requestedPage");
+		this.noKdocPage = pageTemplate("404NoKDoc", "requestedPage", "actualModule", "actualVersion");
 
 		//evaluate the boms.yml file first and add it to thymeleaf's model
 		Yaml bomYaml = new Yaml(new Constructor(Bom.class, new LoaderOptions()));
@@ -107,12 +174,33 @@ public final class Application {
 		       });
 		//evaluate modules, add oldboms to thymeleaf's model
 		//get at a minimum the list of modules, oldBom, artifacts and groupids from yml
-		ModuleUtils.loadModulesFromYmlInto(new ClassPathResource("modules.yml"), modules);
+		Map<String, Module> modules = loadModules();
 
-		ModuleUtils.fetchVersionsFromArtifactRepository(this.modules);
+		//start right away with the versions of the last run if any, they're refreshed once started
+		this.versionsFromSnapshot = versionsSnapshot.loadInto(modules);
+		if (!versionsFromSnapshot) {
+			fetchVersions(modules);
+		}
+		this.catalog = ModuleCatalog.of(modules);
 		LOGGER.info("Boms and modules loaded in " + (System.currentTimeMillis() - start) + "ms");
 
 		docsModel.put("oldBoms", modules.get("olderBoms"));
+
+		//documentation archives are stored locally unless explicitly deactivated
+		if (ApplicationUtils.configBoolean("REACTOR_SITE_ARCHIVE_STORE", true)) {
+			Path archiveDir = Paths.get(ApplicationUtils.config("REACTOR_SITE_ARCHIVE_DIR",
+					Paths.get(System.getProperty("java.io.tmpdir"), "reactor-site-archives").toString()));
+			int maxOpenArchives = ApplicationUtils.configInt("REACTOR_SITE_ARCHIVE_MAX_OPEN", 64);
+			long maxArchiveBytes = ApplicationUtils.configInt("REACTOR_SITE_ARCHIVE_MAX_MB", 4096) * 1024L * 1024L;
+			this.archiveStore = new DocArchiveStore(archiveDir, upstreams, Duration.ofMinutes(5),
+					maxOpenArchives, maxArchiveBytes);
+			LOGGER.info("Documentation archives will be stored in {}, up to {}MB and {} open archives",
+					archiveDir, maxArchiveBytes / 1024 / 1024, maxOpenArchives);
+		}
+		else {
+			this.archiveStore = null;
+			LOGGER.info("Documentation archives won't be stored locally, all documentation pages are proxied");
+		}
 		String maintenanceDate = System.getProperty("maintenanceDate", System.getenv("maintenanceDate"));
 		String maintenanceEnd = System.getProperty("maintenanceEnd", System.getenv("maintenanceEnd"));
 		if (maintenanceDate != null && maintenanceEnd != null) {
@@ -139,51 +227,58 @@ public final class Application {
 
 		//templates will be resolved and parsed below during route setup
 
-		int port = 1025;
-		if (System.getenv("PORT") != null){
-			port = Integer.parseInt(System.getenv("PORT"));
+		int port = ApplicationUtils.configInt("PORT", 1025);
+		if (port != 1025) {
 			LOGGER.info("PORT environment variable detected, using port: " + port);
 		}
 
-		context = HttpServer.create()
-		                    .host("0.0.0.0")
-		                    .port(port)
-		                    .route(r -> r.file("/favicon.ico", contentPath.resolve("favicon.ico"))
-		                                 .get("/security-policy", template("security-policy"))
-		                                 .file("/.well-known/security.txt", contentPath.resolve("well-known/security.txt"))
-		                                 //the dot in .well-known is confusing to netty. that said, we're not expected to serve an index for this directory so let's cover the case explicitly
-		                                 .get("/.well-known", pageNotFound())
-		                                 .get("/", template("home"))
-		                                 .get("/docs", template("docs"))
-		                                 .get("/learn", template("learn"))
-		                                 .get("/support", template("support"))
-										 .file("/support.json", contentPath.resolve("support.json"))
-		                                 .get("/maintenance", template("maintenance"))
-		                                 //.get("/project", template("project"))
-		                                 .get("/docs/{module}", this::listVersionsAndDocs)
-		                                 .get("/docs/", rewrite("docs/", "docs"))
-		                                 .get("/learn/", rewrite("learn/", "learn"))
-		                                 .get("/docs/{module}/", (req, resp) -> resp.sendRedirect(req.uri().substring(0, req.uri().length() - 1)))
-		                                 .get("/docs/{module}/{version}/api", rewrite("/api", "/api/index.html"))
-		                                 .get("/docs/{module}/{version}/reference/docs/**", rewrite("/reference/docs/", "/reference/"))
-		                                 .get("/docs/{module}/{version}/reference", rewrite("/reference", "/reference/index.html"))
-		                                 .get("/docs/{module}/{version}/api/**", this::repoProxy)
-		                                 .get("/docs/{module}/{version}/reference/**", this::repoProxy)
-		                                 //TODO this is a hack due to the dokka css being imported as `../style.css` in the html
-		                                 .get("/docs/{module}/{version}/style.css",  rewrite("/style.css", "/kdoc-api/style.css"))
-		                                 .get("/docs/{module}/{version}/kdoc-api",  rewrite("/kdoc-api", "/kdoc-api/index.html"))
-		                                 .get("/docs/{module}/{version}/kdoc-api/**", this::repoProxy)
-		                                 .get("/core/docs/reference/**", (req, resp) -> resp.sendRedirect("https://github.com/reactor/reactor-core/blob/master/README.md"))
-		                                 .get("/ext/docs/api/**/adapter/**", rewrite("/ext/docs/", "/docs/adapter/release/"))
-		                                 .get("/ipc/docs/api/**", rewrite("/ipc/docs/", "/docs/ipc/release/"))
-		                                 .get("/ext/docs/api/**/test/**", rewrite("/ext/docs/", "/docs/test/release/"))
-		                                 .get("/netty/docs/api/**", rewrite("/netty/docs/", "/docs/netty/release/"))
-		                                 .get("/2.x/{module}/api", this::legacyProxy)
-		                                 .get("/2.x/reference/", legacyGone())
-		                                 .index(pageNotFound()) //any attempt to list an arbitrary directory is 404
-		                                 .directory("/assets", contentPath.resolve("assets"), this::cssInterceptor)
-		                                 .get("**", pageNotFound()))
-		                    .bind();
+		HttpServer server = HttpServer.create()
+		                              .host("0.0.0.0")
+		                              .port(port);
+		if (Compression.ENABLED) {
+			//responses that haven't been compressed beforehand are compressed on the fly
+			//except 404 pages, so that crawlers probing random urls don't cost a compression each
+			server = server.compress((req, res) -> res.status().code() != HttpResponseStatus.NOT_FOUND.code()
+					&& Compression.shouldCompress(res.responseHeaders()));
+			LOGGER.info("Compression of responses enabled with {}", Compression.ENCODINGS);
+		}
+
+		context = server.route(r -> r.get("/favicon.ico", staticFile(contentPath.resolve("favicon.ico")))
+		                             .get("/security-policy", template("security-policy"))
+		                             .get("/.well-known/security.txt", staticFile(contentPath.resolve("well-known/security.txt")))
+		                             //the dot in .well-known is confusing to netty. that said, we're not expected to serve an index for this directory so let's cover the case explicitly
+		                             .get("/.well-known", pageNotFound())
+		                             .get("/", template("home"))
+		                             .get("/docs", template("docs"))
+		                             .get("/learn", template("learn"))
+		                             .get("/support", template("support"))
+		                             .get("/support.json", staticFile(contentPath.resolve("support.json")))
+		                             .get("/maintenance", template("maintenance"))
+		                             //.get("/project", template("project"))
+		                             .get("/docs/{module}", this::listVersionsAndDocs)
+		                             .get("/docs/", rewrite("docs/", "docs"))
+		                             .get("/learn/", rewrite("learn/", "learn"))
+		                             .get("/docs/{module}/", (req, resp) -> resp.sendRedirect(req.uri().substring(0, req.uri().length() - 1)))
+		                             .get("/docs/{module}/{version}/api", rewrite("/api", "/api/index.html"))
+		                             .get("/docs/{module}/{version}/reference/docs/**", rewrite("/reference/docs/", "/reference/"))
+		                             .get("/docs/{module}/{version}/reference", rewrite("/reference", "/reference/index.html"))
+		                             .get("/docs/{module}/{version}/api/**", shedLoad(this::repoProxy))
+		                             .get("/docs/{module}/{version}/reference/**", shedLoad(this::repoProxy))
+		                             //TODO this is a hack due to the dokka css being imported as `../style.css` in the html
+		                             .get("/docs/{module}/{version}/style.css",  rewrite("/style.css", "/kdoc-api/style.css"))
+		                             .get("/docs/{module}/{version}/kdoc-api",  rewrite("/kdoc-api", "/kdoc-api/index.html"))
+		                             .get("/docs/{module}/{version}/kdoc-api/**", shedLoad(this::repoProxy))
+		                             .get("/core/docs/reference/**", (req, resp) -> resp.sendRedirect("https://github.com/reactor/reactor-core/blob/master/README.md"))
+		                             .get("/ext/docs/api/**/adapter/**", rewrite("/ext/docs/", "/docs/adapter/release/"))
+		                             .get("/ipc/docs/api/**", rewrite("/ipc/docs/", "/docs/ipc/release/"))
+		                             .get("/ext/docs/api/**/test/**", rewrite("/ext/docs/", "/docs/test/release/"))
+		                             .get("/netty/docs/api/**", rewrite("/netty/docs/", "/docs/netty/release/"))
+		                             .get("/2.x/{module}/api", this::legacyProxy)
+		                             .get("/2.x/reference/", legacyGone())
+		                             .index(pageNotFound()) //any attempt to list an arbitrary directory is 404
+		                             .get("/assets/**", staticDirectory("/assets/", contentPath.resolve("assets")))
+		                             .get("**", pageNotFound()))
+		                .bind();
 	}
 
 	public static void main(String... args) throws Exception {
@@ -192,10 +287,133 @@ public final class Application {
 	}
 
 	public void startAndAwait() {
-		context.doOnNext(this::startLog)
-		 .block()
-		 .onDispose()
-		 .block();
+		DisposableServer server = bind();
+		Disposable refreshing = refreshVersions(versionsFromSnapshot);
+		Disposable prefetching = startPrefetch();
+		Disposable lagProbe = EventLoopLagProbe.fromConfig(HttpResources.get().onServer(true));
+		server.onDispose()
+		      .block();
+		refreshing.dispose();
+		prefetching.dispose();
+		lagProbe.dispose();
+		upstreams.dispose();
+		offload.dispose();
+	}
+
+	/**
+	 * Bind the server, without starting any of the background tasks.
+	 *
+	 * @return the bound server
+	 */
+	DisposableServer bind() {
+		return context.doOnNext(this::startLog)
+		              .block();
+	}
+
+	private static Map<String, Module> loadModules() {
+		Map<String, Module> modules = new HashMap<>();
+		ModuleUtils.loadModulesFromYmlInto(new ClassPathResource("modules.yml"), modules);
+		return modules;
+	}
+
+	/**
+	 * Fetch the versions of modules from the artifact repositories (blocking), and save
+	 * them in the versions snapshot unless nothing could be fetched.
+	 *
+	 * @return the report of what was fetched and what was missed
+	 */
+	private VersionScraper.Report fetchVersions(Map<String, Module> modules) {
+		VersionScraper.Report report = ModuleUtils.fetchVersionsFromArtifactRepository(modules, this.versionScraper);
+		if (report.scraped.isEmpty()) {
+			return report;
+		}
+		try {
+			versionsSnapshot.save(modules);
+		}
+		catch (IOException e) {
+			LOGGER.warn("Couldn't save the module versions snapshot {}: {}", versionsSnapshot.path, e.toString());
+		}
+		return report;
+	}
+
+	/**
+	 * Periodically fetch fresh versions in the background, and swap the catalog once
+	 * done. The current catalog keeps being used while fetches fail.
+	 *
+	 * @param immediately true to fetch right away, eg. when started from a snapshot
+	 */
+	private Disposable refreshVersions(boolean immediately) {
+		Duration interval = Duration.ofMinutes(ApplicationUtils.configInt("REACTOR_SITE_VERSIONS_REFRESH_MINUTES", 60));
+		if (interval.isZero() || interval.isNegative()) {
+			LOGGER.info("Periodic refresh of module versions deactivated");
+			if (!immediately) {
+				return Disposables.disposed();
+			}
+			//still refresh once, versions from the snapshot may be outdated
+			return Mono.fromCallable(this::fetchCatalog)
+			           .subscribeOn(Schedulers.boundedElastic())
+			           .subscribe(this::publishCatalog, e -> LOGGER.warn("Unable to refresh module versions", e));
+		}
+		PeriodicRefresher<ModuleCatalog> refresher = new PeriodicRefresher<>("module versions",
+				this::fetchCatalog, this::publishCatalog, interval, Duration.ofMinutes(1), 0.1);
+		return refresher.start(immediately);
+	}
+
+	private ModuleCatalog fetchCatalog() {
+		long start = System.currentTimeMillis();
+		Map<String, Module> modules = loadModules();
+		//versions are never unpublished: start from the known ones, which covers partial
+		//fetch failures
+		ModuleCatalog current = this.catalog;
+		modules.forEach((name, module) -> {
+			Module known = current.modules.get(name);
+			if (known != null) {
+				known.getVersions().forEach(v -> ModuleUtils.tryAddVersion(module, v));
+				module.sortAndDeduplicateVersions();
+			}
+		});
+		VersionScraper.Report report = fetchVersions(modules);
+		if (report.scraped.isEmpty() && !report.missed.isEmpty()) {
+			//retried with a backoff, rather than waiting for the next interval
+			throw new IllegalStateException("No module versions could be fetched: " + report.missed);
+		}
+		LOGGER.info("Module versions refreshed in {}ms", System.currentTimeMillis() - start);
+		return ModuleCatalog.of(modules);
+	}
+
+	/**
+	 * Swap the catalog for a fresh one, and invalidate what depends on the versions if
+	 * they changed.
+	 */
+	private void publishCatalog(ModuleCatalog refreshed) {
+		ModuleCatalog previous = this.catalog;
+		this.catalog = refreshed;
+		if (previous.hasSameVersions(refreshed)) {
+			return;
+		}
+		LOGGER.info("Module versions changed");
+		if (negativeCache != null) {
+			negativeCache.invalidateAll();
+		}
+	}
+
+	/**
+	 * Prefetch the documentation of the current release train in the background, unless
+	 * deactivated or there is nowhere to keep it.
+	 */
+	private Disposable startPrefetch() {
+		Object stable = docsModel.get("stable");
+		if (!ApplicationUtils.configBoolean("REACTOR_SITE_PREFETCH", true) || !(stable instanceof Bom)
+				|| (proxyCache == null && archiveStore == null)) {
+			LOGGER.info("Documentation prefetching deactivated");
+			return Disposables.disposed();
+		}
+		List<String> paths = DocPrefetcher.paths((Bom) stable, catalog.modules);
+		DocPrefetcher prefetcher = new DocPrefetcher(this::prefetch,
+				ApplicationUtils.configInt("REACTOR_SITE_PREFETCH_CONCURRENCY", 4));
+		LOGGER.info("Prefetching {} documentation files of release train {}", paths.size(), ((Bom) stable).getName());
+		return prefetcher.prefetch(paths)
+		                 .subscribe(null, e -> LOGGER.warn("Documentation prefetching failed", e));
 	}
 
 	private BiFunction<HttpServerRequest, HttpServerResponse, Publisher<Void>> rewrite(
@@ -206,37 +424,78 @@ public final class Application {
 	private BiFunction<HttpServerRequest, HttpServerResponse, Publisher<Void>> template(
 			String templateName) {
 
-		//the template parsing happens at app's initialization
+		//the template parsing, encoding and compression happen at app's initialization
 		long start = System.nanoTime();
-		final String content = templateEngine.process(templateName, new Context(Locale.US, docsModel));
+		final RenderedPage page = RenderedPage.of(templateEngine.process(templateName, new Context(Locale.US, docsModel)));
 		long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
 		LOGGER.info("Parsed template {} in {}ms", templateName, duration);
 
-		return (req, resp) -> resp.sendString(Mono.just(content));
+		return page::send;
+	}
+
+	private PageTemplate pageTemplate(String templateName, String... variables) {
+		Map<String, Object> placeholders = new HashMap<>();
+		for (String variable : variables) {
+			placeholders.put(variable, PageTemplate.placeholder(variable));
+		}
+		return PageTemplate.of(templateEngine.process(templateName, new Context(Locale.US, placeholders)), variables);
 	}
 
 	private BiFunction<HttpServerRequest, HttpServerResponse, Publisher<Void>> legacyGone() {
-		//the template parsing happens at app's initialization
+		//the template parsing, encoding and compression happen at app's initialization
 		long start = System.nanoTime();
-		final String content = templateEngine.process("410LegacyGone", new Context(Locale.US, docsModel));
+		final RenderedPage page = RenderedPage.of(templateEngine.process("410LegacyGone", new Context(Locale.US, docsModel)));
 		long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
 		LOGGER.info("Parsed template 410LegacyGone in {}ms", duration);
 
-		return (req, resp) -> resp
-				.status(410)
-				.sendString(Mono.just(content));
+		return (req, resp) -> page.send(HttpResponseStatus.GONE, req, resp);
+	}
+
+	/**
+	 * Answer with a {@code 503 Service Unavailable} and a {@code Retry-After} when a
+	 * handler fails because an upstream is overloaded.
+	 */
+	private static BiFunction<HttpServerRequest, HttpServerResponse, Publisher<Void>> shedLoad(
+			BiFunction<HttpServerRequest, HttpServerResponse, Publisher<Void>> handler) {
+		return (req, resp) -> Mono.from(handler.apply(req, resp))
+		                          .onErrorResume(e -> {
+			                          UpstreamOverloadedException overloaded = UpstreamOverloadedException.find(e);
+			                          if (overloaded == null || resp.hasSentHeaders()) {
+				                          return Mono.error(e);
+			                          }
+			                          LOGGER.debug("Shedding {}: {}", req.uri(), overloaded.getMessage());
+			                          return resp.status(HttpResponseStatus.SERVICE_UNAVAILABLE)
+			                                     .header(HttpHeaderNames.RETRY_AFTER, overloaded.retryAfterSeconds())
+			                                     .header(HttpHeaderNames.CACHE_CONTROL, "no-store")
+			                                     .send()
+			                                     .then();
+		                          });
 	}
 
 	private BiFunction<HttpServerRequest, HttpServerResponse, Publisher<Void>> pageNotFound() {
+		//the template is pre-rendered, only the requested url is injected
+		return (req, resp) -> sendNotFound(notFoundPage, req, resp, req.path());
+	}
+
+	private static Publisher<Void> sendNotFound(PageTemplate page, HttpServerRequest req, HttpServerResponse resp,
+			String... values) {
+		ByteBuf body = page.render(resp.alloc(), values);
+		return resp.status(HttpResponseStatus.NOT_FOUND)
+		           .header(HttpHeaderNames.CONTENT_TYPE, RenderedPage.HTML)
+		           .header(HttpHeaderNames.CONTENT_LENGTH, String.valueOf(body.readableBytes()))
+		           .send(Mono.just(body));
+	}
 
-		//the template parsing is dynamic to inject the requested url
-		return (req, resp) -> resp
-				.status(404)
-			    .sendString(
-			    		Mono.just(templateEngine.process("404",
-							    new Context(Locale.US, Collections.singletonMap("requestedPage", req.path()))
-					    ))
-			    );
+	/**
+	 * Answer with the 404 page, remembering the miss in the {@link NegativeCache}.
+	 *
+	 * @param key the upstream url that wasn't found, or a {@link NegativeCache#moduleKey(String, String)}
+	 */
+	private Publisher<Void> notFound(String key, HttpServerRequest req, HttpServerResponse resp) {
+		if (negativeCache != null) {
+			negativeCache.markMissing(key);
+		}
+		return pageNotFound().apply(req, resp);
 	}
 
 	private BiFunction<HttpServerRequest, HttpServerResponse, Publisher<Void>> kdocNotFound(
@@ -253,31 +512,60 @@ public final class Application {
 			resolvedVersion = "COULDNT_PARSE_VERSION: " + moduleAndVersionInfo;
 		}
 
-		final Map<String, Object> variables = new HashMap<>();
-		variables.put("actualModule", resolvedModule);
-		variables.put("actualVersion", resolvedVersion);
-
-		//the template parsing is dynamic to inject the requested url
-		return (req, resp) -> {
-			variables.put("requestedPage", req.path());
-			return resp
-					.status(404)
-					.sendString(
-							Mono.just(templateEngine.process("404NoKDoc",
-									new Context(Locale.US, variables)
-							))
-					);
-		};
+		final String actualModule = resolvedModule;
+		final String actualVersion = resolvedVersion;
+		//the template is pre-rendered, only the requested url and resolved module are injected
+		return (req, resp) -> sendNotFound(noKdocPage, req, resp, req.path(), actualModule, actualVersion);
 	}
 
-	//TODO cache the versions?
 	private Publisher<Void> listVersionsAndDocs(HttpServerRequest req, HttpServerResponse resp) {
 		String requestedModule = req.param("module");
-		Module module = modules.get(requestedModule);
+		Module module = catalog.modules.get(requestedModule);
 
 		if (module == null){
 			return pageNotFound().apply(req, resp);
 		}
+		RenderedPage page = cachedVersionsPage(module);
+		if (page != null) {
+			return page.send(req, resp);
+		}
+		//rendering takes milliseconds, which would delay every other connection of the event loop
+		return Mono.fromCallable(() -> renderVersionsPage(module))
+		           .subscribeOn(offload)
+		           .flatMap(rendered -> Mono.from(rendered.send(req, resp)));
+	}
+
+	/**
+	 * Get the rendered versions page of a module, unless it's the first request for that
+	 * module or its versions changed since it was rendered.
+	 */
+	@Nullable
+	private RenderedPage cachedVersionsPage(Module module) {
+		VersionsPage cached = versionsPages.get(module.getName());
+		if (cached != null && cached.module == module) {
+			return cached.page;
+		}
+		if (cached != null && cached.module.getVersions().equals(module.getVersions())) {
+			//the catalog was refreshed, but not the versions of this module
+			versionsPages.put(module.getName(), new VersionsPage(module, cached.page));
+			return cached.page;
+		}
+		return null;
+	}
+
+	/**
+	 * Render the versions page of a module (blocking), and cache it.
+	 */
+	private RenderedPage renderVersionsPage(Module module) {
+		long start = System.nanoTime();
+		RenderedPage page = RenderedPage.of(renderVersions(module));
+		LOGGER.debug("Rendered versions of {} in {}ms", module.getName(),
+				TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+		versionsPages.put(module.getName(), new VersionsPage(module, page));
+		return page;
+	}
+
+	private String renderVersions(Module module) {
 		String moduleName = module.getName();
 		String artifactId = module.getArtifactId();
 		Map<String, Object> model = new HashMap<>();
@@ -327,9 +615,7 @@ public final class Application {
 			}
 		}
 
-		return resp.sendString(
-				Mono.just(templateEngine.process("listVersions", new Context(Locale.US, model)))
-		);
+		return templateEngine.process("listVersions", new Context(Locale.US, model));
 	}
 
 	private Publisher<Void> repoProxy(HttpServerRequest req, HttpServerResponse resp) {
@@ -339,9 +625,20 @@ public final class Application {
 		String reqUri = req.uri();
 		String versionType = DocUtils.findVersionType(requestedVersion);
 
-		Tuple2<Module, String> module = DocUtils.findModuleAndVersion(modules, requestedModule, requestedVersion);
+		//known misses are answered without resolving the module nor requesting upstream
+		if (negativeCache != null) {
+			if (negativeCache.isMissing(NegativeCache.moduleKey(requestedModule, requestedVersion))) {
+				return pageNotFound().apply(req, resp);
+			}
+			String noKdoc = reqUri.contains("/kdoc-api/") ? negativeCache.noKdoc(requestedModule, requestedVersion) : null;
+			if (noKdoc != null) {
+				return kdocNotFound(noKdoc).apply(req, resp);
+			}
+		}
+
+		Tuple2<Module, String> module = catalog.resolve(requestedModule, requestedVersion);
 		if (module == null) {
-			return pageNotFound().apply(req, resp);
+			return notFound(NegativeCache.moduleKey(requestedModule, requestedVersion), req, resp);
 		}
 
 		String url = DocUtils.moduleToUrl(reqUri, versionType,
@@ -351,51 +648,445 @@ public final class Application {
 			return pageNotFound().apply(req, resp);
 		}
 		else if (url.startsWith(DocUtils.WARNING_NO_KDOC)) {
-			return kdocNotFound(url.replace(DocUtils.WARNING_NO_KDOC, "")).apply(req, resp);
-		}
-
-		return client.headers(h -> {
-			             // FIXME: This actually does not proxy any headers, it just removes headers
-			             //  from the client of this endpoint
-			             ApplicationUtils.filterRepoProxyRequestHeaders(req.requestHeaders());
-			             if (REPO_TOKEN != null && !REPO_TOKEN.isBlank()) {
-				             h.set("Authorization", "Bearer " + REPO_TOKEN);
-			             }
-		             })
-		             .get()
-		             .uri(url)
-		             .response((r, body) -> {
-		             	if (r.status().code() == 404) {
-			                return pageNotFound().apply(req, resp);
-		                }
-		                else {
-			                resp.headers(ApplicationUtils.filterRepoProxyResponseHeaders(r.responseHeaders()));
-
-			                if (reqUri.endsWith(".svg")) {
-				                resp.header(HttpHeaderNames.CONTENT_TYPE,
-						                CONTENT_TYPE_IMAGE_SVG);
-			                }
-			                else if (reqUri.endsWith(".zip")) {
-				                resp.header(HttpHeaderNames.CONTENT_TYPE,
-						                CONTENT_TYPE_ZIP);
-			                }
-			                else if (reqUri.endsWith(".js")) {
-				                resp.header(HttpHeaderNames.CONTENT_TYPE,
-						                CONTENT_TYPE_JS);
-			                }
-
-		             		return resp.status(r.status())
-			                           .send(body.retain())
-			                           .then();
-		                }
-		             });
+			String moduleAndVersionInfo = url.replace(DocUtils.WARNING_NO_KDOC, "");
+			if (negativeCache != null) {
+				negativeCache.markNoKdoc(requestedModule, requestedVersion, moduleAndVersionInfo);
+			}
+			return kdocNotFound(moduleAndVersionInfo).apply(req, resp);
+		}
+		if (negativeCache != null && negativeCache.isMissing(url)) {
+			return pageNotFound().apply(req, resp);
+		}
+
+		//cache entries expire according to the actual version, not the requested alias
+		String actualVersionType = DocUtils.findVersionType(module.getT2());
+		String cacheControl = HttpCachingUtils.cacheControl(requestedVersion, module.getT2());
+		boolean storable = archiveStore != null && DocArchiveStore.isStorable(url, module.getT2());
+		ProxyCache.CachedResponse stale = null;
+		if (proxyCache != null) {
+			ProxyCache.CachedResponse cached = proxyCache.get(url);
+			ProxyCache.State state = cached == null ? ProxyCache.State.EXPIRED
+					: proxyCache.freshness(actualVersionType).state(cached.ageMillis());
+			ByteBuf cachedBody = state == ProxyCache.State.EXPIRED ? null : cached.retainedBody();
+			if (cachedBody != null) {
+				//files from stored archives never change, no need to revalidate them
+				if (state == ProxyCache.State.FRESH || storable) {
+					return sendCached(cached, cachedBody, cacheControl, null, req, resp);
+				}
+				if (state == ProxyCache.State.STALE) {
+					revalidate(url, actualVersionType);
+					return sendCached(cached, cachedBody, cacheControl, WARNING_STALE, req, resp);
+				}
+				cachedBody.release();
+				stale = cached;
+			}
+		}
+
+		if (storable) {
+			ProxyCache.CachedResponse fallback = stale;
+			return Mono.usingWhen(archiveStore.archive(DocArchiveStore.archiveUrl(url))
+			                                  .map(Optional::of)
+			                                  //if the archive can't be stored locally, fall back to proxying each file
+			                                  .onErrorReturn(Optional.empty()),
+					archive -> {
+						if (archive.isEmpty()) {
+							return Mono.from(proxyUpstream(url, actualVersionType, cacheControl, fallback, req, resp));
+						}
+						return Mono.from(serveFromArchive(archive.get(), DocArchiveStore.entryPath(url),
+								url, cacheControl, req, resp));
+					},
+					archive -> Mono.fromRunnable(() -> archive.ifPresent(DocArchiveStore.DocArchive::release)));
+		}
+		return proxyUpstream(url, actualVersionType, cacheControl, stale, req, resp);
+	}
+
+	/**
+	 * Refresh a stale cached response in the background. Concurrent revalidations (or
+	 * requests) of the same url share a single upstream exchange.
+	 */
+	private void revalidate(String url, String versionType) {
+		upstreamFlights.execute(url,
+				               () -> fetchUpstream(url, versionType),
+				               response -> response.status.code() == 200,
+				               response -> cacheResponse(url, response))
+		               .subscribe(null, e -> LOGGER.debug("Couldn't revalidate {}: {}", url, e.toString()));
+	}
+
+	private Publisher<Void> sendCached(ProxyCache.CachedResponse cached, ByteBuf body, String cacheControl,
+			@Nullable String warning, HttpServerRequest req, HttpServerResponse resp) {
+		resp.status(cached.status)
+		    .headers(cached.headers)
+		    .header(HttpHeaderNames.CACHE_CONTROL, cacheControl);
+		long age = TimeUnit.MILLISECONDS.toSeconds(cached.ageMillis());
+		if (age > 0) {
+			resp.header(HttpHeaderNames.AGE, String.valueOf(age));
+		}
+		if (warning != null) {
+			resp.header(HttpHeaderNames.WARNING, warning);
+		}
+		if (Compression.isCompressible(cached.headers.get(HttpHeaderNames.CONTENT_TYPE))) {
+			resp.header(HttpHeaderNames.VARY, HttpHeaderNames.ACCEPT_ENCODING);
+		}
+		//serve a pre-compressed variant if the client accepts one
+		ByteBuf content = body;
+		for (String encoding : Compression.acceptedEncodings(req.requestHeaders().get(HttpHeaderNames.ACCEPT_ENCODING))) {
+			ByteBuf variant = cached.retainedVariant(encoding);
+			if (variant != null) {
+				body.release();
+				content = variant;
+				resp.header(HttpHeaderNames.CONTENT_ENCODING, encoding)
+				    .header(HttpHeaderNames.CONTENT_LENGTH, String.valueOf(variant.readableBytes()));
+				String etag = cached.headers.get(HttpHeaderNames.ETAG);
+				if (etag != null) {
+					resp.header(HttpHeaderNames.ETAG, Compression.etag(etag, encoding));
+				}
+				break;
+			}
+		}
+		if (cached.status.code() != 200) {
+			return resp.send(Mono.just(content))
+			           .then();
+		}
+		if (HttpCachingUtils.isNotModified(req.requestHeaders(), resp.responseHeaders())) {
+			content.release();
+			return notModified(resp);
+		}
+		resp.header(HttpHeaderNames.ACCEPT_RANGES, "bytes");
+		int total = content.readableBytes();
+		ByteRange range = ByteRange.of(req.requestHeaders(), resp.responseHeaders(), total);
+		if (range == ByteRange.UNSATISFIABLE) {
+			content.release();
+			return rangeNotSatisfiable(resp, total);
+		}
+		if (range != null) {
+			content = content.slice(content.readerIndex() + (int) range.start, (int) range.length());
+			partialContent(resp, range, total);
+		}
+		return resp.send(Mono.just(content))
+		           .then();
+	}
+
+	private static Mono<Void> notModified(HttpServerResponse resp) {
+		resp.responseHeaders().remove(HttpHeaderNames.CONTENT_LENGTH);
+		return resp.status(HttpResponseStatus.NOT_MODIFIED)
+		           .send()
+		           .then();
+	}
+
+	private static void partialContent(HttpServerResponse resp, ByteRange range, long total) {
+		resp.status(HttpResponseStatus.PARTIAL_CONTENT)
+		    .header(HttpHeaderNames.CONTENT_RANGE, range.contentRange(total))
+		    .header(HttpHeaderNames.CONTENT_LENGTH, String.valueOf(range.length()));
+	}
+
+	private static Mono<Void> rangeNotSatisfiable(HttpServerResponse resp, long total) {
+		resp.responseHeaders().remove(HttpHeaderNames.CONTENT_ENCODING);
+		return resp.status(HttpResponseStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+		           .header(HttpHeaderNames.CONTENT_RANGE, ByteRange.unsatisfiedContentRange(total))
+		           .header(HttpHeaderNames.CONTENT_LENGTH, "0")
+		           .send()
+		           .then();
+	}
+
+	/**
+	 * Load a documentation file into the proxy cache (and the archive it belongs to into
+	 * the archive store, if relevant) without serving it.
+	 *
+	 * @param path the site path of the file, eg. {@code /docs/core/3.8.0/api/index.html}
+	 * @return a {@link Mono} emitting true if the file has been loaded
+	 */
+	Mono<Boolean> prefetch(String path) {
+		String[] segments = path.split("/");
+		if (segments.length < 5 || !segments[1].equals("docs")) {
+			return Mono.just(false);
+		}
+		String requestedModule = segments[2];
+		String requestedVersion = segments[3];
+		Tuple2<Module, String> module = catalog.resolve(requestedModule, requestedVersion);
+		if (module == null) {
+			return Mono.just(false);
+		}
+		String url = DocUtils.moduleToUrl(path, DocUtils.findVersionType(requestedVersion),
+				requestedModule, requestedVersion, module.getT1(), module.getT2());
+		if (url == null || url.startsWith(DocUtils.WARNING_NO_KDOC) || url.endsWith(".pdf") || url.endsWith(".zip")) {
+			return Mono.just(false);
+		}
+		if (proxyCache != null && proxyCache.get(url) != null) {
+			return Mono.just(true);
+		}
+
+		String actualVersionType = DocUtils.findVersionType(module.getT2());
+		if (archiveStore != null && DocArchiveStore.isStorable(url, module.getT2())) {
+			String entryPath = DocArchiveStore.entryPath(url);
+			//files of stored archives are served from disk, warm them up there
+			return Mono.usingWhen(archiveStore.archive(DocArchiveStore.archiveUrl(url)),
+					archive -> {
+						ZipEntry entry = archive.entry(entryPath);
+						if (entry == null) {
+							return Mono.just(false);
+						}
+						return archive.extract(entry)
+						              .thenReturn(true);
+					},
+					archive -> Mono.fromRunnable(archive::release));
+		}
+		return upstreamFlights.execute(url,
+				                      () -> fetchUpstream(url, actualVersionType),
+				                      response -> response.status.code() == 200,
+				                      response -> cacheResponse(url, response));
+	}
+
+	private Publisher<Void> serveFromArchive(DocArchiveStore.DocArchive archive, String entryPath,
+			String url, String cacheControl, HttpServerRequest req, HttpServerResponse resp) {
+		ZipEntry entry = archive.entry(entryPath);
+		if (entry == null) {
+			return notFound(url, req, resp);
+		}
+		return archive.extract(entry)
+		              .flatMap(extracted -> Mono.from(sendExtracted(entry, entryPath, extracted, cacheControl, req, resp)));
+	}
+
+	/**
+	 * Send a file extracted from a stored archive, or one of its pre-compressed variants,
+	 * with a zero-copy file transfer when the connection allows it.
+	 */
+	private static Publisher<Void> sendExtracted(ZipEntry entry, String entryPath,
+			DocArchiveStore.ExtractedEntry extracted, String cacheControl, HttpServerRequest req, HttpServerResponse resp) {
+		String contentType = ApplicationUtils.contentType(entryPath);
+		if (contentType != null) {
+			resp.header(HttpHeaderNames.CONTENT_TYPE, contentType);
+		}
+		//the central directory has everything needed for validators
+		String etag = HttpCachingUtils.etag(entry.getCrc(), entry.getSize());
+		if (entry.getTime() != -1) {
+			resp.header(HttpHeaderNames.LAST_MODIFIED, HttpCachingUtils.httpDate(entry.getTime()));
+		}
+		resp.header(HttpHeaderNames.CACHE_CONTROL, cacheControl);
+		if (Compression.isCompressible(contentType)) {
+			resp.header(HttpHeaderNames.VARY, HttpHeaderNames.ACCEPT_ENCODING);
+		}
+		DocArchiveStore.LocalFile file = extracted.file;
+		for (String encoding : Compression.acceptedEncodings(req.requestHeaders().get(HttpHeaderNames.ACCEPT_ENCODING))) {
+			DocArchiveStore.LocalFile variant = extracted.variants.get(encoding);
+			if (variant != null) {
+				file = variant;
+				etag = Compression.etag(etag, encoding);
+				resp.header(HttpHeaderNames.CONTENT_ENCODING, encoding);
+				break;
+			}
+		}
+		resp.header(HttpHeaderNames.ETAG, etag);
+		if (HttpCachingUtils.isNotModified(req.requestHeaders(), resp.responseHeaders())) {
+			return notModified(resp);
+		}
+		resp.header(HttpHeaderNames.ACCEPT_RANGES, "bytes");
+		ByteRange range = ByteRange.of(req.requestHeaders(), resp.responseHeaders(), file.length);
+		if (range == ByteRange.UNSATISFIABLE) {
+			return rangeNotSatisfiable(resp, file.length);
+		}
+		if (range != null) {
+			partialContent(resp, range, file.length);
+			return resp.sendFile(file.path, range.start, range.length())
+			           .then();
+		}
+		resp.header(HttpHeaderNames.CONTENT_LENGTH, String.valueOf(file.length));
+		return resp.sendFile(file.path, 0, file.length)
+		           .then();
+	}
+
+	private Publisher<Void> proxyUpstream(String url, String versionType, String cacheControl,
+			@Nullable ProxyCache.CachedResponse stale, HttpServerRequest req, HttpServerResponse resp) {
+		if (url.endsWith(".pdf") || url.endsWith(".zip") || unbufferedUrls.getIfPresent(url) != null) {
+			//large downloads are streamed to each client rather than buffered and shared
+			return streamUpstream(url, cacheControl, req, resp);
+		}
+		//concurrent requests for the same url share a single upstream exchange
+		Mono<Optional<Tuple2<ProxyCache.CachedResponse, ByteBuf>>> upstreamResponse =
+				upstreamFlights.execute(url,
+						               () -> fetchUpstream(url, versionType),
+						               Application::shareUpstreamResponse,
+						               response -> cacheResponse(url, response))
+				               //the share of a request cancelled before receiving it
+				               .doOnDiscard(Tuple2.class, shared -> ReferenceCountUtil.release(shared.getT2()))
+				               .map(Optional::of)
+				               .defaultIfEmpty(Optional.empty());
+		if (stale != null && proxyCache != null) {
+			//the stale response is served if the upstream fails or is too slow, while the
+			//shared exchange goes on and refreshes the cache if it eventually succeeds
+			upstreamResponse = upstreamResponse.timeout(proxyCache.freshness(versionType).latencyBudget)
+			                                   .onErrorResume(e -> {
+				                                   Tuple2<ProxyCache.CachedResponse, ByteBuf> staleShare = shareUpstreamResponse(stale);
+				                                   if (staleShare == null) {
+					                                   return Mono.error(e);
+				                                   }
+				                                   LOGGER.debug("Serving stale {}: {}", url, e.toString());
+				                                   return Mono.just(Optional.of(staleShare));
+			                                   });
+		}
+		return upstreamResponse.flatMap(shared -> {
+			if (shared.isEmpty()) {
+				//too big to be shared, or shared response already gone
+				return Mono.from(streamUpstream(url, cacheControl, req, resp));
+			}
+			ProxyCache.CachedResponse response = shared.get().getT1();
+			ByteBuf body = shared.get().getT2();
+			if (response == stale) {
+				return Mono.from(sendCached(response, body, cacheControl, WARNING_REVALIDATION_FAILED, req, resp));
+			}
+			if (response.status.code() >= 500 && stale != null) {
+				ByteBuf staleBody = stale.retainedBody();
+				if (staleBody != null) {
+					body.release();
+					return Mono.from(sendCached(stale, staleBody, cacheControl, WARNING_REVALIDATION_FAILED, req, resp));
+				}
+			}
+			if (response.status.code() == 404) {
+				body.release();
+				return Mono.from(notFound(url, req, resp));
+			}
+			return Mono.from(sendCached(response, body, cacheControl, null, req, resp));
+		});
+	}
+
+	/**
+	 * Store a successful response in the proxy cache if it fits, or release it. A file
+	 * that is gone upstream is removed from the cache, rather than served stale.
+	 */
+	private void cacheResponse(String url, ProxyCache.CachedResponse response) {
+		int status = response.status.code();
+		if (status == 404 || status == 410) {
+			if (proxyCache != null) {
+				proxyCache.invalidate(url);
+			}
+			if (negativeCache != null) {
+				negativeCache.markMissing(url);
+			}
+		}
+		if (proxyCache != null && status == 200 && proxyCache.accepts(response.contentLength())) {
+			proxyCache.put(url, response).release();
+		}
+		else {
+			response.release();
+		}
+	}
+
+	@Nullable
+	private static Tuple2<ProxyCache.CachedResponse, ByteBuf> shareUpstreamResponse(ProxyCache.CachedResponse response) {
+		ByteBuf body = response.retainedBody();
+		return body == null ? null : Tuples.of(response, body);
+	}
+
+	/**
+	 * Fetch and buffer a documentation file from upstream, independently of any
+	 * particular client request so that the outcome can be shared. Files bigger than
+	 * {@link #MAX_BUFFERED_BYTES} are not buffered, in which case the returned
+	 * {@link Mono} completes empty and the url is remembered as one to stream.
+	 */
+	private Mono<ProxyCache.CachedResponse> fetchUpstream(String url, String versionType) {
+		//releases are available in both Sonatype and repo.spring.io, the fastest wins
+		return upstreams.hedge(url,
+				upstreamUrl -> fetchUpstream(upstreamUrl, url, versionType),
+				response -> response.status.code() >= 500,
+				ProxyCache.CachedResponse::release);
+	}
+
+	private Mono<ProxyCache.CachedResponse> fetchUpstream(String upstreamUrl, String url, String versionType) {
+		return upstream(upstreamUrl).get()
+		                            .uri(upstreamUrl)
+		                            .response((r, body) -> {
+			                            HttpHeaders headers = upstreamResponseHeaders(r.responseHeaders(), url);
+			                            if (r.status().code() == 404) {
+				                            return Mono.just(ProxyCache.CachedResponse.copyOf(r.status(), headers, Unpooled.EMPTY_BUFFER, versionType));
+			                            }
+			                            //bodies of unknown length (chunked) are aggregated up to the same bound
+			                            int contentLength = headers.getInt(HttpHeaderNames.CONTENT_LENGTH, -1);
+			                            Mono<ProxyCache.CachedResponse> buffered = contentLength > MAX_BUFFERED_BYTES ? Mono.empty()
+					                            : ProxyCache.CachedResponse.aggregate(r.status(), headers, body, MAX_BUFFERED_BYTES, versionType);
+			                            return buffered.doOnSuccess(response -> {
+				                            if (response == null) {
+					                            unbufferedUrls.put(url, Boolean.TRUE);
+				                            }
+			                            });
+		                            })
+		                            .next();
+	}
+
+	private Publisher<Void> streamUpstream(String url, String cacheControl, HttpServerRequest req, HttpServerResponse resp) {
+		Mono<Void> download = upstreams.forUrl(url)
+		                               .headers(h -> {
+			                               // FIXME: This actually does not proxy any headers, it just removes headers
+			                               //  from the client of this endpoint
+			                               ApplicationUtils.filterRepoProxyRequestHeaders(req.requestHeaders());
+			                               if (REPO_TOKEN != null && !REPO_TOKEN.isBlank()) {
+				                               h.set("Authorization", "Bearer " + REPO_TOKEN);
+			                               }
+			                               //partial downloads are resolved by the upstream, which relays 206 or 416
+			                               String range = req.requestHeaders().get(HttpHeaderNames.RANGE);
+			                               if (range != null) {
+				                               h.set(HttpHeaderNames.RANGE, range);
+				                               String ifRange = req.requestHeaders().get(HttpHeaderNames.IF_RANGE);
+				                               if (ifRange != null) {
+					                               h.set(HttpHeaderNames.IF_RANGE, ifRange);
+				                               }
+			                               }
+		                               })
+		                               .get()
+		                               .uri(url)
+		                               .response((r, body) -> {
+			                               if (r.status().code() == 404) {
+				                               return notFound(url, req, resp);
+			                               }
+			                               else {
+				                               HttpHeaders headers = upstreamResponseHeaders(r.responseHeaders(), url);
+				                               headers.set(HttpHeaderNames.CACHE_CONTROL, cacheControl);
+				                               if (Compression.isCompressible(headers.get(HttpHeaderNames.CONTENT_TYPE))) {
+					                               headers.set(HttpHeaderNames.VARY, HttpHeaderNames.ACCEPT_ENCODING);
+				                               }
+				                               resp.headers(headers);
+				                               if (r.status().code() == 200 && HttpCachingUtils.isNotModified(req.requestHeaders(), headers)) {
+					                               return notModified(resp);
+				                               }
+				                               return resp.status(r.status())
+				                                          .send(body.retain())
+				                                          .then();
+			                               }
+		                               })
+		                               .then();
+		//streamed downloads are only bounded by the concurrency limit of the upstream
+		return upstreams.limit(url, download);
+	}
+
+	private HttpClient upstream(String url) {
+		return upstreams.forUrl(url).headers(h -> {
+			if (REPO_TOKEN != null && !REPO_TOKEN.isBlank()) {
+				h.set("Authorization", "Bearer " + REPO_TOKEN);
+			}
+		});
+	}
+
+	private static HttpHeaders upstreamResponseHeaders(HttpHeaders upstreamHeaders, String url) {
+		HttpHeaders headers = ApplicationUtils.filterRepoProxyResponseHeaders(upstreamHeaders.copy());
+
+		if (url.endsWith(".svg")) {
+			headers.set(HttpHeaderNames.CONTENT_TYPE,
+					CONTENT_TYPE_IMAGE_SVG);
+		}
+		else if (url.endsWith(".zip")) {
+			headers.set(HttpHeaderNames.CONTENT_TYPE,
+					CONTENT_TYPE_ZIP);
+		}
+		else if (url.endsWith(".js")) {
+			headers.set(HttpHeaderNames.CONTENT_TYPE,
+					CONTENT_TYPE_JS);
+		}
+		return headers;
 	}
 
 	private Publisher<Void> legacyProxy(HttpServerRequest req,
 			HttpServerResponse resp) {
 		String artefact = req.param("module");
-		String url = "https://repo.spring.io/release"
-				+ "/io/projectreactor"
+		String url = DocUtils.SPRING_RELEASE_REPO
+				+ "io/projectreactor"
 				+ "/" + artefact
 				+ "/2.0.8.RELEASE"
 				+ "/" + artefact
@@ -405,10 +1096,58 @@ public final class Application {
 		return resp.sendRedirect(url);
 	}
 
-	private HttpServerResponse cssInterceptor(HttpServerResponse resp) {
-		if (resp.path().endsWith(".css"))
-			resp.header("Content-Type", "text/css");
-		return resp;
+	/**
+	 * Serve the files of a directory of the packaged content.
+	 *
+	 * @param prefix the path of the directory on the site, with a trailing slash
+	 * @param directory the directory
+	 */
+	private BiFunction<HttpServerRequest, HttpServerResponse, Publisher<Void>> staticDirectory(
+			String prefix, Path directory) {
+		return (req, resp) -> {
+			Path file = directory.resolve(req.fullPath().substring(prefix.length()))
+			                     .normalize();
+			if (!file.startsWith(directory)) {
+				return pageNotFound().apply(req, resp);
+			}
+			return staticFile(file).apply(req, resp);
+		};
+	}
+
+	/**
+	 * Serve a file of the packaged content. It is read once on the offloading scheduler,
+	 * as reading it from the application's jar is blocking, and then served from memory
+	 * like a {@link RenderedPage}.
+	 */
+	private BiFunction<HttpServerRequest, HttpServerResponse, Publisher<Void>> staticFile(Path file) {
+		return (req, resp) -> {
+			RenderedPage loaded = staticFiles.get(file);
+			if (loaded != null) {
+				return loaded.send(req, resp);
+			}
+			return Mono.fromCallable(() -> loadStaticFile(file))
+			           .subscribeOn(offload)
+			           .flatMap(page -> Mono.from(page.send(req, resp)))
+			           .switchIfEmpty(Mono.defer(() -> Mono.from(pageNotFound().apply(req, resp))));
+		};
+	}
+
+	/**
+	 * @return the file of the packaged content, or null if there is no such file
+	 */
+	@Nullable
+	private RenderedPage loadStaticFile(Path file) throws IOException {
+		RenderedPage loaded = staticFiles.get(file);
+		if (loaded != null) {
+			return loaded;
+		}
+		if (!Files.isRegularFile(file)) {
+			//not remembered, as any path can be requested
+			return null;
+		}
+		RenderedPage page = RenderedPage.of(Files.readAllBytes(file), ApplicationUtils.contentType(file.toString()));
+		loaded = staticFiles.putIfAbsent(file, page);
+		return loaded != null ? loaded : page;
 	}
 
 	private void startLog(DisposableServer c) {
@@ -435,7 +1174,21 @@ public final class Application {
 	}
 
 
+	static final String WARNING_STALE = "110 - \"Response is Stale\"";
+	static final String WARNING_REVALIDATION_FAILED = "111 - \"Revalidation Failed\"";
+
 	static final AsciiString CONTENT_TYPE_IMAGE_SVG = AsciiString.cached("image/svg+xml");
 	static final AsciiString CONTENT_TYPE_ZIP = AsciiString.cached("application/zip");
 	static final AsciiString CONTENT_TYPE_JS = AsciiString.cached("application/javascript");
+
+	private static final class VersionsPage {
+
+		final Module       module;
+		final RenderedPage page;
+
+		VersionsPage(Module module, RenderedPage page) {
+			this.module = module;
+			this.page = page;
+		}
+	}
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020-2024 VMware Inc. or its affiliates, All Rights Reserved.
+ * Copyright (c) 2020-2026 VMware Inc. or its affiliates, All Rights Reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,17 +18,82 @@ package io.projectreactor;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Objects;
 
 import io.netty.handler.codec.http.HttpHeaders;
 
+import reactor.util.annotation.Nullable;
+
 /**
  * @author Simon Baslé
  */
 public class ApplicationUtils {
 
+	private static final Map<String, String> CONTENT_TYPES = new HashMap<>();
+
+	static {
+		CONTENT_TYPES.put("html", "text/html; charset=utf-8");
+		CONTENT_TYPES.put("htm", "text/html; charset=utf-8");
+		CONTENT_TYPES.put("css", "text/css");
+		CONTENT_TYPES.put("js", "application/javascript");
+		CONTENT_TYPES.put("json", "application/json");
+		CONTENT_TYPES.put("svg", "image/svg+xml");
+		CONTENT_TYPES.put("png", "image/png");
+		CONTENT_TYPES.put("gif", "image/gif");
+		CONTENT_TYPES.put("jpg", "image/jpeg");
+		CONTENT_TYPES.put("ico", "image/x-icon");
+		CONTENT_TYPES.put("txt", "text/plain; charset=utf-8");
+		CONTENT_TYPES.put("zip", "application/zip");
+		CONTENT_TYPES.put("pdf", "application/pdf");
+		CONTENT_TYPES.put("woff", "font/woff");
+		CONTENT_TYPES.put("woff2", "font/woff2");
+		CONTENT_TYPES.put("ttf", "font/ttf");
+	}
+
+	/**
+	 * Read a configuration value, looking first at the system property then at the
+	 * environment variable of the same name.
+	 *
+	 * @param key the name of the system property / environment variable
+	 * @param defaultValue the value to use if neither is set (or if blank)
+	 * @return the configured value, or the default
+	 */
+	static String config(String key, @Nullable String defaultValue) {
+		String value = System.getProperty(key, System.getenv(key));
+		if (value == null || value.isBlank()) {
+			return defaultValue;
+		}
+		return value;
+	}
+
+	static int configInt(String key, int defaultValue) {
+		String value = config(key, null);
+		return value == null ? defaultValue : Integer.parseInt(value.trim());
+	}
+
+	static boolean configBoolean(String key, boolean defaultValue) {
+		String value = config(key, null);
+		return value == null ? defaultValue : Boolean.parseBoolean(value.trim());
+	}
+
+	/**
+	 * Resolve the {@code Content-Type} to use for a documentation file based on its extension.
+	 *
+	 * @param path the path of the file
+	 * @return the content type, or null if the extension isn't known
+	 */
+	@Nullable
+	static String contentType(String path) {
+		int dot = path.lastIndexOf('.');
+		if (dot < 0 || dot < path.lastIndexOf('/')) {
+			return null;
+		}
+		return CONTENT_TYPES.get(path.substring(dot + 1).toLowerCase());
+	}
+
 	static boolean checkMaintenanceIsNotOutdated(String maintenanceDate, String maintenanceEnd) {
 		Objects.requireNonNull(maintenanceDate, "maintenanceDate");
 		Objects.requireNonNull(maintenanceEnd, "maintenanceEnd");
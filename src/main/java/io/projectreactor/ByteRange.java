@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2026 VMware Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.projectreactor;
+
+import java.util.Date;
+
+import io.netty.handler.codec.DateFormatter;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaders;
+
+import reactor.util.annotation.Nullable;
+
+/**
+ * A single byte range of a representation, as requested with a {@code Range} header
+ * (RFC 9110, section 14). Only single ranges are supported: requests for multiple
+ * ranges are rejected rather than answered with a {@code multipart/byteranges} body.
+ */
+final class ByteRange {
+
+	/**
+	 * The range of a request that can't be served, to be answered with a
+	 * {@code 416 Range Not Satisfiable}.
+	 */
+	static final ByteRange UNSATISFIABLE = new ByteRange(-1, -1);
+
+	/**
+	 * The first byte position.
+	 */
+	final long start;
+
+	/**
+	 * The last byte position, inclusive.
+	 */
+	final long end;
+
+	ByteRange(long start, long end) {
+		this.start = start;
+		this.end = end;
+	}
+
+	long length() {
+		return end - start + 1;
+	}
+
+	/**
+	 * @param total the complete length of the representation
+	 * @return the {@code Content-Range} header value of a partial response for this range
+	 */
+	String contentRange(long total) {
+		return "bytes " + start + "-" + end + "/" + total;
+	}
+
+	/**
+	 * @param total the complete length of the representation
+	 * @return the {@code Content-Range} header value of a {@code 416} response
+	 */
+	static String unsatisfiedContentRange(long total) {
+		return "bytes */" + total;
+	}
+
+	/**
+	 * Evaluate the {@code Range} and {@code If-Range} headers of a request against a
+	 * complete response.
+	 *
+	 * @param requestHeaders the headers of the request
+	 * @param responseHeaders the headers of the complete response, with its validators
+	 * @param total the length of the complete response
+	 * @return the range to send, {@link #UNSATISFIABLE} if the range can't be served, or
+	 * null if the complete response should be sent
+	 */
+	@Nullable
+	static ByteRange of(HttpHeaders requestHeaders, HttpHeaders responseHeaders, long total) {
+		String range = requestHeaders.get(HttpHeaderNames.RANGE);
+		if (range == null) {
+			return null;
+		}
+		String ifRange = requestHeaders.get(HttpHeaderNames.IF_RANGE);
+		if (ifRange != null && !ifRangeMatches(ifRange, responseHeaders)) {
+			//the client's partial copy is outdated, it needs the whole new representation
+			return null;
+		}
+		return parse(range, total);
+	}
+
+	/**
+	 * Parse a {@code Range} header value.
+	 *
+	 * @param range the {@code Range} header value
+	 * @param total the length of the complete representation
+	 * @return the requested range, {@link #UNSATISFIABLE} if it is out of bounds or
+	 * made of several ranges, or null if the header is invalid and must be ignored
+	 */
+	@Nullable
+	static ByteRange parse(String range, long total) {
+		String value = range.trim();
+		if (!value.regionMatches(true, 0, "bytes=", 0, 6)) {
+			return null;
+		}
+		String[] specs = value.substring(6).split(",");
+		String spec = null;
+		for (String candidate : specs) {
+			if (candidate.isBlank()) {
+				continue;
+			}
+			if (spec != null) {
+				return UNSATISFIABLE;
+			}
+			spec = candidate.trim();
+		}
+		if (spec == null) {
+			return null;
+		}
+		int dash = spec.indexOf('-');
+		if (dash < 0) {
+			return null;
+		}
+		try {
+			if (dash == 0) {
+				//suffix range: the last N bytes
+				long suffix = Long.parseLong(spec.substring(1));
+				if (suffix <= 0 || total == 0) {
+					return UNSATISFIABLE;
+				}
+				return new ByteRange(Math.max(0, total - suffix), total - 1);
+			}
+			long start = Long.parseLong(spec.substring(0, dash));
+			String last = spec.substring(dash + 1);
+			long end = last.isEmpty() ? total - 1 : Long.parseLong(last);
+			if (start < 0 || end < start) {
+				return null;
+			}
+			if (start >= total) {
+				return UNSATISFIABLE;
+			}
+			return new ByteRange(start, Math.min(end, total - 1));
+		}
+		catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Evaluate an {@code If-Range} header, which holds either an entity tag that must
+	 * strongly match, or a date that must be the exact modification date.
+	 *
+	 * @param ifRange the {@code If-Range} header value
+	 * @param responseHeaders the headers of the complete response, with its validators
+	 * @return true if the range can be applied
+	 */
+	static boolean ifRangeMatches(String ifRange, HttpHeaders responseHeaders) {
+		String value = ifRange.trim();
+		if (value.startsWith("\"") || value.startsWith("W/")) {
+			String etag = responseHeaders.get(HttpHeaderNames.ETAG);
+			return etag != null && !value.startsWith("W/") && value.equals(etag.trim());
+		}
+		String lastModified = responseHeaders.get(HttpHeaderNames.LAST_MODIFIED);
+		if (lastModified == null) {
+			return false;
+		}
+		Date date = DateFormatter.parseHttpDate(value);
+		Date modified = DateFormatter.parseHttpDate(lastModified);
+		return date != null && date.equals(modified);
+	}
+
+	@Override
+	public String toString() {
+		return this == UNSATISFIABLE ? "unsatisfiable" : start + "-" + end;
+	}
+}
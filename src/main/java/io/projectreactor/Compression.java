@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2026 VMware Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.projectreactor;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaders;
+
+import reactor.util.Logger;
+import reactor.util.Loggers;
+import reactor.util.annotation.Nullable;
+
+/**
+ * Utilities around compression of responses: negotiation of {@code Accept-Encoding},
+ * selection of compressible content and encoding of bodies with gzip and brotli (when
+ * the brotli native library is available on the platform).
+ * <p>
+ * Bodies that are cached are compressed once at a high level, while other responses are
+ * compressed on the fly by the server (see {@link #shouldCompress(HttpHeaders)}).
+ */
+final class Compression {
+
+	private static final Logger LOGGER = Loggers.getLogger(Compression.class);
+
+	static final String GZIP = "gzip";
+	static final String BR   = "br";
+
+	static final boolean ENABLED = ApplicationUtils.configBoolean("REACTOR_SITE_COMPRESSION", true);
+
+	/**
+	 * Responses smaller than this are not worth compressing.
+	 */
+	static final int MIN_BYTES = ApplicationUtils.configInt("REACTOR_SITE_COMPRESSION_MIN_BYTES", 1024);
+
+	static final int GZIP_LEVEL     = ApplicationUtils.configInt("REACTOR_SITE_COMPRESSION_GZIP_LEVEL", 9);
+	static final int BROTLI_QUALITY = ApplicationUtils.configInt("REACTOR_SITE_COMPRESSION_BROTLI_QUALITY", 9);
+
+	static final boolean BROTLI_AVAILABLE = ENABLED
+			&& ApplicationUtils.configBoolean("REACTOR_SITE_COMPRESSION_BROTLI", true)
+			&& brotliAvailable();
+
+	/**
+	 * The encodings of pre-compressed variants, in order of preference.
+	 */
+	static final List<String> ENCODINGS = !ENABLED ? Collections.emptyList()
+			: BROTLI_AVAILABLE ? List.of(BR, GZIP) : List.of(GZIP);
+
+	private static boolean brotliAvailable() {
+		try {
+			if (Brotli4jLoader.isAvailable()) {
+				return true;
+			}
+			LOGGER.info("Brotli compression unavailable on this platform: {}", Brotli4jLoader.getUnavailabilityCause().toString());
+		}
+		catch (Throwable e) {
+			LOGGER.info("Brotli compression unavailable on this platform: {}", e.toString());
+		}
+		return false;
+	}
+
+	/**
+	 * @param contentType the {@code Content-Type} of a response, if any
+	 * @return true if that type of content is text-based and compresses well
+	 */
+	static boolean isCompressible(@Nullable CharSequence contentType) {
+		if (contentType == null) {
+			return false;
+		}
+		String type = contentType.toString().toLowerCase(Locale.ROOT);
+		return type.startsWith("text/")
+				|| type.startsWith("application/javascript")
+				|| type.startsWith("application/json")
+				|| type.startsWith("application/xml")
+				|| type.startsWith("image/svg+xml");
+	}
+
+	/**
+	 * Decide if a response that hasn't been compressed yet should be compressed on the
+	 * fly, provided the client accepts it.
+	 *
+	 * @param responseHeaders the headers of the response
+	 * @return true if the response is compressible and big enough (or of unknown length)
+	 */
+	static boolean shouldCompress(HttpHeaders responseHeaders) {
+		//partial responses are byte ranges of the identity representation, and responses
+		//accepting ranges are files or cached bodies whose pre-compressed variants weren't
+		//accepted: compressing them would give another representation the identity's
+		//validators, and turn a zero-copy file transfer into chunked copies
+		if (!ENABLED || responseHeaders.contains(HttpHeaderNames.CONTENT_ENCODING)
+				|| responseHeaders.contains(HttpHeaderNames.CONTENT_RANGE)
+				|| responseHeaders.contains(HttpHeaderNames.ACCEPT_RANGES)) {
+			return false;
+		}
+		return isCompressible(responseHeaders.get(HttpHeaderNames.CONTENT_TYPE))
+				&& responseHeaders.getInt(HttpHeaderNames.CONTENT_LENGTH, MIN_BYTES) >= MIN_BYTES;
+	}
+
+	/**
+	 * Negotiate the {@code Accept-Encoding} of a request against the supported
+	 * encodings.
+	 *
+	 * @param acceptEncoding the {@code Accept-Encoding} header value, if any
+	 * @return the supported encodings accepted by the client, in order of preference
+	 */
+	static List<String> acceptedEncodings(@Nullable String acceptEncoding) {
+		if (acceptEncoding == null || acceptEncoding.isBlank() || ENCODINGS.isEmpty()) {
+			return Collections.emptyList();
+		}
+		List<String> accepted = new ArrayList<>(ENCODINGS.size());
+		for (String encoding : ENCODINGS) {
+			if (quality(acceptEncoding, encoding) > 0) {
+				accepted.add(encoding);
+			}
+		}
+		return accepted;
+	}
+
+	/**
+	 * @return the quality value associated to an encoding in an {@code Accept-Encoding}
+	 * header, falling back to the {@code *} wildcard, or 0 if the encoding isn't accepted
+	 */
+	static float quality(String acceptEncoding, String encoding) {
+		float wildcard = 0f;
+		for (String part : acceptEncoding.split(",")) {
+			String[] tokens = part.split(";");
+			String coding = tokens[0].trim();
+			float q = 1f;
+			for (int i = 1; i < tokens.length; i++) {
+				String param = tokens[i].trim();
+				if (param.startsWith("q=")) {
+					try {
+						q = Float.parseFloat(param.substring(2).trim());
+					}
+					catch (NumberFormatException e) {
+						q = 0f;
+					}
+				}
+			}
+			if (coding.equalsIgnoreCase(encoding)) {
+				return q;
+			}
+			if (coding.equals("*")) {
+				wildcard = q;
+			}
+		}
+		return wildcard;
+	}
+
+	/**
+	 * Compress a body. The given content isn't consumed nor released.
+	 *
+	 * @param content the content to compress
+	 * @param encoding the encoding, one of {@link #ENCODINGS}
+	 * @return the compressed content in a pooled direct buffer, or null if compression
+	 * didn't make it smaller
+	 */
+	@Nullable
+	static ByteBuf compress(ByteBuf content, String encoding) {
+		ByteBuf compressed;
+		if (BR.equals(encoding)) {
+			compressed = brotli(content);
+		}
+		else if (GZIP.equals(encoding)) {
+			compressed = gzip(content);
+		}
+		else {
+			throw new IllegalArgumentException("Unsupported encoding " + encoding);
+		}
+		if (compressed.readableBytes() >= content.readableBytes()) {
+			compressed.release();
+			return null;
+		}
+		return compressed;
+	}
+
+	private static ByteBuf gzip(ByteBuf content) {
+		ByteBuf compressed = PooledByteBufAllocator.DEFAULT.directBuffer(content.readableBytes() / 4 + 64);
+		try (OutputStream out = new LeveledGZIPOutputStream(new ByteBufOutputStream(compressed), GZIP_LEVEL)) {
+			content.getBytes(content.readerIndex(), out, content.readableBytes());
+		}
+		catch (IOException e) {
+			compressed.release();
+			throw new UncheckedIOException(e);
+		}
+		return compressed;
+	}
+
+	private static ByteBuf brotli(ByteBuf content) {
+		Encoder.Parameters parameters = new Encoder.Parameters().setQuality(BROTLI_QUALITY)
+		                                                        .setMode(Encoder.Mode.TEXT);
+		try {
+			byte[] bytes = Encoder.compress(ByteBufUtil.getBytes(content), parameters);
+			ByteBuf compressed = PooledByteBufAllocator.DEFAULT.directBuffer(bytes.length);
+			return compressed.writeBytes(bytes);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Derive the entity tag of a compressed representation from the entity tag of the
+	 * identity representation, since both must not be confused by caches.
+	 *
+	 * @param etag the quoted entity tag of the uncompressed content
+	 * @param encoding the content encoding
+	 * @return the quoted entity tag of the compressed content
+	 */
+	static String etag(String etag, String encoding) {
+		int end = etag.lastIndexOf('"');
+		if (end <= 0) {
+			return etag + "-" + encoding;
+		}
+		return etag.substring(0, end) + "-" + encoding + etag.substring(end);
+	}
+
+	private static final class LeveledGZIPOutputStream extends GZIPOutputStream {
+
+		LeveledGZIPOutputStream(OutputStream out, int level) throws IOException {
+			super(out);
+			def.setLevel(level);
+		}
+	}
+}
@@ -0,0 +1,353 @@
+/*
+ * Copyright (c) 2026 VMware Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.projectreactor;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+/**
+ * Bounds the number of concurrent requests sent to an upstream, queueing the requests
+ * above the limit in a bounded queue and rejecting the others with an
+ * {@link UpstreamOverloadedException}.
+ * <p>
+ * The limit adapts to the upstream with an additive increase / multiplicative decrease
+ * scheme: it slowly grows while the limit is used and the median of the most recent
+ * latencies stays close to the baseline latency, the median of a longer window, and
+ * shrinks when the recent median degrades or requests fail, at most once per round of
+ * requests. Medians ignore the occasional slow request, and the baseline follows an
+ * upstream that becomes durably slower.
+ * <p>
+ * The latency of a request is its time to the response headers when it is sent with a
+ * client that reports them (see {@link #responseReceived(ContextView)}), so that the
+ * size of response bodies doesn't count as upstream slowness.
+ */
+final class ConcurrencyLimiter {
+
+	/**
+	 * The number of latency samples the baseline latency is the median of.
+	 */
+	static final int BASELINE_WINDOW = 200;
+
+	/**
+	 * The number of most recent latency samples compared to the baseline, and after
+	 * which the baseline is re-evaluated.
+	 */
+	static final int RECENT_WINDOW = 16;
+
+	final String name;
+
+	private final int      minLimit;
+	private final int      maxLimit;
+	private final int      maxQueue;
+	private final Duration maxWait;
+	private final double   tolerance;
+	private final double   backoffRatio;
+
+	private final ArrayDeque<Waiter> queue = new ArrayDeque<>();
+
+	private final long[] latencies = new long[BASELINE_WINDOW];
+
+	private double limit;
+	private int    inFlight;
+	private int    samples;
+	private int    next;
+	private long   baseline = -1;
+	private int    samplesSinceBaseline;
+	private int    releasesSinceDecrease;
+
+	/**
+	 * @param name the name of the upstream, for diagnostics
+	 * @param initialLimit the initial concurrency limit
+	 * @param minLimit the minimum concurrency limit
+	 * @param maxLimit the maximum concurrency limit
+	 * @param maxQueue the maximum number of requests waiting for a permit
+	 * @param maxWait how long a request can wait for a permit
+	 * @param tolerance how much slower than the baseline latency a request can be without
+	 * reducing the limit, eg. 2 for twice as slow
+	 * @param backoffRatio the factor applied to the limit when reducing it
+	 */
+	ConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit, int maxQueue, Duration maxWait,
+			double tolerance, double backoffRatio) {
+		this.name = name;
+		this.minLimit = Math.max(1, minLimit);
+		this.maxLimit = Math.max(this.minLimit, maxLimit);
+		this.maxQueue = maxQueue;
+		this.maxWait = maxWait;
+		this.tolerance = tolerance;
+		this.backoffRatio = backoffRatio;
+		this.limit = Math.max(this.minLimit, Math.min(this.maxLimit, initialLimit));
+		this.releasesSinceDecrease = this.maxLimit;
+	}
+
+	/**
+	 * Mark the time to response headers of the request sent within the context of a
+	 * permit, if any. Registered on the upstream clients.
+	 *
+	 * @param context the context of the request
+	 */
+	static void responseReceived(ContextView context) {
+		Permit permit = context.getOrDefault(Permit.class, null);
+		if (permit != null) {
+			permit.responseReceived();
+		}
+	}
+
+	/**
+	 * @param context the context of a request
+	 * @return the latency of the request sent within the context of a permit (see
+	 * {@link Permit#latency()}), or -1 if there is no permit
+	 */
+	static long latency(ContextView context) {
+		Permit permit = context.getOrDefault(Permit.class, null);
+		return permit == null ? -1 : permit.latency();
+	}
+
+	/**
+	 * Run a request once a permit is available.
+	 *
+	 * @param request the request, subscribed once admitted
+	 * @param measure true to adapt the limit from the latency of that request, false for
+	 * requests that don't have a meaningful latency (eg. streamed downloads)
+	 * @param <T> the type of response
+	 * @return a {@link Mono} of the response, or failing with an
+	 * {@link UpstreamOverloadedException} if the request is rejected
+	 */
+	<T> Mono<T> limit(Mono<T> request, boolean measure) {
+		return Mono.usingWhen(acquire(),
+				permit -> request.contextWrite(Context.of(Permit.class, permit)),
+				permit -> Mono.fromRunnable(() -> release(permit, measure ? permit.latency() : -1, false)),
+				//a missing resource says nothing about the upstream's capacity
+				(permit, e) -> Mono.fromRunnable(() -> release(permit, -1, UpstreamResponseException.isUpstreamFailure(e))),
+				permit -> Mono.fromRunnable(() -> release(permit, -1, false)));
+	}
+
+	private Mono<Permit> acquire() {
+		return Mono.<Permit>create(sink -> {
+			Waiter waiter;
+			synchronized (this) {
+				if (inFlight < (int) limit && queue.isEmpty()) {
+					inFlight++;
+					waiter = null;
+				}
+				else if (queue.size() >= maxQueue) {
+					sink.error(overloaded());
+					return;
+				}
+				else {
+					waiter = new Waiter(sink);
+					queue.add(waiter);
+				}
+			}
+			if (waiter == null) {
+				sink.success(new Permit());
+				return;
+			}
+			Disposable timeout = Schedulers.parallel()
+			                               .schedule(() -> {
+				                               if (abandon(waiter)) {
+					                               sink.error(overloaded());
+				                               }
+			                               }, maxWait.toMillis(), TimeUnit.MILLISECONDS);
+			sink.onDispose(() -> {
+				timeout.dispose();
+				abandon(waiter);
+			});
+		})
+		//a permit granted concurrently with a cancellation is given back
+		.doOnDiscard(Permit.class, permit -> release(permit, -1, false));
+	}
+
+	private boolean abandon(Waiter waiter) {
+		if (!waiter.abandon()) {
+			return false;
+		}
+		synchronized (this) {
+			queue.remove(waiter);
+		}
+		return true;
+	}
+
+	private UpstreamOverloadedException overloaded() {
+		return new UpstreamOverloadedException(name, maxWait);
+	}
+
+	/**
+	 * Give back a permit, adapt the limit and admit as many waiting requests as the new
+	 * limit allows.
+	 *
+	 * @param latencyNanos the latency of a successful request, or -1 if not measured
+	 * @param dropped true if the request failed
+	 */
+	private void release(Permit permit, long latencyNanos, boolean dropped) {
+		if (!permit.release()) {
+			return;
+		}
+		List<Waiter> admitted = new ArrayList<>();
+		synchronized (this) {
+			inFlight--;
+			if (!dropped && latencyNanos >= 0) {
+				sample(latencyNanos);
+			}
+			else {
+				countRelease();
+				if (dropped) {
+					decrease();
+				}
+			}
+			while (inFlight < (int) limit && !queue.isEmpty()) {
+				Waiter waiter = queue.poll();
+				if (waiter.grant()) {
+					inFlight++;
+					admitted.add(waiter);
+				}
+			}
+		}
+		for (Waiter waiter : admitted) {
+			waiter.sink.success(new Permit());
+		}
+	}
+
+	/**
+	 * Adapt the limit from the latency of a successful request.
+	 *
+	 * @param latencyNanos the latency of the request
+	 */
+	synchronized void sample(long latencyNanos) {
+		countRelease();
+		latencies[next] = latencyNanos;
+		next = (next + 1) % latencies.length;
+		samples = Math.min(samples + 1, latencies.length);
+		if (++samplesSinceBaseline >= RECENT_WINDOW) {
+			baseline = median(samples);
+			samplesSinceBaseline = 0;
+		}
+
+		if (baseline >= 0 && median(Math.min(samples, RECENT_WINDOW)) > baseline * tolerance) {
+			decrease();
+		}
+		else if (inFlight + 1 >= limit / 2) {
+			//only grow a limit that is actually used
+			limit = Math.min(maxLimit, limit + 1 / limit);
+		}
+	}
+
+	private void countRelease() {
+		releasesSinceDecrease = Math.min(maxLimit, releasesSinceDecrease + 1);
+	}
+
+	/**
+	 * Shrink the limit, unless it was already shrunk during the current round of
+	 * requests: requests completing after a decrease were sent before it took effect.
+	 */
+	private void decrease() {
+		if (releasesSinceDecrease >= (int) limit) {
+			limit = Math.max(minLimit, limit * backoffRatio);
+			releasesSinceDecrease = 0;
+		}
+	}
+
+	/**
+	 * @param count the number of most recent samples
+	 * @return the median of the most recent samples
+	 */
+	private long median(int count) {
+		long[] sorted = new long[count];
+		for (int i = 0; i < count; i++) {
+			sorted[i] = latencies[(next - 1 - i + latencies.length) % latencies.length];
+		}
+		Arrays.sort(sorted);
+		return sorted[(count - 1) / 2];
+	}
+
+	synchronized int currentLimit() {
+		return (int) limit;
+	}
+
+	synchronized int inFlight() {
+		return inFlight;
+	}
+
+	synchronized int queued() {
+		return queue.size();
+	}
+
+	@Override
+	public synchronized String toString() {
+		return name + ": limit=" + (int) limit + ", inFlight=" + inFlight + ", queued=" + queue.size();
+	}
+
+	static final class Permit {
+
+		final long start = System.nanoTime();
+
+		private final AtomicInteger released  = new AtomicInteger();
+		private final AtomicLong    responded = new AtomicLong(-1);
+
+		boolean release() {
+			return released.compareAndSet(0, 1);
+		}
+
+		void responseReceived() {
+			responded.compareAndSet(-1, System.nanoTime());
+		}
+
+		/**
+		 * @return the time to response headers if they were reported, or else the time to
+		 * completion
+		 */
+		long latency() {
+			long end = responded.get();
+			return (end == -1 ? System.nanoTime() : end) - start;
+		}
+	}
+
+	static final class Waiter {
+
+		static final int WAITING   = 0;
+		static final int GRANTED   = 1;
+		static final int ABANDONED = 2;
+
+		final MonoSink<Permit> sink;
+
+		private final AtomicInteger state = new AtomicInteger(WAITING);
+
+		Waiter(MonoSink<Permit> sink) {
+			this.sink = sink;
+		}
+
+		boolean grant() {
+			return state.compareAndSet(WAITING, GRANTED);
+		}
+
+		boolean abandon() {
+			return state.compareAndSet(WAITING, ABANDONED);
+		}
+	}
+}
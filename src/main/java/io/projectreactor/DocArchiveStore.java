@@ -0,0 +1,740 @@
+/*
+ * Copyright (c) 2026 VMware Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.projectreactor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.QueryStringDecoder;
+
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.http.client.HttpClient;
+import reactor.util.Logger;
+import reactor.util.Loggers;
+import reactor.util.annotation.Nullable;
+
+import static io.projectreactor.Application.REPO_TOKEN;
+
+/**
+ * A local store of the documentation archives (javadoc jars, reference guide zips and
+ * kdoc zips) that the documentation proxy would otherwise browse remotely, one file at a
+ * time, through the {@code archive.jar!/path} syntax of the artifact repositories.
+ * <p>
+ * On the first request for a given archive, the whole archive is downloaded once, its
+ * SHA-1 checksum is verified against the one published by the repository, and it is
+ * stored under the {@link #root() root directory}. The zip central directory is then
+ * indexed so that every subsequent entry is served from the local copy, extracted on
+ * first access. Concurrent
+ * requests for an archive that is being downloaded share that download.
+ * <p>
+ * SNAPSHOT archives are not stored, since they are expected to change over time.
+ * <p>
+ * The number of archives kept open is bounded, as each holds a file handle, and so is
+ * the size of the store on disk: the least recently opened archives are deleted along
+ * with the files extracted from them.
+ */
+final class DocArchiveStore {
+
+	private static final Logger LOGGER = Loggers.getLogger(DocArchiveStore.class);
+
+	/**
+	 * The separator between the archive url and the path of the entry inside the archive,
+	 * as used by both Artifactory and Sonatype's Nexus.
+	 */
+	static final String ARCHIVE_SEPARATOR = "!/";
+
+	static final String SONATYPE_ARCHIVE_PATH = "/service/local/repositories/releases/archive/";
+	static final String SONATYPE_CONTENT_PATH = "/service/local/repositories/releases/content/";
+
+	/**
+	 * The suffix of the directory where the entries of an archive are extracted, next to
+	 * the archive.
+	 */
+	static final String EXTRACTED_SUFFIX = ".files";
+
+	private final Path                             root;
+	private final UpstreamClients                  upstreams;
+	private final Duration                         retryDelay;
+	private final long                             maxBytes;
+	/**
+	 * The open archives by url. Evicted archives are closed once the requests still using
+	 * them are done with them.
+	 */
+	private final Cache<String, Mono<DocArchive>> archives;
+	/**
+	 * The archives that are not closed yet, including the evicted ones still in use.
+	 */
+	private final Set<DocArchive>                  open = ConcurrentHashMap.newKeySet();
+	/**
+	 * The bytes written since the last {@link #trim()}, which is started once they reach
+	 * a fraction of the size bound.
+	 */
+	private final AtomicLong                       writtenSinceTrim;
+	private final AtomicBoolean                    trimming = new AtomicBoolean();
+
+	DocArchiveStore(Path root, UpstreamClients upstreams, Duration retryDelay) {
+		this(root, upstreams, retryDelay, 64, 4096L * 1024 * 1024);
+	}
+
+	DocArchiveStore(Path root, UpstreamClients upstreams, Duration retryDelay, int maxOpenArchives, long maxBytes) {
+		this.root = root;
+		this.upstreams = upstreams;
+		this.retryDelay = retryDelay;
+		this.maxBytes = maxBytes;
+		//the first write trims what previous runs left behind
+		this.writtenSinceTrim = new AtomicLong(trimThreshold());
+		this.archives = Caffeine.newBuilder()
+		                        //closing is scheduled, no need to do it asynchronously
+		                        .executor(Runnable::run)
+		                        .maximumSize(maxOpenArchives)
+		                        //the store releases its own reference, requests still using the archive keep it open
+		                        .removalListener((String url, Mono<DocArchive> archive, RemovalCause cause) -> {
+			                        if (archive != null) {
+				                        archive.subscribe(DocArchive::release, e -> { });
+			                        }
+		                        })
+		                        .build();
+	}
+
+	Path root() {
+		return this.root;
+	}
+
+	/**
+	 * Check if a proxied url can be served out of this store. This is the case for urls
+	 * pointing inside an archive (using the {@code !/} syntax) of a non-SNAPSHOT version.
+	 *
+	 * @param url the upstream url, as resolved by {@link DocUtils#moduleToUrl(String, String, String, String, Module, String)}
+	 * @param actualVersion the actual version of the documentation
+	 * @return true if the url should be served from a locally stored archive
+	 */
+	static boolean isStorable(String url, String actualVersion) {
+		return url.contains(ARCHIVE_SEPARATOR) && !actualVersion.toUpperCase().endsWith("SNAPSHOT");
+	}
+
+	/**
+	 * Extract the url of the archive itself (as opposed to the url of an entry inside of
+	 * it) from a proxied url. This is the url that can be used to download the whole
+	 * archive, so for Sonatype the {@code archive} browsing service is replaced with the
+	 * {@code content} one.
+	 *
+	 * @param url the upstream url of an entry inside an archive
+	 * @return the url of the archive
+	 */
+	static String archiveUrl(String url) {
+		String archiveUrl = url.substring(0, url.indexOf(ARCHIVE_SEPARATOR));
+		if (archiveUrl.endsWith("/")) {
+			archiveUrl = archiveUrl.substring(0, archiveUrl.length() - 1);
+		}
+		return archiveUrl.replace(SONATYPE_ARCHIVE_PATH, SONATYPE_CONTENT_PATH);
+	}
+
+	/**
+	 * Extract the path of the entry inside the archive from a proxied url. The path is
+	 * decoded and stripped of any query string or fragment.
+	 *
+	 * @param url the upstream url of an entry inside an archive
+	 * @return the path of the entry inside the archive
+	 */
+	static String entryPath(String url) {
+		String entry = url.substring(url.indexOf(ARCHIVE_SEPARATOR) + ARCHIVE_SEPARATOR.length());
+		int fragment = entry.indexOf('#');
+		if (fragment >= 0) {
+			entry = entry.substring(0, fragment);
+		}
+		return new QueryStringDecoder(entry).path();
+	}
+
+	/**
+	 * Compute the local path of an archive, mirroring the repository layout (group,
+	 * artifact, version) under the {@link #root() root directory}.
+	 *
+	 * @param archiveUrl the url of the archive
+	 * @return the path of the archive on disk
+	 */
+	Path localPath(String archiveUrl) {
+		String layout;
+		int contentIndex = archiveUrl.indexOf(SONATYPE_CONTENT_PATH);
+		if (contentIndex >= 0) {
+			layout = archiveUrl.substring(contentIndex + SONATYPE_CONTENT_PATH.length());
+		}
+		else {
+			//https://repo.spring.io/{repository}/{layout}
+			String withoutScheme = archiveUrl.substring(archiveUrl.indexOf("://") + 3);
+			int repositoryStart = withoutScheme.indexOf('/') + 1;
+			layout = withoutScheme.substring(withoutScheme.indexOf('/', repositoryStart) + 1);
+		}
+		return root.resolve(layout).normalize();
+	}
+
+	/**
+	 * Get the {@link DocArchive} for a given archive url, loading it from disk or
+	 * downloading it if necessary. Loading failures are cached for a short while, so
+	 * that a missing or corrupted archive doesn't trigger a download on each request.
+	 * <p>
+	 * The archive is retained for the caller, that must {@link DocArchive#release() release}
+	 * it once done with it, so that it isn't closed in the meantime if it is evicted.
+	 *
+	 * @param archiveUrl the url of the archive, as produced by {@link #archiveUrl(String)}
+	 * @return a {@link Mono} of the local archive
+	 */
+	Mono<DocArchive> archive(String archiveUrl) {
+		return Mono.defer(() -> archives.get(archiveUrl, this::load))
+		           .filter(DocArchive::retain)
+		           //the archive was evicted and closed in the meantime, open it again
+		           .repeatWhenEmpty(3, repeats -> repeats);
+	}
+
+	private Mono<DocArchive> load(String archiveUrl) {
+		Path target = localPath(archiveUrl);
+		return Mono.fromCallable(() -> Files.isRegularFile(target))
+		           .subscribeOn(Schedulers.boundedElastic())
+		           .flatMap(exists -> exists ? Mono.just(target)
+				           //releases can be downloaded from either Sonatype or repo.spring.io
+				           : upstreams.failover(archiveUrl, url -> download(url, target)))
+		           .publishOn(Schedulers.boundedElastic())
+		           .map(path -> {
+			           try {
+				           //the time of last use, so that the least recently used archives are deleted first
+				           Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis()));
+			           }
+			           catch (IOException e) {
+				           LOGGER.debug("Couldn't touch archive {}: {}", path, e.toString());
+			           }
+			           try {
+				           DocArchive archive = DocArchive.open(path, this::written, open::remove);
+				           open.add(archive);
+				           return archive;
+			           }
+			           catch (UncheckedIOException e) {
+				           //don't keep a corrupted archive around, it will be downloaded again on retry
+				           try {
+					           Files.deleteIfExists(path);
+				           }
+				           catch (IOException ignore) {
+					           //ignore
+				           }
+				           throw e;
+			           }
+		           })
+		           .doOnError(e -> {
+			           LOGGER.warn("Unable to store archive {} locally: {}", archiveUrl, e.toString());
+			           Schedulers.parallel()
+			                     .schedule(() -> archives.invalidate(archiveUrl), retryDelay.toMillis(), TimeUnit.MILLISECONDS);
+		           })
+		           .cache();
+	}
+
+	private long trimThreshold() {
+		return Math.max(1, maxBytes / 20);
+	}
+
+	/**
+	 * Account for bytes written to the store, starting a {@link #trim()} in the
+	 * background once enough has been written since the last one.
+	 */
+	private void written(long bytes) {
+		if (writtenSinceTrim.addAndGet(bytes) < trimThreshold() || !trimming.compareAndSet(false, true)) {
+			return;
+		}
+		writtenSinceTrim.set(0);
+		Schedulers.boundedElastic()
+		          .schedule(() -> {
+			          try {
+				          trim();
+			          }
+			          catch (IOException | UncheckedIOException e) {
+				          LOGGER.warn("Unable to trim the archive store {}: {}", root, e.toString());
+			          }
+			          finally {
+				          trimming.set(false);
+			          }
+		          });
+	}
+
+	/**
+	 * Delete the least recently opened archives, along with the files extracted from
+	 * them, until the store fits in its size bound (blocking). Archives that are open
+	 * or being loaded are kept.
+	 */
+	void trim() throws IOException {
+		if (!Files.isDirectory(root)) {
+			return;
+		}
+		Set<Path> inUse = new HashSet<>();
+		open.forEach(archive -> inUse.add(archive.path));
+		archives.asMap().keySet().forEach(url -> inUse.add(localPath(url)));
+
+		List<Path> stored = new ArrayList<>();
+		Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+			@Override
+			public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+				//extracted files are accounted with their archive
+				return dir.getFileName().toString().endsWith(EXTRACTED_SUFFIX) ? FileVisitResult.SKIP_SUBTREE : FileVisitResult.CONTINUE;
+			}
+
+			@Override
+			public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+				if (attrs.isRegularFile() && !file.getFileName().toString().endsWith(".part")) {
+					stored.add(file);
+				}
+				return FileVisitResult.CONTINUE;
+			}
+		});
+
+		Map<Path, Long> sizes = new HashMap<>(stored.size());
+		Map<Path, Long> lastUsed = new HashMap<>(stored.size());
+		long total = 0;
+		for (Path archive : stored) {
+			long size = Files.size(archive) + directorySize(DocArchive.extractedRoot(archive));
+			sizes.put(archive, size);
+			lastUsed.put(archive, Files.getLastModifiedTime(archive).toMillis());
+			total += size;
+		}
+		stored.sort(Comparator.comparing(lastUsed::get));
+		for (Path archive : stored) {
+			if (total <= maxBytes) {
+				break;
+			}
+			if (inUse.contains(archive)) {
+				continue;
+			}
+			deleteRecursively(DocArchive.extractedRoot(archive));
+			Files.deleteIfExists(archive);
+			total -= sizes.get(archive);
+			LOGGER.info("Deleted archive {} from the store, now {}MB", archive, total / 1024 / 1024);
+		}
+	}
+
+	private static long directorySize(Path dir) throws IOException {
+		if (!Files.isDirectory(dir)) {
+			return 0;
+		}
+		try (Stream<Path> files = Files.walk(dir)) {
+			return files.filter(Files::isRegularFile)
+			            .mapToLong(file -> {
+				            try {
+					            return Files.size(file);
+				            }
+				            catch (IOException e) {
+					            return 0;
+				            }
+			            })
+			            .sum();
+		}
+	}
+
+	private static void deleteRecursively(Path dir) throws IOException {
+		if (!Files.isDirectory(dir)) {
+			return;
+		}
+		try (Stream<Path> files = Files.walk(dir)) {
+			for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+				Files.deleteIfExists(file);
+			}
+		}
+	}
+
+	private Mono<Path> download(String archiveUrl, Path target) {
+		return Mono.defer(() -> {
+			long start = System.currentTimeMillis();
+			Path temp;
+			FileChannel channel;
+			MessageDigest digest;
+			try {
+				Files.createDirectories(target.getParent());
+				temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".part");
+				channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+				digest = MessageDigest.getInstance("SHA-1");
+			}
+			catch (IOException | NoSuchAlgorithmException e) {
+				return Mono.error(e);
+			}
+
+			Mono<Void> content = authenticated(archiveUrl)
+					.get()
+					.uri(archiveUrl)
+					.response((r, body) -> {
+						if (r.status().code() != 200) {
+							return Mono.<ByteBuf>error(new UpstreamResponseException(r.status().code(), "Unexpected status " + r.status() + " for " + archiveUrl));
+						}
+						return body.retain()
+						           .publishOn(Schedulers.boundedElastic())
+						           .doOnNext(buf -> {
+							           try {
+								           ByteBuffer nio = buf.nioBuffer();
+								           digest.update(nio.duplicate());
+								           while (nio.hasRemaining()) {
+									           channel.write(nio);
+								           }
+							           }
+							           catch (IOException e) {
+								           throw new UncheckedIOException(e);
+							           }
+							           finally {
+								           buf.release();
+							           }
+						           })
+						           //chunks still queued when the download fails or is cancelled
+						           .doOnDiscard(ByteBuf.class, ByteBuf::release);
+					})
+					.then();
+
+			return content.then(expectedChecksum(archiveUrl))
+			              .publishOn(Schedulers.boundedElastic())
+			              .map(expected -> {
+				              String actual = ByteBufUtil.hexDump(digest.digest());
+				              if (!actual.equalsIgnoreCase(expected)) {
+					              throw Exceptions.propagate(new UpstreamResponseException(UpstreamResponseException.INVALID_CONTENT, "Checksum mismatch for " + archiveUrl + ": expected " + expected + " but got " + actual));
+				              }
+				              try {
+					              channel.close();
+					              Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+				              }
+				              catch (IOException e) {
+					              throw new UncheckedIOException(e);
+				              }
+				              LOGGER.info("Stored archive {} in {}ms", archiveUrl, System.currentTimeMillis() - start);
+				              written(target.toFile().length());
+				              return target;
+			              })
+			              .doFinally(sig -> {
+				              try {
+					              channel.close();
+					              Files.deleteIfExists(temp);
+				              }
+				              catch (IOException e) {
+					              LOGGER.debug("Couldn't clean up {}: {}", temp, e.toString());
+				              }
+			              });
+		});
+	}
+
+	private Mono<String> expectedChecksum(String archiveUrl) {
+		return authenticated(archiveUrl)
+				.get()
+				.uri(archiveUrl + ".sha1")
+				.responseSingle((r, body) -> {
+					if (r.status().code() != 200) {
+						return Mono.<String>error(new UpstreamResponseException(r.status().code(), "Unexpected status " + r.status() + " for checksum of " + archiveUrl));
+					}
+					return body.asString(StandardCharsets.US_ASCII);
+				})
+				//the checksum file can contain the file name after the checksum itself
+				.map(checksum -> checksum.trim().split("\\s+")[0]);
+	}
+
+	private HttpClient authenticated(String url) {
+		return upstreams.forUrl(url).headers(h -> {
+			if (REPO_TOKEN != null && !REPO_TOKEN.isBlank()) {
+				h.set("Authorization", "Bearer " + REPO_TOKEN);
+			}
+		});
+	}
+
+	/**
+	 * A documentation archive stored on disk, with its central directory indexed.
+	 * Entries are extracted next to the archive the first time they are requested, so
+	 * that they can be sent with zero-copy file transfers. Compressible entries are also
+	 * stored compressed with each of the {@link Compression#ENCODINGS}.
+	 * <p>
+	 * The archive is reference counted: it starts retained by its opener, and its zip
+	 * file is closed once every user {@link #release() released} it.
+	 */
+	static final class DocArchive {
+
+		final Path                   path;
+		final ZipFile                zipFile;
+		final Map<String, ZipEntry> index;
+		final Path                   extractedRoot;
+
+		private final LongConsumer                      written;
+		private final Consumer<DocArchive>              closed;
+		private final Map<String, Mono<ExtractedEntry>> extracted = new ConcurrentHashMap<>();
+		private final AtomicInteger                     refCnt    = new AtomicInteger(1);
+
+		DocArchive(Path path, ZipFile zipFile, Map<String, ZipEntry> index, LongConsumer written, Consumer<DocArchive> closed) {
+			this.path = path;
+			this.zipFile = zipFile;
+			this.index = index;
+			this.written = written;
+			this.closed = closed;
+			this.extractedRoot = extractedRoot(path);
+		}
+
+		static Path extractedRoot(Path archive) {
+			return archive.resolveSibling(archive.getFileName() + EXTRACTED_SUFFIX);
+		}
+
+		static DocArchive open(Path path) {
+			return open(path, bytes -> { }, archive -> { });
+		}
+
+		/**
+		 * @param path the archive
+		 * @param written notified of the bytes written to disk by extractions
+		 * @param closed notified once the archive is closed
+		 * @return the indexed archive
+		 */
+		static DocArchive open(Path path, LongConsumer written, Consumer<DocArchive> closed) {
+			try {
+				ZipFile zipFile = new ZipFile(path.toFile());
+				Map<String, ZipEntry> index = new HashMap<>(zipFile.size());
+				Enumeration<? extends ZipEntry> entries = zipFile.entries();
+				while (entries.hasMoreElements()) {
+					ZipEntry entry = entries.nextElement();
+					if (!entry.isDirectory()) {
+						index.put(entry.getName(), entry);
+					}
+				}
+				return new DocArchive(path, zipFile, Collections.unmodifiableMap(index), written, closed);
+			}
+			catch (IOException e) {
+				throw new UncheckedIOException("Unable to index archive " + path, e);
+			}
+		}
+
+		/**
+		 * Retain this archive so that it stays open until {@link #release() released}.
+		 *
+		 * @return false if the archive is already closed
+		 */
+		boolean retain() {
+			for (;;) {
+				int count = refCnt.get();
+				if (count == 0) {
+					return false;
+				}
+				if (refCnt.compareAndSet(count, count + 1)) {
+					return true;
+				}
+			}
+		}
+
+		/**
+		 * Release this archive, closing it (in the background) if it was its last user.
+		 */
+		void release() {
+			if (refCnt.decrementAndGet() != 0) {
+				return;
+			}
+			Schedulers.boundedElastic()
+			          .schedule(() -> {
+				          try {
+					          zipFile.close();
+				          }
+				          catch (IOException e) {
+					          LOGGER.debug("Couldn't close archive {}: {}", path, e.toString());
+				          }
+				          finally {
+					          closed.accept(this);
+				          }
+			          });
+		}
+
+		/**
+		 * @param entryPath the path of the entry inside the archive
+		 * @return the {@link ZipEntry}, or null if there is no such file in the archive
+		 */
+		@Nullable
+		ZipEntry entry(String entryPath) {
+			return index.get(entryPath);
+		}
+
+		/**
+		 * Extract an entry to disk (unless already done), off the event loop. Concurrent
+		 * extractions of the same entry are shared.
+		 *
+		 * @param entry the entry to extract
+		 * @return a {@link Mono} of the extracted file and its compressed variants
+		 */
+		Mono<ExtractedEntry> extract(ZipEntry entry) {
+			Mono<ExtractedEntry> extraction = extracted.get(entry.getName());
+			if (extraction != null) {
+				return extraction;
+			}
+			return extracted.computeIfAbsent(entry.getName(),
+					name -> Mono.fromCallable(() -> {
+						            //the extraction keeps the archive open, even if its requests are cancelled
+						            if (!retain()) {
+							            throw new IOException("Archive " + path + " is closed");
+						            }
+						            try {
+							            return extractToDisk(entry);
+						            }
+						            finally {
+							            release();
+						            }
+					            })
+					            .subscribeOn(Schedulers.boundedElastic())
+					            .doOnError(e -> extracted.remove(name))
+					            .cache());
+		}
+
+		private ExtractedEntry extractToDisk(ZipEntry entry) throws IOException {
+			Path target = extractedRoot.resolve(entry.getName()).normalize();
+			if (!target.startsWith(extractedRoot)) {
+				throw new IOException("Entry " + entry.getName() + " is outside of " + extractedRoot);
+			}
+			boolean compressible = Compression.isCompressible(ApplicationUtils.contentType(entry.getName()))
+					&& entry.getSize() >= Compression.MIN_BYTES;
+			boolean write = !Files.isRegularFile(target);
+			if (write) {
+				Files.createDirectories(target.getParent());
+				Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".part");
+				try {
+					try (InputStream in = zipFile.getInputStream(entry)) {
+						Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+					}
+					if (compressible) {
+						writeVariants(temp, target);
+					}
+					//the entry is moved last, so that its variants exist if it does
+					Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+				}
+				finally {
+					Files.deleteIfExists(temp);
+				}
+			}
+
+			Map<String, LocalFile> variants = new HashMap<>(Compression.ENCODINGS.size());
+			if (compressible) {
+				for (String encoding : Compression.ENCODINGS) {
+					Path variant = variantPath(target, encoding);
+					if (Files.isRegularFile(variant)) {
+						variants.put(encoding, new LocalFile(variant, Files.size(variant)));
+					}
+				}
+			}
+			ExtractedEntry extractedEntry = new ExtractedEntry(new LocalFile(target, Files.size(target)), variants);
+			if (write) {
+				long bytes = extractedEntry.file.length;
+				for (LocalFile variant : variants.values()) {
+					bytes += variant.length;
+				}
+				written.accept(bytes);
+			}
+			return extractedEntry;
+		}
+
+		private static void writeVariants(Path source, Path target) throws IOException {
+			ByteBuf content = Unpooled.wrappedBuffer(Files.readAllBytes(source));
+			for (String encoding : Compression.ENCODINGS) {
+				ByteBuf compressed = Compression.compress(content, encoding);
+				if (compressed == null) {
+					continue;
+				}
+				Path variant = variantPath(target, encoding);
+				Path temp;
+				try {
+					temp = Files.createTempFile(target.getParent(), variant.getFileName().toString(), ".part");
+				}
+				catch (IOException e) {
+					compressed.release();
+					throw e;
+				}
+				try {
+					try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+						ByteBuffer nio = compressed.nioBuffer();
+						while (nio.hasRemaining()) {
+							channel.write(nio);
+						}
+					}
+					Files.move(temp, variant, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+				}
+				finally {
+					compressed.release();
+					Files.deleteIfExists(temp);
+				}
+			}
+		}
+
+		static Path variantPath(Path file, String encoding) {
+			return file.resolveSibling(file.getFileName() + (Compression.GZIP.equals(encoding) ? ".gz" : "." + encoding));
+		}
+	}
+
+	/**
+	 * A file on disk and its length.
+	 */
+	static final class LocalFile {
+
+		final Path path;
+		final long length;
+
+		LocalFile(Path path, long length) {
+			this.path = path;
+			this.length = length;
+		}
+	}
+
+	/**
+	 * An archive entry extracted to disk, with its compressed variants if any.
+	 */
+	static final class ExtractedEntry {
+
+		final LocalFile              file;
+		final Map<String, LocalFile> variants;
+
+		ExtractedEntry(LocalFile file, Map<String, LocalFile> variants) {
+			this.file = file;
+			this.variants = variants;
+		}
+	}
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2026 VMware Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.projectreactor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.Logger;
+import reactor.util.Loggers;
+
+/**
+ * Warms up the documentation of the current release train (as described by the
+ * {@code stable} {@link Bom} in {@code boms.yml}) after startup, so that the first
+ * visitors after a deployment don't pay for cold upstream requests on the most visited
+ * pages: javadoc and reference guide index pages, and the javadoc shared assets.
+ */
+final class DocPrefetcher {
+
+	private static final Logger LOGGER = Loggers.getLogger(DocPrefetcher.class);
+
+	/**
+	 * The javadoc files that every javadoc page (or the search feature) loads.
+	 */
+	static final String[] JAVADOC_FILES = {"index.html", "stylesheet.css", "script.js", "search.js",
+			"package-search-index.js", "type-search-index.js", "member-search-index.js"};
+
+	private final Function<String, Mono<Boolean>> loader;
+	private final int                             concurrency;
+
+	/**
+	 * @param loader the function loading the documentation file at a given site path
+	 * (eg. {@code /docs/core/3.8.0/api/index.html}), emitting true if it has been loaded
+	 * @param concurrency the maximum number of files loaded concurrently
+	 */
+	DocPrefetcher(Function<String, Mono<Boolean>> loader, int concurrency) {
+		this.loader = loader;
+		this.concurrency = concurrency;
+	}
+
+	/**
+	 * List the paths of the documentation to prefetch for a release train.
+	 *
+	 * @param bom the release train
+	 * @param modules the known modules, to skip the ones that are not served
+	 * @return the site paths to prefetch, grouped by documentation archive
+	 */
+	static List<String> paths(Bom bom, Map<String, Module> modules) {
+		List<String> paths = new ArrayList<>();
+		versions(bom).forEach((module, version) -> {
+			if (!modules.containsKey(module)) {
+				return;
+			}
+			String docs = "/docs/" + module + "/" + version;
+			for (String file : JAVADOC_FILES) {
+				paths.add(docs + "/api/" + file);
+			}
+			String refDocPath = DocUtils.getRefDocPath(module, version);
+			//some modules' reference guide is a section of another module's guide
+			if (!refDocPath.isEmpty() && !refDocPath.contains("#")) {
+				paths.add(refDocPath + "/index.html");
+			}
+			if (DocUtils.hasKDoc(module, version)) {
+				paths.add(docs + "/kdoc-api/");
+			}
+		});
+		return paths;
+	}
+
+	static Map<String, String> versions(Bom bom) {
+		Map<String, String> versions = new LinkedHashMap<>();
+		putIfSet(versions, "core", bom.getCoreVersion());
+		putIfSet(versions, "netty", bom.getNettyVersion());
+		putIfSet(versions, "test", bom.getTestVersion());
+		putIfSet(versions, "extra", bom.getExtraVersion());
+		putIfSet(versions, "adapter", bom.getAdapterVersion());
+		putIfSet(versions, "kafka", bom.getKafkaVersion());
+		putIfSet(versions, "rabbitmq", bom.getRabbitVersion());
+		putIfSet(versions, "pool", bom.getPoolVersion());
+		putIfSet(versions, "kotlin", bom.getKotlinVersion());
+		return versions;
+	}
+
+	private static void putIfSet(Map<String, String> versions, String module, String version) {
+		if (version != null && !version.isBlank()) {
+			versions.put(module, version);
+		}
+	}
+
+	/**
+	 * Prefetch documentation files, a bounded number at a time. Failures are logged and
+	 * don't interrupt the prefetching of other files.
+	 *
+	 * @param paths the site paths of the files
+	 * @return a {@link Mono} emitting the number of files that were loaded
+	 */
+	Mono<Long> prefetch(List<String> paths) {
+		return Mono.defer(() -> {
+			long start = System.currentTimeMillis();
+			return Flux.fromIterable(paths)
+			           .flatMap(path -> loader.apply(path)
+			                                  .defaultIfEmpty(false)
+			                                  .onErrorResume(e -> {
+				                                  LOGGER.debug("Couldn't prefetch {}: {}", path, e.toString());
+				                                  return Mono.just(false);
+			                                  }),
+					           concurrency)
+			           .filter(loaded -> loaded)
+			           .count()
+			           .doOnNext(loaded -> LOGGER.info("Prefetched {}/{} documentation files in {}ms",
+					           loaded, paths.size(), System.currentTimeMillis() - start));
+		});
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2017-2025 VMware Inc. or its affiliates, All Rights Reserved.
+ * Copyright (c) 2017-2026 VMware Inc. or its affiliates, All Rights Reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -268,7 +268,7 @@ public class DocUtils {
 		}
 
 		final boolean isForSpringRepo = shouldUseSpringRepo(versionType);
-		String url = (isForSpringRepo ? ("https://repo.spring.io/" + versionType) : "https://s01.oss.sonatype.org/service/local/repositories/releases/archive")
+		String url = (isForSpringRepo ? (SPRING_REPO + "/" + versionType) : SONATYPE_REPO + "/service/local/repositories/releases/archive")
 				+ "/" + actualModule.getGroupId().replace(".", "/")
 				+ "/" + actualModule.getArtifactId()
 				+ "/" + actualVersion
@@ -290,7 +290,7 @@ public class DocUtils {
 		}
 
 		final boolean isForSpringRepo = shouldUseSpringRepo(versionType);
-		String url = (isForSpringRepo ? ("https://repo.spring.io/" + versionType) : "https://s01.oss.sonatype.org/service/local/repositories/releases/archive")
+		String url = (isForSpringRepo ? (SPRING_REPO + "/" + versionType) : SONATYPE_REPO + "/service/local/repositories/releases/archive")
 				+ "/" + actualModule.getGroupId().replace(".", "/")
 				+ "/" + actualModule.getArtifactId()
 				+ "/" + actualVersion
@@ -306,6 +306,47 @@ public class DocUtils {
 	 */
 	public static final String WARNING_NO_KDOC = "warningNoKDoc:";
 
+	/**
+	 * The base urls of the upstream repositories, which can be overridden to point at a
+	 * local fake upstream (eg. {@code REACTOR_SITE_UPSTREAM_SPRING_URL=http://localhost:8080/spring}).
+	 */
+	static final String SPRING_REPO   = ApplicationUtils.config("REACTOR_SITE_UPSTREAM_SPRING_URL", "https://repo.spring.io");
+	static final String SONATYPE_REPO = ApplicationUtils.config("REACTOR_SITE_UPSTREAM_SONATYPE_URL", "https://s01.oss.sonatype.org");
+
+	static final String SPRING_RELEASE_REPO     = SPRING_REPO + "/release/";
+	static final String SONATYPE_RELEASE_ARCHIVE = SONATYPE_REPO + "/service/local/repositories/releases/archive/";
+	static final String SONATYPE_RELEASE_CONTENT = SONATYPE_REPO + "/service/local/repositories/releases/content/";
+
+	/**
+	 * Convert a url of a release artifact (or of a file inside of it) in one upstream
+	 * repository into the url of the same resource in the other repository: Sonatype's
+	 * Nexus and repo.spring.io both host releases. Milestones and snapshots are only
+	 * hosted in repo.spring.io, so they have no mirror.
+	 *
+	 * @param url the upstream url, as resolved by {@link #moduleToUrl(String, String, String, String, Module, String)}
+	 * or the url of a whole archive
+	 * @return the url of the same resource in the other repository, or null if there is none
+	 */
+	static String mirrorUrl(String url) {
+		if (SKIP_SONATYPE) {
+			return null;
+		}
+		if (url.startsWith(SONATYPE_RELEASE_ARCHIVE)) {
+			return SPRING_RELEASE_REPO + url.substring(SONATYPE_RELEASE_ARCHIVE.length()).replace("/!/", "!/");
+		}
+		if (url.startsWith(SONATYPE_RELEASE_CONTENT)) {
+			return SPRING_RELEASE_REPO + url.substring(SONATYPE_RELEASE_CONTENT.length());
+		}
+		if (url.startsWith(SPRING_RELEASE_REPO)) {
+			String path = url.substring(SPRING_RELEASE_REPO.length());
+			if (path.contains("!/")) {
+				return SONATYPE_RELEASE_ARCHIVE + path.replace("!/", "/!/");
+			}
+			return SONATYPE_RELEASE_CONTENT + path;
+		}
+		return null;
+	}
+
 	static boolean shouldUseSpringRepo(String versionType) {
 		return SKIP_SONATYPE || versionType.equalsIgnoreCase("snapshot") || versionType.equalsIgnoreCase(
 				"milestone");
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2026 VMware Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.projectreactor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.EventExecutorGroup;
+
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.Logger;
+import reactor.util.Loggers;
+
+/**
+ * Measures the lag of event loops: a task is periodically submitted to each loop, and
+ * the delay before it runs is how long I/O (and any other task) would have waited on
+ * that loop. A loop doing blocking or CPU-heavy work shows a high lag.
+ */
+final class EventLoopLagProbe implements Disposable {
+
+	private static final Logger LOGGER = Loggers.getLogger(EventLoopLagProbe.class);
+
+	private final List<EventExecutor>  loops = new ArrayList<>();
+	private final AtomicLongArray      lastNanos;
+	private final AtomicLongArray      maxNanos;
+	private final Disposable.Composite tasks = Disposables.composite();
+
+	EventLoopLagProbe(EventExecutorGroup group) {
+		group.forEach(loops::add);
+		this.lastNanos = new AtomicLongArray(loops.size());
+		this.maxNanos = new AtomicLongArray(loops.size());
+	}
+
+	/**
+	 * Start probing the lag of event loops, as configured from system properties /
+	 * environment variables.
+	 *
+	 * @param group the event loops
+	 * @return the probe, to dispose to stop probing
+	 */
+	static Disposable fromConfig(EventExecutorGroup group) {
+		Duration interval = Duration.ofMillis(ApplicationUtils.configInt("REACTOR_SITE_EVENT_LOOP_LAG_PROBE_MS", 1000));
+		Duration logInterval = Duration.ofSeconds(ApplicationUtils.configInt("REACTOR_SITE_EVENT_LOOP_LAG_LOG_SECONDS", 300));
+		if (interval.isZero() || interval.isNegative()) {
+			LOGGER.info("Event loop lag probe deactivated");
+			return Disposables.disposed();
+		}
+		EventLoopLagProbe probe = new EventLoopLagProbe(group);
+		probe.tasks.add(Flux.interval(interval, Schedulers.parallel())
+		                    .subscribe(tick -> probe.probe()));
+		if (!logInterval.isZero() && !logInterval.isNegative()) {
+			probe.tasks.add(Flux.interval(logInterval, Schedulers.parallel())
+			                    .subscribe(tick -> LOGGER.info("Event loop lag:\n{}", probe.snapshot(true))));
+		}
+		return probe;
+	}
+
+	/**
+	 * Submit a task to each event loop, measuring how long it waits before running.
+	 */
+	void probe() {
+		for (int i = 0; i < loops.size(); i++) {
+			int loop = i;
+			long submitted = System.nanoTime();
+			try {
+				loops.get(i).execute(() -> {
+					long lag = System.nanoTime() - submitted;
+					lastNanos.set(loop, lag);
+					maxNanos.accumulateAndGet(loop, lag, Math::max);
+				});
+			}
+			catch (RejectedExecutionException e) {
+				//shutting down
+			}
+		}
+	}
+
+	/**
+	 * @param reset true to reset the maximum lags
+	 * @return the last and maximum lags of each event loop since the last reset
+	 */
+	String snapshot(boolean reset) {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < loops.size(); i++) {
+			long max = reset ? maxNanos.getAndSet(i, 0) : maxNanos.get(i);
+			sb.append("loop ").append(i)
+			  .append(": last=").append(TimeUnit.NANOSECONDS.toMicros(lastNanos.get(i))).append("us")
+			  .append(", max=").append(TimeUnit.NANOSECONDS.toMicros(max)).append("us")
+			  .append('\n');
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * @return the maximum lag of all event loops since the last reset, in nanoseconds
+	 */
+	long maxLagNanos() {
+		long max = 0;
+		for (int i = 0; i < loops.size(); i++) {
+			max = Math.max(max, maxNanos.get(i));
+		}
+		return max;
+	}
+
+	@Override
+	public void dispose() {
+		tasks.dispose();
+	}
+
+	@Override
+	public boolean isDisposed() {
+		return tasks.isDisposed();
+	}
+}
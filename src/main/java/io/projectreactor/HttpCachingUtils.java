@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2026 VMware Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.projectreactor;
+
+import java.util.Date;
+import java.util.zip.CRC32;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.DateFormatter;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaders;
+
+import reactor.util.annotation.Nullable;
+
+/**
+ * Utilities around HTTP caching of documentation responses: {@code Cache-Control}
+ * policies, validators ({@code ETag} and {@code Last-Modified}) and evaluation of
+ * conditional requests.
+ */
+final class HttpCachingUtils {
+
+	/**
+	 * How long a browser or intermediary can cache documentation of a concrete RELEASE
+	 * version, which never changes.
+	 */
+	static final long RELEASE_MAX_AGE = ApplicationUtils.configInt("REACTOR_SITE_RELEASE_MAX_AGE_SECONDS", 365 * 24 * 3600);
+
+	/**
+	 * How long a browser or intermediary can cache documentation of a concrete milestone
+	 * or release candidate version.
+	 */
+	static final long MILESTONE_MAX_AGE = ApplicationUtils.configInt("REACTOR_SITE_MILESTONE_MAX_AGE_SECONDS", 24 * 3600);
+
+	/**
+	 * How long a browser or intermediary can cache documentation of a SNAPSHOT or an alias
+	 * version ({@code release}, {@code milestone}, {@code snapshot}) before revalidating.
+	 */
+	static final long REVALIDATE_MAX_AGE = ApplicationUtils.configInt("REACTOR_SITE_REVALIDATE_MAX_AGE_SECONDS", 60);
+
+	private HttpCachingUtils() {
+	}
+
+	/**
+	 * Compute the {@code Cache-Control} policy of a documentation response. Concrete
+	 * RELEASE versions are immutable, while alias versions (which can start pointing to
+	 * a newer version at any time) and SNAPSHOTs must be revalidated quickly.
+	 *
+	 * @param requestedVersion the version as found in the requested path
+	 * @param actualVersion the actual version, as resolved by {@link DocUtils#findModuleAndVersion(java.util.Map, String, String)}
+	 * @return the {@code Cache-Control} header value
+	 */
+	static String cacheControl(String requestedVersion, String actualVersion) {
+		if (isAlias(requestedVersion)) {
+			return "public, max-age=" + REVALIDATE_MAX_AGE + ", must-revalidate";
+		}
+		switch (DocUtils.findVersionType(actualVersion)) {
+			case "snapshot":
+				return "public, max-age=" + REVALIDATE_MAX_AGE + ", must-revalidate";
+			case "milestone":
+				return "public, max-age=" + MILESTONE_MAX_AGE;
+			default:
+				return "public, max-age=" + RELEASE_MAX_AGE + ", immutable";
+		}
+	}
+
+	static boolean isAlias(String requestedVersion) {
+		return requestedVersion.equalsIgnoreCase("release")
+				|| requestedVersion.equalsIgnoreCase("milestone")
+				|| requestedVersion.equalsIgnoreCase("snapshot");
+	}
+
+	/**
+	 * Generate a strong entity tag from a checksum of the content and its length.
+	 *
+	 * @param crc the CRC-32 of the content
+	 * @param length the length of the content
+	 * @return the quoted entity tag
+	 */
+	static String etag(long crc, long length) {
+		return "\"" + Long.toHexString(crc) + "-" + Long.toHexString(length) + "\"";
+	}
+
+	/**
+	 * Generate a strong entity tag for a content.
+	 *
+	 * @param content the content, which is not consumed
+	 * @return the quoted entity tag
+	 */
+	static String etag(ByteBuf content) {
+		CRC32 crc = new CRC32();
+		crc.update(content.nioBuffer());
+		return etag(crc.getValue(), content.readableBytes());
+	}
+
+	/**
+	 * @param epochMillis a date
+	 * @return the date formatted for a {@code Last-Modified} header
+	 */
+	static String httpDate(long epochMillis) {
+		return DateFormatter.format(new Date(epochMillis));
+	}
+
+	/**
+	 * Evaluate the conditional headers of a request against the validators of a
+	 * response. {@code If-None-Match} takes precedence over {@code If-Modified-Since},
+	 * as per RFC 9110.
+	 *
+	 * @param requestHeaders the headers of the request
+	 * @param responseHeaders the headers of the response, with its validators
+	 * @return true if a {@code 304 Not Modified} can be sent instead of the response
+	 */
+	static boolean isNotModified(HttpHeaders requestHeaders, HttpHeaders responseHeaders) {
+		String ifNoneMatch = requestHeaders.get(HttpHeaderNames.IF_NONE_MATCH);
+		if (ifNoneMatch != null) {
+			return etagMatches(ifNoneMatch, responseHeaders.get(HttpHeaderNames.ETAG));
+		}
+		String ifModifiedSince = requestHeaders.get(HttpHeaderNames.IF_MODIFIED_SINCE);
+		String lastModified = responseHeaders.get(HttpHeaderNames.LAST_MODIFIED);
+		if (ifModifiedSince == null || lastModified == null) {
+			return false;
+		}
+		Date since = DateFormatter.parseHttpDate(ifModifiedSince);
+		Date modified = DateFormatter.parseHttpDate(lastModified);
+		return since != null && modified != null && !modified.after(since);
+	}
+
+	/**
+	 * Compare the value of an {@code If-None-Match} header with an entity tag, using
+	 * the weak comparison function.
+	 *
+	 * @param ifNoneMatch the {@code If-None-Match} header value, possibly a list or {@code *}
+	 * @param etag the entity tag of the response, if any
+	 * @return true if one of the entity tags matches
+	 */
+	static boolean etagMatches(String ifNoneMatch, @Nullable String etag) {
+		if (etag == null) {
+			return false;
+		}
+		if (ifNoneMatch.trim().equals("*")) {
+			return true;
+		}
+		String opaqueEtag = opaque(etag);
+		for (String candidate : ifNoneMatch.split(",")) {
+			if (opaque(candidate).equals(opaqueEtag)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static String opaque(String etag) {
+		String trimmed = etag.trim();
+		return trimmed.startsWith("W/") ? trimmed.substring(2) : trimmed;
+	}
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2026 VMware Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.projectreactor;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpResponseStatus;
+
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.util.annotation.Nullable;
+
+/**
+ * A source of module versions reading the {@code maven-metadata.xml} of a module in
+ * several repositories, for a {@link VersionScraper}.
+ * <p>
+ * The {@code ETag} and {@code Last-Modified} of each metadata file are remembered with
+ * its versions, so that the next requests are conditional: unchanged metadata are
+ * answered with a {@code 304 Not Modified} and contribute the versions read previously.
+ * Every request thus returns all the versions of a module, whether or not the versions
+ * returned before were kept (eg. when the scrape they were part of failed).
+ */
+final class MavenMetadataSource implements Function<Module, Mono<List<String>>> {
+
+	private static final XMLInputFactory XML_INPUT_FACTORY = xmlInputFactory();
+
+	private final HttpClient   client;
+	private final List<String> repositories;
+
+	private final Map<String, Metadata> metadata = new ConcurrentHashMap<>();
+
+	/**
+	 * @param client the client to request metadata with
+	 * @param repositories the base urls of the repositories, ending with a {@code /}
+	 */
+	MavenMetadataSource(HttpClient client, List<String> repositories) {
+		this.client = client;
+		this.repositories = repositories;
+	}
+
+	static String metadataPath(Module module) {
+		return module.getGroupId().replace('.', '/') + "/" + module.getArtifactId() + "/maven-metadata.xml";
+	}
+
+	@Override
+	public Mono<List<String>> apply(Module module) {
+		String path = metadataPath(module);
+		return Flux.fromIterable(repositories)
+		           .flatMap(repository -> versions(repository + path))
+		           .collectList()
+		           .map(lists -> {
+			           List<String> versions = new ArrayList<>();
+			           lists.forEach(versions::addAll);
+			           return versions;
+		           });
+	}
+
+	private Mono<List<String>> versions(String url) {
+		Metadata previous = metadata.get(url);
+		return client.headers(h -> {
+			             if (previous != null && previous.etag != null) {
+				             h.set(HttpHeaderNames.IF_NONE_MATCH, previous.etag);
+			             }
+			             if (previous != null && previous.lastModified != null) {
+				             h.set(HttpHeaderNames.IF_MODIFIED_SINCE, previous.lastModified);
+			             }
+		             })
+		             .get()
+		             .uri(url)
+		             .responseSingle((r, content) -> {
+			             int status = r.status().code();
+			             if (status == HttpResponseStatus.NOT_MODIFIED.code() && previous != null) {
+				             return Mono.just(previous.versions);
+			             }
+			             if (status == HttpResponseStatus.NOT_FOUND.code()) {
+				             //the module isn't published in that repository
+				             return Mono.just(Collections.<String>emptyList());
+			             }
+			             if (status >= 300) {
+				             return Mono.<List<String>>error(new IllegalStateException(
+						             "Couldn't read " + url + ": " + r.status()));
+			             }
+			             String etag = r.responseHeaders().get(HttpHeaderNames.ETAG);
+			             String lastModified = r.responseHeaders().get(HttpHeaderNames.LAST_MODIFIED);
+			             return content.asByteArray()
+			                           .map(bytes -> {
+				                           List<String> versions = Collections.unmodifiableList(parseVersions(bytes));
+				                           metadata.put(url, new Metadata(etag, lastModified, versions));
+				                           return versions;
+			                           });
+		             });
+	}
+
+	/**
+	 * Read the versions listed in a {@code maven-metadata.xml}, streaming through it.
+	 *
+	 * @param xml the content of the metadata file
+	 * @return the versions
+	 */
+	static List<String> parseVersions(byte[] xml) {
+		List<String> versions = new ArrayList<>();
+		XMLStreamReader reader = null;
+		try {
+			reader = XML_INPUT_FACTORY.createXMLStreamReader(new ByteArrayInputStream(xml));
+			boolean inVersions = false;
+			while (reader.hasNext()) {
+				int event = reader.next();
+				if (event == XMLStreamConstants.START_ELEMENT) {
+					if ("versions".equals(reader.getLocalName())) {
+						inVersions = true;
+					}
+					else if (inVersions && "version".equals(reader.getLocalName())) {
+						versions.add(reader.getElementText().trim());
+					}
+				}
+				else if (event == XMLStreamConstants.END_ELEMENT && "versions".equals(reader.getLocalName())) {
+					inVersions = false;
+				}
+			}
+			return versions;
+		}
+		catch (XMLStreamException e) {
+			throw Exceptions.propagate(e);
+		}
+		finally {
+			if (reader != null) {
+				try {
+					reader.close();
+				}
+				catch (XMLStreamException ignored) {
+				}
+			}
+		}
+	}
+
+	private static XMLInputFactory xmlInputFactory() {
+		XMLInputFactory factory = XMLInputFactory.newFactory();
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+		return factory;
+	}
+
+	private static final class Metadata {
+
+		@Nullable
+		final String       etag;
+		@Nullable
+		final String       lastModified;
+		final List<String> versions;
+
+		Metadata(@Nullable String etag, @Nullable String lastModified, List<String> versions) {
+			this.etag = etag;
+			this.lastModified = lastModified;
+			this.versions = versions;
+		}
+	}
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2026 VMware Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.projectreactor;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import reactor.util.annotation.Nullable;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+/**
+ * An immutable snapshot of the modules and their versions, with the resolution of
+ * requested module and version names precomputed: for each module, a table maps the
+ * {@code release}, {@code milestone} and {@code snapshot} aliases and every known
+ * version (case-insensitively) to the actual module and version, including the fallback
+ * to the {@code <module>Archive} module.
+ * <p>
+ * This resolves requests in constant time, with the exact same results as
+ * {@link DocUtils#findModuleAndVersion(Map, String, String)}. A new catalog must be
+ * built whenever versions are loaded or refreshed, and swapped for the previous one.
+ */
+final class ModuleCatalog {
+
+	static final String[] ALIASES = {"RELEASE", "MILESTONE", "SNAPSHOT"};
+
+	final Map<String, Module> modules;
+
+	private final Map<String, Map<String, Tuple2<Module, String>>> resolutions;
+
+	private ModuleCatalog(Map<String, Module> modules, Map<String, Map<String, Tuple2<Module, String>>> resolutions) {
+		this.modules = modules;
+		this.resolutions = resolutions;
+	}
+
+	/**
+	 * Build the catalog of a set of modules. The modules are not copied, so they must
+	 * not be modified after that.
+	 *
+	 * @param modules the modules, by name
+	 * @return the catalog
+	 */
+	static ModuleCatalog of(Map<String, Module> modules) {
+		Map<String, Map<String, Tuple2<Module, String>>> direct = new HashMap<>(modules.size());
+		modules.forEach((name, module) -> direct.put(name, table(module)));
+
+		Map<String, Map<String, Tuple2<Module, String>>> resolutions = new HashMap<>(modules.size() * 2);
+		direct.forEach((name, table) -> {
+			Map<String, Tuple2<Module, String>> archive = direct.get(name + "Archive");
+			if (archive == null) {
+				resolutions.put(name, table);
+				return;
+			}
+			Map<String, Tuple2<Module, String>> merged = new HashMap<>(table);
+			archive.forEach(merged::putIfAbsent);
+			resolutions.put(name, Collections.unmodifiableMap(merged));
+		});
+		//an archive can be requested without the main module being configured
+		direct.forEach((name, table) -> {
+			if (name.endsWith("Archive")) {
+				resolutions.putIfAbsent(name.substring(0, name.length() - "Archive".length()), table);
+			}
+		});
+		return new ModuleCatalog(Collections.unmodifiableMap(modules), Collections.unmodifiableMap(resolutions));
+	}
+
+	private static Map<String, Tuple2<Module, String>> table(Module module) {
+		Map<String, Tuple2<Module, String>> table = new HashMap<>();
+		//versions are sorted, so the first matching version is the one an alias resolves to
+		for (String version : module.getVersions()) {
+			String upperVersion = version.toUpperCase();
+			Tuple2<Module, String> resolution = Tuples.of(module, upperVersion);
+			table.putIfAbsent(upperVersion, resolution);
+			for (String alias : ALIASES) {
+				if (!table.containsKey(alias) && DocUtils.checkModuleVersion(upperVersion, alias)) {
+					table.put(alias, resolution);
+				}
+			}
+		}
+		return Collections.unmodifiableMap(table);
+	}
+
+	/**
+	 * @param other another catalog
+	 * @return true if both catalogs have the same modules with the same versions
+	 */
+	boolean hasSameVersions(ModuleCatalog other) {
+		if (!modules.keySet().equals(other.modules.keySet())) {
+			return false;
+		}
+		for (Map.Entry<String, Module> entry : modules.entrySet()) {
+			if (!entry.getValue().getVersions().equals(other.modules.get(entry.getKey()).getVersions())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Resolve a requested module and version.
+	 *
+	 * @param moduleName the module name, as found in the requested path
+	 * @param versionName the version or alias, as found in the requested path
+	 * @return the actual module and (uppercase) version, or null if unknown
+	 */
+	@Nullable
+	Tuple2<Module, String> resolve(String moduleName, String versionName) {
+		Map<String, Tuple2<Module, String>> table = resolutions.get(moduleName);
+		return table == null ? null : table.get(versionName.toUpperCase());
+	}
+}
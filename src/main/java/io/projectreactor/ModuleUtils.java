@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2019-2025 VMware Inc. or its affiliates, All Rights Reserved.
+ * Copyright (c) 2019-2026 VMware Inc. or its affiliates, All Rights Reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,24 +18,32 @@ package io.projectreactor;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.yaml.snakeyaml.LoaderOptions;
 import org.yaml.snakeyaml.Yaml;
 import org.yaml.snakeyaml.constructor.Constructor;
 
 import org.springframework.core.io.ClassPathResource;
 
-import reactor.core.Exceptions;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.netty.http.client.HttpClient;
 import reactor.util.Logger;
 import reactor.util.Loggers;
+import reactor.util.annotation.Nullable;
 
 import static io.projectreactor.Application.REPO_TOKEN;
 import static io.projectreactor.Application.SKIP_SONATYPE;
@@ -61,114 +69,261 @@ public class ModuleUtils {
 		}
 	}
 
-	public static void fetchVersionsFromArtifactRepository(Map<String, Module> modules) {
+	/**
+	 * Create the {@link VersionScraper} of module versions from Artifactory and Sonatype.
+	 * By default, versions are read from the {@code maven-metadata.xml} of modules with
+	 * conditional requests, so the scraper must be reused across fetches. Setting
+	 * {@code REACTOR_SITE_VERSIONS_SOURCE=search} uses the search APIs instead, with one
+	 * query per group of modules.
+	 *
+	 * @param clients the upstream clients
+	 * @return the scraper
+	 */
+	public static VersionScraper versionScraper(UpstreamClients clients) {
+		boolean search = "search".equalsIgnoreCase(ApplicationUtils.config("REACTOR_SITE_VERSIONS_SOURCE", "metadata"));
+		VersionScraper scraper = VersionScraper.fromConfig();
+		if (search) {
+			scraper.batchSource("artifactory", artifactorySource(clients));
+		}
+		else {
+			scraper.source("artifactory", artifactoryMetadataSource(clients));
+		}
+		if (SKIP_SONATYPE) {
+			return scraper;
+		}
+		return search ? scraper.batchSource("sonatype", sonatypeSource(clients)) :
+				scraper.source("sonatype", sonatypeMetadataSource(clients));
+	}
+
+	/**
+	 * Fetch the versions of modules from all the sources of a scraper concurrently, and
+	 * add them to the modules (blocking). Modules or sources that couldn't be scraped in
+	 * time are reported, and the versions that were scraped are kept.
+	 *
+	 * @param modules the modules, by name
+	 * @param scraper the scraper, see {@link #versionScraper(UpstreamClients)}
+	 * @return the report of what was scraped and what was missed
+	 */
+	public static VersionScraper.Report fetchVersionsFromArtifactRepository(Map<String, Module> modules, VersionScraper scraper) {
 		String[] moduleNames =
 				{"core", "test", "adapter", "extra", "netty", "nettyArchive", "kafka",
 						"rabbitmq", "BlockHound", "kotlin", "pool"};
-		//then get the versions from Artifactory
-		ModuleUtils.fetchVersionsFromArtifactory(modules, moduleNames);
-		//then get the versions from Sonatype
-		if (!SKIP_SONATYPE) {
-			ModuleUtils.fetchVersionsFromSonatype(modules, moduleNames);
-		}
+		List<Module> scraped = Stream.of(moduleNames)
+		                             .filter(modules::containsKey)
+		                             .map(modules::get)
+		                             .collect(Collectors.toList());
+		return scraper.scrape(scraped);
+	}
+
+	static Function<Module, Mono<List<String>>> artifactoryMetadataSource(UpstreamClients clients) {
+		final HttpClient client = clients.client(UpstreamClients.SPRING)
+		                                 .headers(headers -> {
+			                                 if (REPO_TOKEN != null && !REPO_TOKEN.isBlank()) {
+				                                 headers.set("Authorization", "Bearer " + REPO_TOKEN);
+			                                 }
+		                                 });
+		return new MavenMetadataSource(client, List.of(DocUtils.SPRING_REPO + "/snapshot/",
+				DocUtils.SPRING_REPO + "/milestone/", DocUtils.SPRING_RELEASE_REPO));
 	}
 
-	public static void fetchVersionsFromArtifactory(Map<String, Module> modules, String... moduleNames) {
-		final HttpClient client = HttpClient.create().baseUrl("https://repo.spring.io/api/search");
+	static Function<Module, Mono<List<String>>> sonatypeMetadataSource(UpstreamClients clients) {
+		return new MavenMetadataSource(clients.client(UpstreamClients.SONATYPE),
+				List.of(DocUtils.SONATYPE_REPO + "/content/repositories/snapshots/",
+						DocUtils.SONATYPE_REPO + "/content/repositories/releases/"));
+	}
+
+	/**
+	 * A batch source of versions from the Artifactory GAVC search, with one query per
+	 * group listing the files of all its artifacts. The versions of modules are found in
+	 * the paths of these files. The search caps its results, so the groups that reach the
+	 * limit or miss one of their modules are searched again with one versions query per
+	 * module.
+	 */
+	static Function<Collection<Module>, Mono<Map<String, List<String>>>> artifactorySource(UpstreamClients clients) {
+		return artifactorySource(clients.client(UpstreamClients.SPRING)
+		                                .baseUrl(DocUtils.SPRING_REPO + "/api/search")
+		                                .headers(headers -> {
+			                                if (REPO_TOKEN != null && !REPO_TOKEN.isBlank()) {
+				                                headers.set("Authorization", "Bearer " + REPO_TOKEN);
+			                                }
+		                                }),
+				ApplicationUtils.configInt("REACTOR_SITE_ARTIFACTORY_SEARCH_LIMIT", 1000));
+	}
+
+	/**
+	 * @param client the client to the Artifactory search API
+	 * @param limit the maximum number of results of a search
+	 * @see #artifactorySource(UpstreamClients)
+	 */
+	static Function<Collection<Module>, Mono<Map<String, List<String>>>> artifactorySource(HttpClient client, int limit) {
 		final String repos = "&repos=snapshot,milestone,release";
 
-		Flux.fromArray(moduleNames)
-		    .filter(modules::containsKey)
-		    .map(modules::get)
-		    .flatMap(module -> {
-			    final String params = "/versions?g=" + module.getGroupId() + "&a=" + module.getArtifactId() + repos;
-			    LOGGER.info("Loading version information for {} via GET {}", module.getName(), params);
-
-			    return client.headers(headers -> {
-				                 if (REPO_TOKEN != null && !REPO_TOKEN.isBlank()) {
-					                 headers.set("Authorization", "Bearer " + REPO_TOKEN);
-				                 }
-			                 })
-			                 .get()
-			                 .uri(params)
-			                 .response((r, content) -> {
-				                 if (r.status().code() < 400) {
-					                 return content.aggregate()
-					                               .asString()
-					                               .doOnNext(json -> loadModuleVersionsFromArtifactoryVersionsSearch(json, module));
-				                 }
-				                 else {
-					                 return content.aggregate()
-					                               .asString()
-					                               .doOnNext(errorBody -> LOGGER.warn("Couldn't scrape versions for {}: {} - {}",
-							                               module.getName(), r.status(), errorBody));
-				                 }
-			                 })
-			                 .then(Mono.fromCallable(module::sortAndDeduplicateVersions));
-		    })
-		    .blockLast();
+		return modules -> fetchByGroup(modules, (groupId, groupModules) -> {
+			final String params = "/gavc?g=" + groupId + repos;
+			LOGGER.info("Loading version information for group {} via GET {}", groupId, params);
+			Map<String, Set<String>> found = new HashMap<>();
+			int[] results = {0};
+			return fetchValues(client, params, null, Set.of("uri"), (field, uri) -> {
+				results[0]++;
+				for (Module module : groupModules) {
+					String version = versionInPath(uri, module);
+					if (version != null) {
+						found.computeIfAbsent(module.getName(), k -> new LinkedHashSet<>()).add(version);
+					}
+				}
+			}, () -> { }).then(Mono.defer(() -> {
+				if (results[0] < limit && found.size() == groupModules.size()) {
+					return Mono.just(found);
+				}
+				LOGGER.info("Search results capped for group {}, loading version information per module", groupId);
+				return Flux.fromIterable(groupModules)
+				           .flatMap(module -> {
+					           String moduleParams = "/versions?g=" + groupId + "&a=" + module.getArtifactId() + repos;
+					           LOGGER.info("Loading version information for {} via GET {}", module.getName(), moduleParams);
+					           Set<String> versions = new LinkedHashSet<>();
+					           return fetchValues(client, moduleParams, null, Set.of("version"), (field, version) -> versions.add(version), () -> { })
+							           .then(Mono.fromCallable(() -> Map.of(module.getName(), versions)));
+				           })
+				           .<Map<String, Set<String>>>collect(HashMap::new, Map::putAll);
+			}));
+		});
 	}
 
-	public static void loadModuleVersionsFromArtifactoryVersionsSearch(String json, Module module) {
-		ObjectMapper mapper = new ObjectMapper();
-		final JsonNode node;
-		try {
-			node = mapper.readTree(json);
-		}
-		catch (JsonProcessingException e) {
-			throw Exceptions.propagate(e);
-		}
-		List<String> versions = node.findValuesAsText("version");
-
-		versions.forEach(v -> tryAddVersion(module, v));
-	}
-
-	public static void fetchVersionsFromSonatype(Map<String, Module> modules, String... moduleNames) {
-		final HttpClient client = HttpClient.create()
-		                                    .baseUrl("https://s01.oss.sonatype.org/service/local/lucene")
-		                                    .headers(h -> h.set("accept", "application/json"));
-
-		Flux.fromArray(moduleNames)
-		    .filter(modules::containsKey)
-		    .map(modules::get)
-		    .flatMap(module -> {
-			    final String params = "/search?g=" + module.getGroupId() + "&a=" + module.getArtifactId();
-			    LOGGER.info("Loading version information for {} via GET {}", module.getName(), params);
-
-			    return client.get()
-			                 .uri(params)
-			                 .response((r, content) -> {
-				                 if (r.status().code() < 400) {
-					                 return content.aggregate()
-					                               .asString()
-					                               .doOnNext(json -> loadModuleVersionsFromSonatypeVersionsSearch(json, module));
-				                 }
-				                 else {
-					                 return content.aggregate()
-					                               .asString()
-					                               .doOnNext(errorBody -> LOGGER.warn("Couldn't scrape versions for {}: {} - {}",
-							                               module.getName(), r.status(), errorBody));
-				                 }
-			                 })
-			                 .then(Mono.fromCallable(module::sortAndDeduplicateVersions));
-		    })
-		    .blockLast();
-	}
-
-	private static void loadModuleVersionsFromSonatypeVersionsSearch(String json, Module module) {
-		ObjectMapper mapper = new ObjectMapper();
-		final JsonNode node;
-		try {
-			node = mapper.readTree(json);
-		}
-		catch (JsonProcessingException e) {
-			throw Exceptions.propagate(e);
+	/**
+	 * A batch source of versions from the Sonatype lucene search, with one query per
+	 * group listing all its artifacts and versions. The search caps its results, so the
+	 * groups with too many results are searched again with one query per module.
+	 */
+	static Function<Collection<Module>, Mono<Map<String, List<String>>>> sonatypeSource(UpstreamClients clients) {
+		return sonatypeSource(clients.client(UpstreamClients.SONATYPE)
+		                             .baseUrl(DocUtils.SONATYPE_REPO + "/service/local/lucene"));
+	}
+
+	/**
+	 * @param lucene the client to the Sonatype lucene API
+	 * @see #sonatypeSource(UpstreamClients)
+	 */
+	static Function<Collection<Module>, Mono<Map<String, List<String>>>> sonatypeSource(HttpClient lucene) {
+		final HttpClient client = lucene.headers(h -> h.set("accept", "application/json"));
+
+		return modules -> fetchByGroup(modules, (groupId, groupModules) ->
+				sonatypeSearch(client, "/search?g=" + groupId, groupModules)
+						.flatMap(result -> {
+							if (!result.tooManyResults) {
+								return Mono.just(result.found);
+							}
+							LOGGER.info("Too many results for group {}, loading version information per module", groupId);
+							return Flux.fromIterable(groupModules)
+							           .flatMap(module -> sonatypeSearch(client, "/search?g=" + groupId + "&a=" + module.getArtifactId(), List.of(module))
+									           .flatMap(moduleResult -> moduleResult.tooManyResults
+											           ? Mono.<Map<String, Set<String>>>error(new IllegalStateException("Too many results for module " + module.getName()))
+											           : Mono.just(moduleResult.found)))
+							           .<Map<String, Set<String>>>collect(HashMap::new, Map::putAll);
+						}));
+	}
+
+	private static Mono<SearchResult> sonatypeSearch(HttpClient client, String params, List<Module> modules) {
+		LOGGER.info("Loading version information via GET {}", params);
+		SearchResult result = new SearchResult();
+		Map<String, String> entry = new HashMap<>();
+		modules.forEach(module -> result.found.put(module.getName(), new LinkedHashSet<>()));
+		return fetchValues(client, params, null, Set.of("tooManyResults", "groupId", "artifactId", "version"),
+				(field, value) -> {
+					if ("tooManyResults".equals(field)) {
+						result.tooManyResults = Boolean.parseBoolean(value);
+						return;
+					}
+					if ("groupId".equals(field)) {
+						//entries start with their groupId
+						entry.clear();
+					}
+					entry.put(field, value);
+				},
+				//the coordinates of an entry only apply to its own version
+				() -> {
+					String version = entry.get("version");
+					for (Module module : modules) {
+						if (version != null && module.getGroupId().equals(entry.get("groupId"))
+								&& module.getArtifactId().equals(entry.get("artifactId"))) {
+							result.found.get(module.getName()).add(version);
+						}
+					}
+					entry.clear();
+				})
+				.then(Mono.fromCallable(() -> result));
+	}
+
+	/**
+	 * The versions found by a search, by module name.
+	 */
+	private static final class SearchResult {
+
+		final Map<String, Set<String>> found = new HashMap<>();
+		boolean                        tooManyResults;
+	}
+
+	/**
+	 * Fetch the versions of modules with one request per group, concurrently.
+	 *
+	 * @param modules the modules
+	 * @param fetchGroup fetches the versions of the modules of a group, by module name
+	 * @return the versions of all modules, by module name
+	 */
+	static Mono<Map<String, List<String>>> fetchByGroup(Collection<Module> modules,
+			BiFunction<String, List<Module>, Mono<Map<String, Set<String>>>> fetchGroup) {
+		Map<String, List<Module>> groups = modules.stream()
+		                                          .collect(Collectors.groupingBy(Module::getGroupId, LinkedHashMap::new,
+				                                          Collectors.toList()));
+		return Flux.fromIterable(groups.entrySet())
+		           .flatMap(group -> fetchGroup.apply(group.getKey(), group.getValue()))
+		           .collect(HashMap::new, (all, found) -> found.forEach((name, versions) -> all.put(name, new ArrayList<>(versions))));
+	}
+
+	/**
+	 * @param path a path or url in a maven repository
+	 * @param module a module
+	 * @return the version in the path if it is a path to a version of the module, or null
+	 */
+	@Nullable
+	static String versionInPath(String path, Module module) {
+		String prefix = "/" + module.getGroupId().replace('.', '/') + "/" + module.getArtifactId() + "/";
+		int start = path.indexOf(prefix);
+		if (start < 0) {
+			return null;
 		}
+		start += prefix.length();
+		int end = path.indexOf('/', start);
+		return end > start ? path.substring(start, end) : null;
+	}
 
-		JsonNode data = node.findValue("data");
-		List<String> versions = data.findValuesAsText("version");
+	/**
+	 * Request a search API and parse values out of its JSON response as it is received,
+	 * see {@link VersionsJsonParser}.
+	 */
+	private static Mono<Void> fetchValues(HttpClient client, String uri, @Nullable String scope, Set<String> fields,
+			BiConsumer<String, String> values, Runnable objectEnd) {
+		return client.get()
+		             .uri(uri)
+		             .response((r, content) -> {
+			             if (r.status().code() >= 400) {
+				             return content.aggregate()
+				                           .asString()
+				                           .defaultIfEmpty("")
+				                           .flatMap(errorBody -> Mono.<Void>error(new IllegalStateException(
+						                           "Couldn't scrape versions via GET " + uri + ": " + r.status() + " - " + errorBody)));
+			             }
+			             Mono<Void> parsed = Mono.using(() -> new VersionsJsonParser(scope, fields, values, objectEnd),
+					             parser -> content.doOnNext(parser::feed)
+					                              .then()
+					                              .doOnSuccess(done -> parser.end()),
+					             VersionsJsonParser::close);
+			             return parsed;
+		             })
+		             .then();
+	}
 
-		versions.forEach(v -> tryAddVersion(module, v));
+	public static void loadModuleVersionsFromArtifactoryVersionsSearch(String json, Module module) {
+		VersionsJsonParser.parse(json, null, v -> tryAddVersion(module, v));
 	}
 
 	/**
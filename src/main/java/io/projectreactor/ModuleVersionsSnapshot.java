@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2026 VMware Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.projectreactor;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import reactor.util.Logger;
+import reactor.util.Loggers;
+
+/**
+ * A local JSON snapshot of the module versions fetched from the artifact repositories,
+ * so that the application can start serving right away with the versions known at the
+ * last successful fetch, while fresh versions are fetched in the background.
+ * <p>
+ * The snapshot only holds versions: modules themselves (and their bad versions) are
+ * still described by {@code modules.yml}, and saved versions go through the same
+ * filtering as fetched ones when loaded.
+ */
+final class ModuleVersionsSnapshot {
+
+	private static final Logger LOGGER = Loggers.getLogger(ModuleVersionsSnapshot.class);
+
+	static final int FORMAT_VERSION = 1;
+
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+
+	final Path path;
+
+	ModuleVersionsSnapshot(Path path) {
+		this.path = path;
+	}
+
+	/**
+	 * Save the versions of modules, replacing the previous snapshot atomically.
+	 *
+	 * @param modules the modules, by name
+	 * @throws IOException if the snapshot couldn't be written
+	 */
+	void save(Map<String, Module> modules) throws IOException {
+		ObjectNode root = MAPPER.createObjectNode();
+		root.put("format", FORMAT_VERSION);
+		root.put("savedAt", Instant.now().toString());
+		ObjectNode versions = root.putObject("modules");
+		modules.forEach((name, module) -> {
+			ArrayNode moduleVersions = versions.putArray(name);
+			module.getVersions().forEach(moduleVersions::add);
+		});
+
+		Path parent = path.toAbsolutePath().getParent();
+		Files.createDirectories(parent);
+		Path temp = Files.createTempFile(parent, path.getFileName().toString(), ".part");
+		try {
+			MAPPER.writeValue(temp.toFile(), root);
+			Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		}
+		finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	/**
+	 * Load the saved versions into modules. Modules that are not in the snapshot are left
+	 * untouched, and saved modules that are not known anymore are ignored.
+	 *
+	 * @param modules the modules, by name
+	 * @return true if a snapshot was loaded, false if there is none or it is unreadable
+	 */
+	boolean loadInto(Map<String, Module> modules) {
+		if (!Files.isRegularFile(path)) {
+			return false;
+		}
+		try {
+			JsonNode root = MAPPER.readTree(path.toFile());
+			if (root.path("format").asInt() != FORMAT_VERSION) {
+				LOGGER.warn("Ignoring versions snapshot {} of unsupported format {}", path, root.path("format"));
+				return false;
+			}
+			for (Map.Entry<String, JsonNode> entry : root.path("modules").properties()) {
+				Module module = modules.get(entry.getKey());
+				if (module == null) {
+					continue;
+				}
+				entry.getValue().forEach(version -> ModuleUtils.tryAddVersion(module, version.asText()));
+				module.sortAndDeduplicateVersions();
+			}
+			LOGGER.info("Loaded module versions snapshot {} saved at {}", path, root.path("savedAt").asText());
+			return true;
+		}
+		catch (IOException | RuntimeException e) {
+			LOGGER.warn("Ignoring unreadable versions snapshot {}: {}", path, e.toString());
+			return false;
+		}
+	}
+}
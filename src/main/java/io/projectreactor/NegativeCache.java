@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2026 VMware Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.projectreactor;
+
+import java.time.Duration;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import reactor.util.Logger;
+import reactor.util.Loggers;
+import reactor.util.annotation.Nullable;
+
+/**
+ * A bounded cache of documentation requests known to lead nowhere, so that link checkers
+ * and crawlers repeatedly requesting them are answered without resolving modules or
+ * sending a request upstream:
+ * <ul>
+ *     <li>upstream urls that were not found (keyed by the resolved upstream url)</li>
+ *     <li>module and version combinations that couldn't be resolved</li>
+ *     <li>module and version combinations that don't have KDoc</li>
+ * </ul>
+ * Entries expire after a fixed time, so that newly published documentation is
+ * eventually found.
+ */
+final class NegativeCache {
+
+	private static final Logger LOGGER = Loggers.getLogger(NegativeCache.class);
+
+	static final String NOT_FOUND = "";
+
+	private final Cache<String, String> cache;
+
+	NegativeCache(long maxEntries, Duration ttl) {
+		this.cache = Caffeine.newBuilder()
+		                     .maximumSize(maxEntries)
+		                     .expireAfterWrite(ttl)
+		                     .build();
+	}
+
+	/**
+	 * Create a {@link NegativeCache} configured from system properties / environment
+	 * variables.
+	 *
+	 * @return the configured cache, or null if the cache is deactivated
+	 */
+	@Nullable
+	static NegativeCache fromConfig() {
+		int maxEntries = ApplicationUtils.configInt("REACTOR_SITE_NEGATIVE_CACHE_MAX_ENTRIES", 10_000);
+		Duration ttl = Duration.ofMinutes(ApplicationUtils.configInt("REACTOR_SITE_NEGATIVE_CACHE_TTL_MINUTES", 10));
+		if (maxEntries <= 0 || ttl.isZero() || ttl.isNegative()) {
+			LOGGER.info("Negative cache deactivated");
+			return null;
+		}
+		LOGGER.info("Negative cache of {} entries for {}", maxEntries, ttl);
+		return new NegativeCache(maxEntries, ttl);
+	}
+
+	static String moduleKey(String requestedModule, String requestedVersion) {
+		return "module:" + requestedModule + "/" + requestedVersion;
+	}
+
+	static String kdocKey(String requestedModule, String requestedVersion) {
+		return "kdoc:" + requestedModule + "/" + requestedVersion;
+	}
+
+	/**
+	 * @param key an upstream url, or a {@link #moduleKey(String, String)}
+	 * @return true if that url or module is known to be missing
+	 */
+	boolean isMissing(String key) {
+		return cache.getIfPresent(key) != null;
+	}
+
+	/**
+	 * Remember that an upstream url or a module is missing.
+	 *
+	 * @param key an upstream url, or a {@link #moduleKey(String, String)}
+	 */
+	void markMissing(String key) {
+		cache.put(key, NOT_FOUND);
+	}
+
+	/**
+	 * @param requestedModule the module as found in the requested path
+	 * @param requestedVersion the version as found in the requested path
+	 * @return the {@code artifactId:version} of a module and version known to have no
+	 * KDoc, or null
+	 */
+	@Nullable
+	String noKdoc(String requestedModule, String requestedVersion) {
+		return cache.getIfPresent(kdocKey(requestedModule, requestedVersion));
+	}
+
+	/**
+	 * Remember that a module and version have no KDoc.
+	 *
+	 * @param moduleAndVersionInfo the {@code artifactId:version} to display
+	 */
+	void markNoKdoc(String requestedModule, String requestedVersion, String moduleAndVersionInfo) {
+		cache.put(kdocKey(requestedModule, requestedVersion), moduleAndVersionInfo);
+	}
+
+	/**
+	 * Forget every entry, eg. when new versions have been published.
+	 */
+	void invalidateAll() {
+		cache.invalidateAll();
+	}
+
+	long size() {
+		return cache.estimatedSize();
+	}
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2026 VMware Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.projectreactor;
+
+import java.util.concurrent.ThreadFactory;
+
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.Logger;
+import reactor.util.Loggers;
+import reactor.util.annotation.Nullable;
+
+/**
+ * The bounded {@link Scheduler} that blocking or CPU-heavy work of request handlers
+ * (template rendering, reads from the packaged content) is offloaded to, so that event
+ * loops only do I/O and a slow render doesn't delay unrelated responses sharing its
+ * loop.
+ * <p>
+ * It runs on platform threads by default, or on virtual threads when configured so and
+ * running on a JDK that supports them.
+ */
+final class Offloading {
+
+	private static final Logger LOGGER = Loggers.getLogger(Offloading.class);
+
+	static final String NAME = "offload";
+
+	private Offloading() {
+	}
+
+	/**
+	 * Create the offloading {@link Scheduler} configured from system properties /
+	 * environment variables.
+	 *
+	 * @return the scheduler
+	 */
+	static Scheduler fromConfig() {
+		int threads = ApplicationUtils.configInt("REACTOR_SITE_OFFLOAD_THREADS", 2 * Runtime.getRuntime().availableProcessors());
+		int queue = ApplicationUtils.configInt("REACTOR_SITE_OFFLOAD_QUEUE", 10_000);
+		if (ApplicationUtils.configBoolean("REACTOR_SITE_OFFLOAD_VIRTUAL_THREADS", false)) {
+			ThreadFactory virtualThreads = virtualThreadFactory(NAME + "-");
+			if (virtualThreads != null) {
+				LOGGER.info("Offloading blocking work to at most {} virtual threads", threads);
+				return Schedulers.newBoundedElastic(threads, queue, virtualThreads, 60);
+			}
+			LOGGER.warn("Virtual threads are not supported by this JDK, offloading to platform threads");
+		}
+		LOGGER.info("Offloading blocking work to at most {} threads", threads);
+		return Schedulers.newBoundedElastic(threads, queue, NAME, 60, true);
+	}
+
+	/**
+	 * @return a factory of virtual threads, or null if the JDK doesn't support them
+	 */
+	@Nullable
+	static ThreadFactory virtualThreadFactory(String prefix) {
+		//reflective, as the application is compiled for a JDK without virtual threads
+		try {
+			Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+			Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+			builder = builderType.getMethod("name", String.class, long.class).invoke(builder, prefix, 0L);
+			return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+		}
+		catch (ReflectiveOperationException | RuntimeException e) {
+			return null;
+		}
+	}
+}
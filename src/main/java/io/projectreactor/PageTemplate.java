@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2026 VMware Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.projectreactor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+
+/**
+ * A page rendered once with {@link #placeholder(String) placeholders} in place of its
+ * variables, and split into pre-encoded literal parts. Rendering it for a request only
+ * writes the parts and the HTML-escaped values of the variables, which is much cheaper
+ * than processing the template again.
+ * <p>
+ * Variables must only be used as text in the template (eg. with {@code th:text}).
+ */
+final class PageTemplate {
+
+	private final String[] variables;
+	/**
+	 * The literal parts of the page, around the placeholders.
+	 */
+	private final byte[][] parts;
+	/**
+	 * The index of the variable of each placeholder, in order.
+	 */
+	private final int[]    slots;
+	private final int      literalLength;
+
+	private PageTemplate(String[] variables, byte[][] parts, int[] slots) {
+		this.variables = variables;
+		this.parts = parts;
+		this.slots = slots;
+		int length = 0;
+		for (byte[] part : parts) {
+			length += part.length;
+		}
+		this.literalLength = length;
+	}
+
+	/**
+	 * @param variable the name of a variable
+	 * @return the value to render the template with for that variable
+	 */
+	static String placeholder(String variable) {
+		return "__" + variable + "__";
+	}
+
+	/**
+	 * @param rendered the page rendered with {@link #placeholder(String) placeholders}
+	 * @param variables the names of the variables
+	 * @return the page template
+	 */
+	static PageTemplate of(String rendered, String... variables) {
+		List<byte[]> parts = new ArrayList<>();
+		List<Integer> slots = new ArrayList<>();
+		int from = 0;
+		while (true) {
+			int next = -1;
+			int slot = -1;
+			for (int i = 0; i < variables.length; i++) {
+				int index = rendered.indexOf(placeholder(variables[i]), from);
+				if (index >= 0 && (next < 0 || index < next)) {
+					next = index;
+					slot = i;
+				}
+			}
+			if (next < 0) {
+				break;
+			}
+			parts.add(rendered.substring(from, next).getBytes(StandardCharsets.UTF_8));
+			slots.add(slot);
+			from = next + placeholder(variables[slot]).length();
+		}
+		parts.add(rendered.substring(from).getBytes(StandardCharsets.UTF_8));
+		return new PageTemplate(variables.clone(), parts.toArray(new byte[0][]),
+				slots.stream().mapToInt(Integer::intValue).toArray());
+	}
+
+	/**
+	 * Render the page.
+	 *
+	 * @param alloc the allocator of the rendered page
+	 * @param values the values of the variables, in the order of their declaration
+	 * @return the UTF-8 encoded page
+	 */
+	ByteBuf render(ByteBufAllocator alloc, String... values) {
+		if (values.length != variables.length) {
+			throw new IllegalArgumentException("Expected values for " + String.join(", ", variables));
+		}
+		String[] escaped = new String[values.length];
+		int length = literalLength;
+		for (int i = 0; i < values.length; i++) {
+			escaped[i] = escapeHtml(values[i]);
+		}
+		for (int slot : slots) {
+			length += ByteBufUtil.utf8Bytes(escaped[slot]);
+		}
+		ByteBuf page = alloc.buffer(length);
+		for (int i = 0; i < slots.length; i++) {
+			page.writeBytes(parts[i]);
+			ByteBufUtil.writeUtf8(page, escaped[slots[i]]);
+		}
+		return page.writeBytes(parts[slots.length]);
+	}
+
+	static String escapeHtml(String text) {
+		StringBuilder escaped = null;
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			String replacement;
+			switch (c) {
+				case '&':
+					replacement = "&amp;";
+					break;
+				case '<':
+					replacement = "&lt;";
+					break;
+				case '>':
+					replacement = "&gt;";
+					break;
+				case '"':
+					replacement = "&quot;";
+					break;
+				case '\'':
+					replacement = "&#39;";
+					break;
+				default:
+					if (escaped != null) {
+						escaped.append(c);
+					}
+					continue;
+			}
+			if (escaped == null) {
+				escaped = new StringBuilder(text.length() + 16).append(text, 0, i);
+			}
+			escaped.append(replacement);
+		}
+		return escaped == null ? text : escaped.toString();
+	}
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2026 VMware Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.projectreactor;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.Logger;
+import reactor.util.Loggers;
+import reactor.util.retry.Retry;
+
+/**
+ * Periodically computes a value off the event loop (eg. a {@link ModuleCatalog} from
+ * freshly fetched versions) and publishes it. Refreshes are spread with a random jitter
+ * so that several instances don't hit the upstreams at the same time, and failed
+ * refreshes are retried with an exponential backoff, the previously published value
+ * being kept in the meantime.
+ *
+ * @param <T> the type of the refreshed value
+ */
+final class PeriodicRefresher<T> {
+
+	private static final Logger LOGGER = Loggers.getLogger(PeriodicRefresher.class);
+
+	private final String      name;
+	private final Callable<T> refresh;
+	private final Consumer<T> publish;
+	private final Duration    interval;
+	private final Duration    minBackoff;
+	private final double      jitter;
+	private final Scheduler   scheduler;
+
+	/**
+	 * @param name the name of the refreshed value, for logging
+	 * @param refresh computes a fresh value, possibly blocking
+	 * @param publish publishes a fresh value
+	 * @param interval the interval between two successful refreshes
+	 * @param minBackoff the delay before retrying a first failed refresh, doubled for
+	 * each subsequent failure up to the interval
+	 * @param jitter the random jitter applied to delays, as a fraction of the delay
+	 * (eg. 0.1 for plus or minus 10%)
+	 */
+	PeriodicRefresher(String name, Callable<T> refresh, Consumer<T> publish, Duration interval, Duration minBackoff,
+			double jitter) {
+		this(name, refresh, publish, interval, minBackoff, jitter, Schedulers.boundedElastic());
+	}
+
+	PeriodicRefresher(String name, Callable<T> refresh, Consumer<T> publish, Duration interval, Duration minBackoff,
+			double jitter, Scheduler scheduler) {
+		this.name = name;
+		this.refresh = refresh;
+		this.publish = publish;
+		this.interval = interval;
+		this.minBackoff = minBackoff.compareTo(interval) > 0 ? interval : minBackoff;
+		this.jitter = jitter;
+		this.scheduler = scheduler;
+	}
+
+	/**
+	 * Start refreshing.
+	 *
+	 * @param immediately true to refresh right away, false to wait for a first interval
+	 * @return a {@link Disposable} to stop refreshing
+	 */
+	Disposable start(boolean immediately) {
+		Mono<T> refreshed = Mono.fromCallable(refresh)
+		                        .subscribeOn(scheduler)
+		                        .doOnNext(publish)
+		                        .retryWhen(Retry.backoff(Long.MAX_VALUE, minBackoff)
+		                                        .maxBackoff(interval)
+		                                        .jitter(jitter)
+		                                        .doBeforeRetry(signal -> LOGGER.warn("Refresh of {} failed {} time(s), retrying: {}",
+				                                        name, signal.totalRetries() + 1, signal.failure().toString())));
+		return refreshed.repeatWhen(refreshes -> refreshes.concatMap(n -> Mono.delay(jittered(interval), Schedulers.parallel())))
+		                .delaySubscription(immediately ? Duration.ZERO : jittered(interval), Schedulers.parallel())
+		                .subscribe(null, e -> LOGGER.error("Refresh of " + name + " stopped", e));
+	}
+
+	Duration jittered(Duration delay) {
+		if (jitter <= 0) {
+			return delay;
+		}
+		double factor = 1 + ThreadLocalRandom.current().nextDouble(-jitter, jitter);
+		return Duration.ofMillis((long) (delay.toMillis() * factor));
+	}
+}
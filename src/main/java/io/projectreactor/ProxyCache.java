@@ -0,0 +1,462 @@
+/*
+ * Copyright (c) 2026 VMware Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.projectreactor;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.reactivestreams.Publisher;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.util.Logger;
+import reactor.util.Loggers;
+import reactor.util.annotation.Nullable;
+
+/**
+ * A bounded in-memory cache of proxied documentation responses, keyed by the resolved
+ * upstream url. Bodies are stored off-heap in pooled direct {@link ByteBuf}s.
+ * <p>
+ * The cache is bounded by the total size of the bodies it holds, and uses a
+ * frequency-aware eviction policy (Caffeine's W-TinyLFU) so that a crawler going
+ * through every page once doesn't evict the most visited ones. Entries expire according
+ * to the type of the version they document: RELEASE documentation never changes and is
+ * kept much longer than SNAPSHOT or milestone documentation.
+ * <p>
+ * Entries outlive their freshness: for each version type, a {@link Freshness} defines
+ * for how long a stale entry can still be served while it is revalidated in the
+ * background, and for how long it can be served when the upstream fails.
+ * <p>
+ * Compressible bodies are compressed once after being stored, off the event loops, and
+ * the compressed variants are kept alongside the original body and count towards the
+ * size bound. Until then, the original body is served.
+ */
+final class ProxyCache {
+
+	private static final Logger LOGGER = Loggers.getLogger(ProxyCache.class);
+
+	/**
+	 * A rough estimate of the overhead of an entry, including its headers, so that many
+	 * tiny entries still count towards the size bound.
+	 */
+	static final int ENTRY_OVERHEAD = 512;
+
+	private final Cache<String, CachedResponse> cache;
+	private final int                           maxEntryBytes;
+	private final Freshness                     release;
+	private final Freshness                     milestone;
+	private final Freshness                     snapshot;
+	private final Scheduler                     compressor;
+
+	ProxyCache(long maxBytes, int maxEntryBytes, Freshness release, Freshness milestone, Freshness snapshot,
+			Scheduler compressor) {
+		this.maxEntryBytes = maxEntryBytes;
+		this.compressor = compressor;
+		this.release = release;
+		this.milestone = milestone;
+		this.snapshot = snapshot;
+		this.cache = Caffeine.newBuilder()
+		                     //releasing buffers is cheap, no need to do it asynchronously
+		                     .executor(Runnable::run)
+		                     .maximumWeight(maxBytes)
+		                     .weigher((String url, CachedResponse response) -> response.weight())
+		                     .expireAfter(new Expiry<String, CachedResponse>() {
+			                     @Override
+			                     public long expireAfterCreate(String url, CachedResponse response, long currentTime) {
+				                     return freshness(response.versionType).retention().toNanos();
+			                     }
+
+			                     @Override
+			                     public long expireAfterUpdate(String url, CachedResponse response, long currentTime,
+					                     long currentDuration) {
+				                     return freshness(response.versionType).retention().toNanos();
+			                     }
+
+			                     @Override
+			                     public long expireAfterRead(String url, CachedResponse response, long currentTime,
+					                     long currentDuration) {
+				                     return currentDuration;
+			                     }
+		                     })
+		                     .removalListener((String url, CachedResponse response, RemovalCause cause) -> {
+			                     //an entry is replaced by itself when its variants are added
+			                     if (response != null && (cause != RemovalCause.REPLACED || !isCached(url, response))) {
+				                     response.release();
+			                     }
+		                     })
+		                     .build();
+	}
+
+	/**
+	 * Create a {@link ProxyCache} configured from system properties / environment
+	 * variables.
+	 *
+	 * @param maxEntryBytes the maximum size of a cached body
+	 * @param compressor the scheduler compressing the cached bodies
+	 * @return the configured cache, or null if the cache is deactivated
+	 */
+	@Nullable
+	static ProxyCache fromConfig(int maxEntryBytes, Scheduler compressor) {
+		long maxBytes = ApplicationUtils.configInt("REACTOR_SITE_PROXY_CACHE_MAX_MB", 128) * 1024L * 1024L;
+		if (maxBytes <= 0) {
+			LOGGER.info("Proxy cache deactivated");
+			return null;
+		}
+		Freshness release = Freshness.fromConfig("RELEASE", Duration.ofHours(24), Duration.ofDays(7), Duration.ofDays(30));
+		Freshness milestone = Freshness.fromConfig("MILESTONE", Duration.ofHours(1), Duration.ofDays(1), Duration.ofDays(7));
+		Freshness snapshot = Freshness.fromConfig("SNAPSHOT", Duration.ofMinutes(5), Duration.ofHours(1), Duration.ofDays(1));
+		LOGGER.info("Proxy cache of {}MB, release: {}, milestone: {}, snapshot: {}",
+				maxBytes / 1024 / 1024, release, milestone, snapshot);
+		return new ProxyCache(maxBytes, maxEntryBytes, release, milestone, snapshot, compressor);
+	}
+
+	Freshness freshness(String versionType) {
+		switch (versionType) {
+			case "snapshot":
+				return snapshot;
+			case "milestone":
+				return milestone;
+			default:
+				return release;
+		}
+	}
+
+	Duration ttl(String versionType) {
+		return freshness(versionType).ttl;
+	}
+
+	/**
+	 * @param contentLength the length of a body, or -1 if unknown
+	 * @return true if a body of that length can be stored in this cache
+	 */
+	boolean accepts(long contentLength) {
+		return contentLength >= 0 && contentLength <= maxEntryBytes;
+	}
+
+	/**
+	 * @param url the upstream url
+	 * @return the cached response for that url, or null if none
+	 */
+	@Nullable
+	CachedResponse get(String url) {
+		return cache.getIfPresent(url);
+	}
+
+	/**
+	 * Store a response in the cache, which takes ownership of its body. Callers are
+	 * expected to have checked that the response is {@link #accepts(long) acceptable}.
+	 * The entry could be evicted right away, so a retained duplicate of the body is
+	 * returned for the caller to serve. Compressed variants of the body are computed
+	 * afterwards on the compressor scheduler, if relevant, and added to the entry.
+	 *
+	 * @param url the upstream url
+	 * @param response the response to cache, as created by {@link CachedResponse#copyOf(HttpResponseStatus, HttpHeaders, ByteBuf, String)}
+	 * @return a retained duplicate of the response body, that the caller must release
+	 * (eg. by writing it to the response)
+	 */
+	ByteBuf put(String url, CachedResponse response) {
+		ByteBuf body = response.retainedBody();
+		cache.put(url, response);
+		if (response.isCompressible()) {
+			compressor.schedule(() -> {
+				if (response.compress()) {
+					//weighed again with its variants, unless it was evicted or replaced in between
+					cache.asMap().replace(url, response, response);
+				}
+			});
+		}
+		return body;
+	}
+
+	/**
+	 * @param url the upstream url of an entry to remove, if any
+	 */
+	void invalidate(String url) {
+		cache.invalidate(url);
+	}
+
+	private boolean isCached(String url, CachedResponse response) {
+		return cache.getIfPresent(url) == response;
+	}
+
+	void invalidateAll() {
+		cache.invalidateAll();
+	}
+
+	long weightedSize() {
+		return cache.policy()
+		            .eviction()
+		            .map(eviction -> eviction.weightedSize().orElse(0L))
+		            .orElse(0L);
+	}
+
+	void cleanUp() {
+		cache.cleanUp();
+	}
+
+	/**
+	 * The state of a cached response according to its age.
+	 */
+	enum State {
+		/** The response can be served as is. */
+		FRESH,
+		/** The response can be served, but should be revalidated in the background. */
+		STALE,
+		/** The response should be revalidated, but can be served if that fails. */
+		STALE_IF_ERROR,
+		/** The response mustn't be served. */
+		EXPIRED
+	}
+
+	/**
+	 * How long cached responses for a type of version are fresh, and how long they can be
+	 * served once stale (RFC 5861's {@code stale-while-revalidate} and
+	 * {@code stale-if-error}).
+	 */
+	static final class Freshness {
+
+		final Duration ttl;
+		final Duration staleWhileRevalidate;
+		final Duration staleIfError;
+		/**
+		 * How long to wait for the upstream when revalidating a {@link State#STALE_IF_ERROR}
+		 * response, before serving it stale.
+		 */
+		final Duration latencyBudget;
+
+		Freshness(Duration ttl, Duration staleWhileRevalidate, Duration staleIfError, Duration latencyBudget) {
+			this.ttl = ttl;
+			this.staleWhileRevalidate = staleWhileRevalidate;
+			this.staleIfError = staleIfError;
+			this.latencyBudget = latencyBudget;
+		}
+
+		/**
+		 * Read the freshness of a version type from {@code REACTOR_SITE_PROXY_CACHE_<TYPE>_TTL_MINUTES},
+		 * {@code _STALE_WHILE_REVALIDATE_MINUTES}, {@code _STALE_IF_ERROR_MINUTES} and
+		 * {@code _LATENCY_BUDGET_MS}.
+		 */
+		static Freshness fromConfig(String versionType, Duration defaultTtl, Duration defaultStaleWhileRevalidate,
+				Duration defaultStaleIfError) {
+			String prefix = "REACTOR_SITE_PROXY_CACHE_" + versionType + "_";
+			return new Freshness(
+					Duration.ofMinutes(ApplicationUtils.configInt(prefix + "TTL_MINUTES", (int) defaultTtl.toMinutes())),
+					Duration.ofMinutes(ApplicationUtils.configInt(prefix + "STALE_WHILE_REVALIDATE_MINUTES", (int) defaultStaleWhileRevalidate.toMinutes())),
+					Duration.ofMinutes(ApplicationUtils.configInt(prefix + "STALE_IF_ERROR_MINUTES", (int) defaultStaleIfError.toMinutes())),
+					Duration.ofMillis(ApplicationUtils.configInt(prefix + "LATENCY_BUDGET_MS", 2000)));
+		}
+
+		/**
+		 * @return for how long a response is kept in the cache
+		 */
+		Duration retention() {
+			return ttl.plus(staleWhileRevalidate.compareTo(staleIfError) > 0 ? staleWhileRevalidate : staleIfError);
+		}
+
+		State state(long ageMillis) {
+			long ttlMillis = ttl.toMillis();
+			if (ageMillis < ttlMillis) {
+				return State.FRESH;
+			}
+			if (ageMillis < ttlMillis + staleWhileRevalidate.toMillis()) {
+				return State.STALE;
+			}
+			if (ageMillis < ttlMillis + staleIfError.toMillis()) {
+				return State.STALE_IF_ERROR;
+			}
+			return State.EXPIRED;
+		}
+
+		@Override
+		public String toString() {
+			return "ttl=" + ttl + " stale-while-revalidate=" + staleWhileRevalidate
+					+ " stale-if-error=" + staleIfError + " latency-budget=" + latencyBudget;
+		}
+	}
+
+	/**
+	 * A cached response: status, headers and an off-heap body. The body is owned by the
+	 * cache and released when the entry is evicted, so readers must use
+	 * {@link #retainedBody()} which fails gracefully if that already happened.
+	 */
+	static final class CachedResponse {
+
+		final HttpResponseStatus status;
+		final HttpHeaders        headers;
+		final String             versionType;
+		final long               storedAt;
+
+		private final ByteBuf              body;
+		private final Map<String, ByteBuf> variants = new LinkedHashMap<>(2);
+		private boolean                    released;
+		private boolean                    compressed;
+
+		CachedResponse(HttpResponseStatus status, HttpHeaders headers, ByteBuf body, String versionType) {
+			this.status = status;
+			this.headers = headers;
+			this.body = body;
+			this.versionType = versionType;
+			this.storedAt = System.currentTimeMillis();
+		}
+
+		/**
+		 * Create a {@link CachedResponse}, copying the body into a pooled direct buffer.
+		 * The given body isn't released.
+		 */
+		static CachedResponse copyOf(HttpResponseStatus status, HttpHeaders headers, ByteBuf body, String versionType) {
+			ByteBuf copy = PooledByteBufAllocator.DEFAULT.directBuffer(body.readableBytes());
+			copy.writeBytes(body, body.readerIndex(), body.readableBytes());
+			HttpHeaders headersCopy = new DefaultHttpHeaders().set(headers);
+			//hop-by-hop headers are not to be replayed, and the length is known
+			headersCopy.remove(HttpHeaderNames.CONNECTION);
+			headersCopy.remove(HttpHeaderNames.KEEP_ALIVE);
+			headersCopy.remove(HttpHeaderNames.TRANSFER_ENCODING);
+			headersCopy.set(HttpHeaderNames.CONTENT_LENGTH, copy.readableBytes());
+			//a strong validator is needed for conditional requests, computed once here
+			if (!headersCopy.contains(HttpHeaderNames.ETAG)) {
+				headersCopy.set(HttpHeaderNames.ETAG, HttpCachingUtils.etag(copy));
+			}
+			return new CachedResponse(status, headersCopy, copy, versionType);
+		}
+
+		/**
+		 * Aggregate a body, possibly of unknown length (eg. chunked), into a {@link CachedResponse},
+		 * unless it turns out to be bigger than {@code maxBytes}.
+		 *
+		 * @return a {@link Mono} of the response, completing empty if the body is too big
+		 */
+		static Mono<CachedResponse> aggregate(HttpResponseStatus status, HttpHeaders headers, Publisher<ByteBuf> body,
+				int maxBytes, String versionType) {
+			return Mono.using(() -> PooledByteBufAllocator.DEFAULT.compositeDirectBuffer(Integer.MAX_VALUE),
+					aggregate -> Flux.from(body)
+					                 .doOnNext(buf -> aggregate.addComponent(true, buf.retain()))
+					                 .takeUntil(buf -> aggregate.readableBytes() > maxBytes)
+					                 .then(Mono.fromCallable(() -> aggregate.readableBytes() > maxBytes ? null
+							                 : copyOf(status, headers, aggregate, versionType))),
+					ByteBuf::release);
+		}
+
+		int contentLength() {
+			return body.readableBytes();
+		}
+
+		long ageMillis() {
+			return Math.max(0L, System.currentTimeMillis() - storedAt);
+		}
+
+		synchronized int weight() {
+			int weight = body.readableBytes() + ENTRY_OVERHEAD;
+			for (ByteBuf variant : variants.values()) {
+				weight += variant.readableBytes();
+			}
+			return weight;
+		}
+
+		/**
+		 * @return true if this is a successful response with a compressible content
+		 */
+		boolean isCompressible() {
+			return status.code() == 200 && body.readableBytes() >= Compression.MIN_BYTES && Compression.shouldCompress(headers);
+		}
+
+		/**
+		 * Compute the compressed variants of the body (blocking), if it is
+		 * {@link #isCompressible() compressible}. Variants that wouldn't be smaller than the
+		 * body are skipped. The body keeps being served while compressing.
+		 *
+		 * @return true if variants have been added
+		 */
+		boolean compress() {
+			ByteBuf source;
+			synchronized (this) {
+				if (released || compressed || !isCompressible()) {
+					return false;
+				}
+				compressed = true;
+				source = body.retainedDuplicate();
+			}
+			Map<String, ByteBuf> computed = new LinkedHashMap<>(2);
+			try {
+				for (String encoding : Compression.ENCODINGS) {
+					ByteBuf variant = Compression.compress(source, encoding);
+					if (variant != null) {
+						computed.put(encoding, variant);
+					}
+				}
+			}
+			finally {
+				source.release();
+			}
+			synchronized (this) {
+				if (released) {
+					computed.values().forEach(ByteBuf::release);
+					return false;
+				}
+				variants.putAll(computed);
+				return !computed.isEmpty();
+			}
+		}
+
+		/**
+		 * @return a retained duplicate of the body that the caller must release (eg. by
+		 * writing it to the response), or null if the entry has been evicted in between
+		 */
+		@Nullable
+		synchronized ByteBuf retainedBody() {
+			if (released) {
+				return null;
+			}
+			return body.retainedDuplicate();
+		}
+
+		/**
+		 * @param encoding a content encoding, eg. {@link Compression#GZIP}
+		 * @return a retained duplicate of the body compressed with that encoding, that the
+		 * caller must release, or null if there is no such variant or the entry has been
+		 * evicted in between
+		 */
+		@Nullable
+		synchronized ByteBuf retainedVariant(String encoding) {
+			if (released) {
+				return null;
+			}
+			ByteBuf variant = variants.get(encoding);
+			return variant == null ? null : variant.retainedDuplicate();
+		}
+
+		synchronized void release() {
+			if (!released) {
+				released = true;
+				body.release();
+				variants.values().forEach(ByteBuf::release);
+				variants.clear();
+			}
+		}
+	}
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2026 VMware Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.projectreactor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.reactivestreams.Publisher;
+
+import reactor.core.publisher.Mono;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+import reactor.util.annotation.Nullable;
+
+/**
+ * A page rendered once (or a static file read once) and kept as immutable bytes with a
+ * strong {@code ETag}, along with its pre-compressed variants, so that serving it costs
+ * no rendering, encoding, reading nor compression: it is sent with its
+ * {@code Content-Length}, and conditional requests are answered with a
+ * {@code 304 Not Modified}.
+ */
+final class RenderedPage {
+
+	static final String HTML = "text/html; charset=utf-8";
+
+	private final ByteBuf content;
+
+	@Nullable
+	private final String contentType;
+
+	final String etag;
+
+	/**
+	 * The compressed content by encoding, for the encodings that make it smaller.
+	 */
+	private final Map<String, ByteBuf> variants;
+
+	private RenderedPage(ByteBuf content, @Nullable String contentType) {
+		this.content = content;
+		this.contentType = contentType;
+		this.etag = HttpCachingUtils.etag(content);
+		this.variants = Compression.isCompressible(contentType) ? compress(content) : Collections.emptyMap();
+	}
+
+	/**
+	 * @param html the rendered page
+	 * @return the encoded page
+	 */
+	static RenderedPage of(String html) {
+		return new RenderedPage(immutable(html.getBytes(StandardCharsets.UTF_8)), HTML);
+	}
+
+	/**
+	 * @param content the content of a file
+	 * @param contentType the content type of the file, or null if unknown
+	 * @return the file as a page
+	 */
+	static RenderedPage of(byte[] content, @Nullable String contentType) {
+		return new RenderedPage(immutable(content), contentType);
+	}
+
+	private static ByteBuf immutable(byte[] bytes) {
+		//unreleasable, so that sending it doesn't release the shared content
+		return Unpooled.unreleasableBuffer(Unpooled.wrappedBuffer(bytes).asReadOnly());
+	}
+
+	private static Map<String, ByteBuf> compress(ByteBuf content) {
+		if (content.readableBytes() < Compression.MIN_BYTES) {
+			return Collections.emptyMap();
+		}
+		Map<String, ByteBuf> variants = new HashMap<>(Compression.ENCODINGS.size());
+		for (String encoding : Compression.ENCODINGS) {
+			ByteBuf compressed = Compression.compress(content, encoding);
+			if (compressed != null) {
+				//copied out of the pool, as pages can be replaced
+				variants.put(encoding, immutable(ByteBufUtil.getBytes(compressed)));
+				compressed.release();
+			}
+		}
+		return variants;
+	}
+
+	/**
+	 * Send the page with a {@code 200 OK} status.
+	 */
+	Publisher<Void> send(HttpServerRequest req, HttpServerResponse resp) {
+		return send(HttpResponseStatus.OK, req, resp);
+	}
+
+	/**
+	 * Send the page, as the body of an error if the status isn't {@code 200 OK}.
+	 */
+	Publisher<Void> send(HttpResponseStatus status, HttpServerRequest req, HttpServerResponse resp) {
+		resp.status(status);
+		if (contentType != null) {
+			resp.header(HttpHeaderNames.CONTENT_TYPE, contentType);
+		}
+		if (!variants.isEmpty()) {
+			resp.header(HttpHeaderNames.VARY, HttpHeaderNames.ACCEPT_ENCODING);
+		}
+		ByteBuf body = content;
+		String bodyEtag = etag;
+		for (String encoding : Compression.acceptedEncodings(req.requestHeaders().get(HttpHeaderNames.ACCEPT_ENCODING))) {
+			ByteBuf variant = variants.get(encoding);
+			if (variant != null) {
+				body = variant;
+				bodyEtag = Compression.etag(etag, encoding);
+				resp.header(HttpHeaderNames.CONTENT_ENCODING, encoding);
+				break;
+			}
+		}
+		if (status.code() == HttpResponseStatus.OK.code()) {
+			resp.header(HttpHeaderNames.ETAG, bodyEtag);
+			if (HttpCachingUtils.isNotModified(req.requestHeaders(), resp.responseHeaders())) {
+				return resp.status(HttpResponseStatus.NOT_MODIFIED)
+				           .send();
+			}
+		}
+		return resp.header(HttpHeaderNames.CONTENT_LENGTH, String.valueOf(body.readableBytes()))
+		           .send(Mono.just(body.duplicate()));
+	}
+}
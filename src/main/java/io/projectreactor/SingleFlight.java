@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2026 VMware Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.projectreactor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Operators;
+import reactor.core.publisher.Sinks;
+import reactor.util.annotation.Nullable;
+import reactor.util.context.ContextView;
+
+/**
+ * Deduplicates concurrent executions of the same call: while a call for a given key is
+ * in flight, other callers for that key subscribe to the same outcome instead of
+ * triggering the call again.
+ * <p>
+ * The call is subscribed to independently of its callers, so a caller cancelling doesn't
+ * cancel the call for the others (and the result of a call that every caller abandoned
+ * can still be used by the {@code afterDelivery} hook, eg. to populate a cache).
+ * <p>
+ * Each caller gets its own share of the value, computed by the {@code share} function
+ * synchronously upon delivery, before the {@code afterDelivery} hook runs. This allows
+ * sharing reference-counted values: each share retains the value, and the hook releases
+ * or hands over the original reference. Callers that subscribe after the hook has run
+ * get whatever {@code share} returns at that point, and complete empty if it returns null.
+ * The share of a caller that cancels before receiving it is passed to the discard hook of
+ * that caller (see {@link Mono#doOnDiscard(Class, Consumer)}).
+ *
+ * @param <T> the type of value produced by the call
+ */
+final class SingleFlight<T> {
+
+	private final Map<String, Sinks.One<T>> flights = new ConcurrentHashMap<>();
+
+	/**
+	 * Execute the call for the given key, or join the execution that is already in flight
+	 * for that key.
+	 *
+	 * @param key the key identifying the call
+	 * @param call the call, invoked and subscribed only if no call is in flight for that key
+	 * @param share the function producing each caller's share of the value
+	 * @param afterDelivery the hook invoked once with the value, after all callers at that
+	 * point have been given their share
+	 * @param <R> the type of share
+	 * @return a {@link Mono} of the caller's share
+	 */
+	<R> Mono<R> execute(String key, Supplier<? extends Mono<T>> call, Function<? super T, ? extends R> share,
+			Consumer<? super T> afterDelivery) {
+		return Mono.deferContextual(context -> {
+			Sinks.One<T> flight = Sinks.one();
+			Sinks.One<T> inFlight = flights.putIfAbsent(key, flight);
+			if (inFlight != null) {
+				return inFlight.asMono().mapNotNull(share);
+			}
+			//the call could complete before the caller subscribes, so the share of the
+			//caller that triggered the call is computed eagerly
+			Sinks.One<R> leader = Sinks.one();
+			AtomicBoolean leaderCancelled = new AtomicBoolean();
+			//the share until the leader takes it, or it is discarded
+			AtomicReference<R> leaderShare = new AtomicReference<>();
+			call.get()
+			    .subscribe(value -> {
+				               if (!leaderCancelled.get()) {
+					               R leaderValue = share.apply(value);
+					               if (leaderValue == null) {
+						               leader.tryEmitEmpty();
+					               }
+					               else {
+						               leaderShare.set(leaderValue);
+						               //the leader can cancel while the share is emitted
+						               if (leader.tryEmitValue(leaderValue).isFailure() || leaderCancelled.get()) {
+							               discard(leaderShare.getAndSet(null), context);
+						               }
+					               }
+				               }
+				               flight.tryEmitValue(value);
+				               afterDelivery.accept(value);
+				               flights.remove(key, flight);
+			               },
+					    error -> {
+						    flights.remove(key, flight);
+						    leader.tryEmitError(error);
+						    flight.tryEmitError(error);
+					    },
+					    () -> {
+						    if (flights.remove(key, flight)) {
+							    leader.tryEmitEmpty();
+							    flight.tryEmitEmpty();
+						    }
+					    });
+			return leader.asMono()
+			             .flatMap(s -> leaderShare.compareAndSet(s, null) ? Mono.just(s) : Mono.<R>empty())
+			             .doOnCancel(() -> {
+				             leaderCancelled.set(true);
+				             discard(leaderShare.getAndSet(null), context);
+			             });
+		});
+	}
+
+	private static void discard(@Nullable Object share, ContextView context) {
+		if (share != null) {
+			Operators.onDiscard(share, context);
+		}
+	}
+
+	/**
+	 * @return the number of calls currently in flight
+	 */
+	int inFlight() {
+		return flights.size();
+	}
+}
@@ -0,0 +1,452 @@
+/*
+ * Copyright (c) 2026 VMware Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.projectreactor;
+
+import java.net.SocketAddress;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import io.netty.channel.ChannelOption;
+import io.projectreactor.UpstreamStats.Permit;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionPoolMetrics;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.util.Logger;
+import reactor.util.Loggers;
+import reactor.util.annotation.Nullable;
+
+/**
+ * The {@link HttpClient}s used to reach the upstream artifact repositories, each backed
+ * by a dedicated, named {@link ConnectionProvider} so that the pools can be tuned and
+ * observed independently.
+ * <p>
+ * Pools are configured through system properties / environment variables of the form
+ * {@code REACTOR_SITE_UPSTREAM_<KEY>}, which can be overridden for a single upstream with
+ * {@code REACTOR_SITE_UPSTREAM_<NAME>_<KEY>} (eg. {@code REACTOR_SITE_UPSTREAM_SONATYPE_MAX_CONNECTIONS}).
+ * <p>
+ * Resources available in both Sonatype and repo.spring.io (see {@link DocUtils#mirrorUrl(String)})
+ * are requested from the preferred upstream according to {@link UpstreamStats}, and
+ * hedged or failed over to the other one.
+ * <p>
+ * Requests to each upstream go through a {@link ConcurrencyLimiter}, so that a burst of
+ * requests (eg. from a crawler) is queued or shed rather than opening as many
+ * connections, and are bounded by connect, read and response timeouts.
+ */
+final class UpstreamClients {
+
+	private static final Logger LOGGER = Loggers.getLogger(UpstreamClients.class);
+
+	static final String SPRING   = "spring";
+	static final String SONATYPE = "sonatype";
+	static final String DEFAULT  = "default";
+
+	static final String SPRING_HOST   = host(DocUtils.SPRING_REPO);
+	static final String SONATYPE_HOST = host(DocUtils.SONATYPE_REPO);
+
+	private final Map<String, HttpClient>             clients   = new ConcurrentHashMap<>();
+	private final Map<String, ConnectionProvider>     providers = new ConcurrentHashMap<>();
+	private final Map<String, ConnectionPoolMetrics> metrics   = new ConcurrentHashMap<>();
+	private final Map<String, ConcurrencyLimiter>    limiters  = new ConcurrentHashMap<>();
+	private final Map<String, Duration>              responseTimeouts = new ConcurrentHashMap<>();
+	private final UpstreamStats                       stats;
+	private final boolean                             hedging;
+	@Nullable
+	private final Disposable                          metricsLogging;
+
+	UpstreamClients() {
+		this(UpstreamStats.fromConfig(), ApplicationUtils.configBoolean("REACTOR_SITE_UPSTREAM_HEDGING", true));
+	}
+
+	UpstreamClients(UpstreamStats stats, boolean hedging) {
+		this.stats = stats;
+		this.hedging = hedging;
+		register(SPRING);
+		register(SONATYPE);
+		register(DEFAULT);
+
+		Duration metricsInterval = Duration.ofSeconds(ApplicationUtils.configInt("REACTOR_SITE_UPSTREAM_METRICS_LOG_SECONDS", 300));
+		if (metricsInterval.isZero() || metricsInterval.isNegative()) {
+			this.metricsLogging = null;
+		}
+		else {
+			this.metricsLogging = Flux.interval(metricsInterval, Schedulers.parallel())
+			                          .subscribe(tick -> logMetrics());
+		}
+	}
+
+	private void register(String name) {
+		int maxConnections = config(name, "MAX_CONNECTIONS", 100);
+		ConnectionProvider provider =
+				ConnectionProvider.builder("upstream-" + name)
+				                  .maxConnections(maxConnections)
+				                  .pendingAcquireMaxCount(config(name, "PENDING_ACQUIRE_MAX", 1000))
+				                  .pendingAcquireTimeout(Duration.ofMillis(config(name, "PENDING_ACQUIRE_TIMEOUT_MS", 10_000)))
+				                  .maxIdleTime(Duration.ofSeconds(config(name, "MAX_IDLE_SECONDS", 30)))
+				                  .maxLifeTime(Duration.ofSeconds(config(name, "MAX_LIFE_SECONDS", 300)))
+				                  .evictInBackground(Duration.ofSeconds(config(name, "EVICT_INTERVAL_SECONDS", 30)))
+				                  .metrics(true, MetricsRegistrar::new)
+				                  .build();
+
+		HttpClient client = HttpClient.create(provider)
+		                              .keepAlive(true)
+		                              .option(ChannelOption.SO_KEEPALIVE, true)
+		                              .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, config(name, "CONNECT_TIMEOUT_MS", 5_000))
+		                              //maximum time between two reads of a response
+		                              .responseTimeout(Duration.ofMillis(config(name, "READ_TIMEOUT_MS", 10_000)))
+		                              //the concurrency limit adapts to the time to headers, not to the body size
+		                              .doOnResponse((res, conn) -> ConcurrencyLimiter.responseReceived(res.currentContextView()));
+		if (configBoolean(name, "HTTP2", false)) {
+			String baseUrl = baseUrl(name);
+			if (baseUrl == null) {
+				LOGGER.warn("HTTP/2 is not supported for upstream {}, which serves urls of any scheme", name);
+			}
+			else if (baseUrl.startsWith("https://")) {
+				client = client.protocol(HttpProtocol.H2, HttpProtocol.HTTP11)
+				               .secure();
+			}
+			else {
+				//eg. a local mirror
+				client = client.protocol(HttpProtocol.H2C, HttpProtocol.HTTP11);
+			}
+		}
+
+		ConcurrencyLimiter limiter =
+				new ConcurrencyLimiter(name,
+						config(name, "LIMIT_INITIAL", 20),
+						config(name, "LIMIT_MIN", 4),
+						config(name, "LIMIT_MAX", maxConnections),
+						config(name, "LIMIT_QUEUE", 200),
+						Duration.ofMillis(config(name, "LIMIT_QUEUE_TIMEOUT_MS", 5_000)),
+						config(name, "LIMIT_LATENCY_TOLERANCE_PERCENT", 200) / 100d,
+						0.9);
+
+		providers.put(name, provider);
+		clients.put(name, client);
+		limiters.put(name, limiter);
+		//maximum time to receive a complete buffered response
+		responseTimeouts.put(name, Duration.ofMillis(config(name, "RESPONSE_TIMEOUT_MS", 30_000)));
+	}
+
+	static int config(String name, String key, int defaultValue) {
+		return ApplicationUtils.configInt("REACTOR_SITE_UPSTREAM_" + name.toUpperCase(Locale.ROOT) + "_" + key,
+				ApplicationUtils.configInt("REACTOR_SITE_UPSTREAM_" + key, defaultValue));
+	}
+
+	static boolean configBoolean(String name, String key, boolean defaultValue) {
+		return ApplicationUtils.configBoolean("REACTOR_SITE_UPSTREAM_" + name.toUpperCase(Locale.ROOT) + "_" + key,
+				ApplicationUtils.configBoolean("REACTOR_SITE_UPSTREAM_" + key, defaultValue));
+	}
+
+	/**
+	 * @param url a url
+	 * @return the name of the upstream serving that url
+	 */
+	static String upstreamName(String url) {
+		String host = host(url);
+		if (SPRING_HOST.equalsIgnoreCase(host)) {
+			return SPRING;
+		}
+		if (SONATYPE_HOST.equalsIgnoreCase(host)) {
+			return SONATYPE;
+		}
+		return DEFAULT;
+	}
+
+	/**
+	 * @param name the name of an upstream
+	 * @return the base url of the upstream, or null for the {@link #DEFAULT} one
+	 */
+	@Nullable
+	static String baseUrl(String name) {
+		if (SPRING.equals(name)) {
+			return DocUtils.SPRING_REPO;
+		}
+		if (SONATYPE.equals(name)) {
+			return DocUtils.SONATYPE_REPO;
+		}
+		return null;
+	}
+
+	static String host(String url) {
+		int start = url.indexOf("://");
+		start = start < 0 ? 0 : start + 3;
+		int end = start;
+		while (end < url.length() && url.charAt(end) != '/' && url.charAt(end) != ':') {
+			end++;
+		}
+		return url.substring(start, end);
+	}
+
+	/**
+	 * @param name the name of the upstream, eg. {@link #SPRING}
+	 * @return the {@link HttpClient} for that upstream
+	 */
+	HttpClient client(String name) {
+		HttpClient client = clients.get(name);
+		return client == null ? clients.get(DEFAULT) : client;
+	}
+
+	/**
+	 * @param url the url to request
+	 * @return the {@link HttpClient} to use for that url
+	 */
+	HttpClient forUrl(String url) {
+		return client(upstreamName(url));
+	}
+
+	/**
+	 * @return a snapshot of the pool metrics (active, idle and pending connections) per
+	 * pool and remote address
+	 */
+	String metricsSnapshot() {
+		StringBuilder sb = new StringBuilder();
+		metrics.forEach((id, m) -> sb.append(id)
+		                             .append(": active=").append(m.acquiredSize())
+		                             .append(", idle=").append(m.idleSize())
+		                             .append(", allocated=").append(m.allocatedSize()).append('/').append(m.maxAllocatedSize())
+		                             .append(", pending=").append(m.pendingAcquireSize()).append('/').append(m.maxPendingAcquireSize())
+		                             .append('\n'));
+		return sb.toString();
+	}
+
+	void logMetrics() {
+		if (!metrics.isEmpty()) {
+			LOGGER.info("Upstream connection pools:\n{}\nUpstream statistics:\n{}\nUpstream concurrency limits:\n{}",
+					metricsSnapshot(), stats.snapshot(), limitsSnapshot());
+		}
+	}
+
+	/**
+	 * @return a snapshot of the concurrency limit, in-flight and queued requests of each
+	 * upstream
+	 */
+	String limitsSnapshot() {
+		StringBuilder sb = new StringBuilder();
+		limiters.values().forEach(limiter -> sb.append(limiter).append('\n'));
+		return sb.toString();
+	}
+
+	ConcurrencyLimiter limiter(String name) {
+		ConcurrencyLimiter limiter = limiters.get(name);
+		return limiter == null ? limiters.get(DEFAULT) : limiter;
+	}
+
+	/**
+	 * Send a request that isn't routed (eg. a streamed download) within the concurrency
+	 * limit of the upstream of a url.
+	 *
+	 * @param url the url of the resource
+	 * @param request the request
+	 * @param <T> the type of response
+	 * @return a {@link Mono} of the response, or failing with an
+	 * {@link UpstreamOverloadedException} if the upstream is overloaded
+	 */
+	<T> Mono<T> limit(String url, Mono<T> request) {
+		return limiter(upstreamName(url)).limit(request, false);
+	}
+
+	UpstreamStats stats() {
+		return this.stats;
+	}
+
+	/**
+	 * Send a request to the preferred upstream for a url, hedging it with a request for
+	 * the same resource to the mirror upstream (if any) when the first one is slower
+	 * than usual or fails. The first successful response wins and the other request is
+	 * cancelled.
+	 *
+	 * @param url the url of the resource
+	 * @param request the function sending the request for a given url
+	 * @param isFailure tells if a response is a failure (eg. a 5xx), to be discarded in
+	 * favor of the other upstream's response
+	 * @param discard releases a response that is discarded
+	 * @param <T> the type of response
+	 * @return a {@link Mono} of the response
+	 */
+	<T> Mono<T> hedge(String url, Function<String, Mono<T>> request, Predicate<? super T> isFailure,
+			Consumer<? super T> discard) {
+		return route(url, request, isFailure, discard, hedging, true);
+	}
+
+	/**
+	 * Send a request to the preferred upstream for a url, failing over to the mirror
+	 * upstream (if any) if it fails. Used for downloads that are too big to be hedged.
+	 *
+	 * @param url the url of the resource
+	 * @param request the function sending the request for a given url
+	 * @param <T> the type of response
+	 * @return a {@link Mono} of the response
+	 */
+	<T> Mono<T> failover(String url, Function<String, Mono<T>> request) {
+		return route(url, request, response -> false, response -> { }, false, false);
+	}
+
+	/**
+	 * @param buffered true if responses are buffered, in which case they're bounded by
+	 * the response timeout and their latency is measured by the concurrency limiter
+	 */
+	private <T> Mono<T> route(String url, Function<String, Mono<T>> request, Predicate<? super T> isFailure,
+			Consumer<? super T> discard, boolean hedge, boolean buffered) {
+		return Mono.defer(() -> {
+			String mirror = DocUtils.mirrorUrl(url);
+			if (mirror == null) {
+				return measured(url, Permit.GRANTED, request, isFailure, discard, false, buffered).flatMap(Mono::justOrEmpty);
+			}
+			String preferred = stats.preferred(upstreamName(url), upstreamName(mirror));
+			String primary = preferred.equals(upstreamName(url)) ? url : mirror;
+			String secondary = primary.equals(url) ? mirror : url;
+			Permit primaryPermit = stats.tryAcquire(upstreamName(primary));
+			if (primaryPermit == Permit.DENIED) {
+				Permit secondaryPermit = stats.tryAcquire(upstreamName(secondary));
+				if (secondaryPermit != Permit.DENIED) {
+					return measured(secondary, secondaryPermit, request, isFailure, discard, false, buffered).flatMap(Mono::justOrEmpty);
+				}
+				//every upstream is out of rotation, still try the preferred one
+				return measured(primary, Permit.GRANTED, request, isFailure, discard, false, buffered).flatMap(Mono::justOrEmpty);
+			}
+
+			if (!hedge) {
+				return measured(primary, primaryPermit, request, isFailure, discard, true, buffered)
+						.onErrorResume(e -> {
+							Permit secondaryPermit = stats.tryAcquire(upstreamName(secondary));
+							if (secondaryPermit == Permit.DENIED) {
+								return Mono.error(e);
+							}
+							LOGGER.debug("Failing over from {} to {}: {}", primary, secondary, e.toString());
+							return measured(secondary, secondaryPermit, request, isFailure, discard, false, buffered);
+						})
+						.flatMap(Mono::justOrEmpty);
+			}
+
+			//the hedged request is sent after the usual latency of the primary upstream,
+			//or as soon as the primary request fails
+			Sinks.Empty<Void> primaryFailed = Sinks.empty();
+			Mono<Optional<T>> first = measured(primary, primaryPermit, request, isFailure, discard, true, buffered)
+					.doOnError(e -> primaryFailed.tryEmitEmpty());
+			Mono<Optional<T>> second = Mono.firstWithSignal(Mono.delay(stats.hedgeDelay(upstreamName(primary))).then(),
+					                               primaryFailed.asMono())
+			                               .then(Mono.defer(() -> {
+				                               Permit secondaryPermit = stats.tryAcquire(upstreamName(secondary));
+				                               if (secondaryPermit == Permit.DENIED) {
+					                               return Mono.<Optional<T>>error(new IllegalStateException("Upstream " + upstreamName(secondary) + " is out of rotation"));
+				                               }
+				                               LOGGER.debug("Hedging {} with {}", primary, secondary);
+				                               return measured(secondary, secondaryPermit, request, isFailure, discard, true, buffered);
+			                               }));
+			return Mono.firstWithValue(first, second)
+			           .doOnDiscard(Optional.class, response -> discardOptional(response, discard))
+			           .flatMap(Mono::justOrEmpty);
+		});
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> void discardOptional(Optional<?> response, Consumer<? super T> discard) {
+		response.ifPresent(r -> discard.accept((T) r));
+	}
+
+	/**
+	 * Send a request, recording its outcome and its time to response headers in the
+	 * {@link UpstreamStats}. Completing empty
+	 * is a valid outcome, so the response is wrapped in an {@link Optional}. Errors that
+	 * say nothing about the upstream's health (eg. a 404 or a checksum mismatch, see
+	 * {@link UpstreamResponseException}) aren't recorded as failures.
+	 *
+	 * @param permit the permit the request is sent with
+	 * @param failureAsError true to turn a failed response into an error, so that it
+	 * doesn't win a race against the other upstream
+	 * @param buffered true to bound the request with the response timeout
+	 */
+	private <T> Mono<Optional<T>> measured(String url, Permit permit, Function<String, Mono<T>> request,
+			Predicate<? super T> isFailure, Consumer<? super T> discard, boolean failureAsError, boolean buffered) {
+		String upstream = upstreamName(url);
+		return Mono.defer(() -> {
+			long start = System.nanoTime();
+			//the time to response headers once admitted by the limiter, so that neither
+			//the wait for a permit nor the size of the body make the upstream look slow
+			AtomicLong latency = new AtomicLong(-1);
+			Mono<T> sent = Mono.deferContextual(context -> request.apply(url)
+			                                                      .doOnSuccess(response -> latency.set(ConcurrencyLimiter.latency(context))));
+			Mono<T> limited = buffered
+					? limiter(upstream).limit(sent.timeout(responseTimeouts.get(upstream)), true)
+					: limiter(upstream).limit(sent, false);
+			return limited.map(Optional::of)
+			              .defaultIfEmpty(Optional.empty())
+			              .doOnCancel(() -> stats.recordCancel(upstream, permit))
+			              .doOnError(e -> {
+				              //a request that wasn't sent, or that failed because of the
+				              //resource, says nothing about the upstream's health
+				              if (e instanceof UpstreamOverloadedException || !UpstreamResponseException.isUpstreamFailure(e)) {
+					              stats.recordCancel(upstream, permit);
+				              }
+				              else {
+					              stats.recordFailure(upstream, permit);
+				              }
+			              })
+			              .flatMap(response -> {
+				              if (response.isPresent() && isFailure.test(response.get())) {
+					              stats.recordFailure(upstream, permit);
+					              if (failureAsError) {
+						              discard.accept(response.get());
+						              return Mono.<Optional<T>>error(new IllegalStateException("Failed response from " + url));
+					              }
+					              return Mono.just(response);
+				              }
+				              stats.recordSuccess(upstream, latency.get() >= 0 ? latency.get() : System.nanoTime() - start);
+				              return Mono.just(response);
+			              });
+		});
+	}
+
+	void dispose() {
+		if (metricsLogging != null) {
+			metricsLogging.dispose();
+		}
+		providers.values().forEach(ConnectionProvider::dispose);
+	}
+
+	/**
+	 * Keeps track of the {@link ConnectionPoolMetrics} of each pool (one per remote
+	 * address) without requiring a metrics library.
+	 */
+	final class MetricsRegistrar implements ConnectionProvider.MeterRegistrar {
+
+		@Override
+		public void registerMetrics(String poolName, String id, SocketAddress remoteAddress,
+				ConnectionPoolMetrics poolMetrics) {
+			metrics.put(poolName + "[" + remoteAddress + "]", poolMetrics);
+		}
+
+		@Override
+		public void deRegisterMetrics(String poolName, String id, SocketAddress remoteAddress) {
+			metrics.remove(poolName + "[" + remoteAddress + "]");
+		}
+	}
+}
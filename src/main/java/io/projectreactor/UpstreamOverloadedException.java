@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2026 VMware Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.projectreactor;
+
+import java.time.Duration;
+
+import reactor.util.annotation.Nullable;
+
+/**
+ * Signals that a request wasn't sent to an upstream because too many requests are
+ * already in flight or waiting for it (see {@link ConcurrencyLimiter}).
+ */
+final class UpstreamOverloadedException extends RuntimeException {
+
+	final Duration retryAfter;
+
+	UpstreamOverloadedException(String upstream, Duration retryAfter) {
+		super("Too many concurrent requests to upstream " + upstream, null, false, false);
+		this.retryAfter = retryAfter;
+	}
+
+	/**
+	 * Find an {@link UpstreamOverloadedException} in an error, which can be the
+	 * suppressed error of a composite failure (eg. when a request and its hedge were
+	 * both rejected).
+	 *
+	 * @param error an error
+	 * @return the {@link UpstreamOverloadedException}, or null if the error isn't caused
+	 * by an overloaded upstream
+	 */
+	@Nullable
+	static UpstreamOverloadedException find(Throwable error) {
+		if (error instanceof UpstreamOverloadedException) {
+			return (UpstreamOverloadedException) error;
+		}
+		for (Throwable suppressed : error.getSuppressed()) {
+			if (suppressed instanceof UpstreamOverloadedException) {
+				return (UpstreamOverloadedException) suppressed;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @return the {@code Retry-After} header value, in seconds
+	 */
+	String retryAfterSeconds() {
+		return String.valueOf(Math.max(1, (retryAfter.toMillis() + 999) / 1000));
+	}
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2026 VMware Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.projectreactor;
+
+import java.io.IOException;
+
+import reactor.core.Exceptions;
+
+/**
+ * Signals that an upstream answered, but not with the expected resource: an unexpected
+ * status, or content that doesn't match its checksum. Only a 5xx status tells that the
+ * upstream itself is unhealthy; the other cases are about the resource, and must not
+ * take the upstream out of rotation (see {@link UpstreamStats}).
+ */
+final class UpstreamResponseException extends IOException {
+
+	/**
+	 * The status of a response with invalid content.
+	 */
+	static final int INVALID_CONTENT = -1;
+
+	final int status;
+
+	UpstreamResponseException(int status, String message) {
+		super(message);
+		this.status = status;
+	}
+
+	/**
+	 * @param error an error of a request to an upstream
+	 * @return true if the error tells that the upstream is unhealthy, ie. it isn't an
+	 * {@link UpstreamResponseException} for a status other than 5xx
+	 */
+	static boolean isUpstreamFailure(Throwable error) {
+		Throwable unwrapped = Exceptions.unwrap(error);
+		if (unwrapped instanceof UpstreamResponseException) {
+			return ((UpstreamResponseException) unwrapped).status >= 500;
+		}
+		return true;
+	}
+}
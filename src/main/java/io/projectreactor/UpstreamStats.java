@@ -0,0 +1,285 @@
+/*
+ * Copyright (c) 2026 VMware Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.projectreactor;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Latency and error statistics of the upstream repositories, used to pick the fastest
+ * healthy one, to decide when to hedge a request and to take a failing upstream out of
+ * rotation with a circuit breaker.
+ * <p>
+ * Latencies are kept in a sliding window of the most recent successful requests, whose
+ * percentiles are refreshed every few samples rather than on every lookup. The
+ * circuit of an upstream opens after a number of consecutive failures, and after a while
+ * lets a single trial request through (half-open): the circuit closes again if it
+ * succeeds, and stays open otherwise.
+ */
+final class UpstreamStats {
+
+	/**
+	 * The minimum number of samples before latency percentiles are trusted.
+	 */
+	static final int MIN_SAMPLES = 10;
+
+	private final int          windowSize;
+	private final int          failureThreshold;
+	private final Duration     openDuration;
+	private final double       hedgePercentile;
+	private final Duration     defaultHedgeDelay;
+	private final Duration     minHedgeDelay;
+	private final LongSupplier nanoClock;
+
+	private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+
+	UpstreamStats(int windowSize, int failureThreshold, Duration openDuration, double hedgePercentile,
+			Duration defaultHedgeDelay, Duration minHedgeDelay, LongSupplier nanoClock) {
+		this.windowSize = windowSize;
+		this.failureThreshold = failureThreshold;
+		this.openDuration = openDuration;
+		this.hedgePercentile = hedgePercentile;
+		this.defaultHedgeDelay = defaultHedgeDelay;
+		this.minHedgeDelay = minHedgeDelay;
+		this.nanoClock = nanoClock;
+	}
+
+	static UpstreamStats fromConfig() {
+		return new UpstreamStats(
+				ApplicationUtils.configInt("REACTOR_SITE_UPSTREAM_STATS_WINDOW", 200),
+				ApplicationUtils.configInt("REACTOR_SITE_UPSTREAM_BREAKER_FAILURES", 5),
+				Duration.ofSeconds(ApplicationUtils.configInt("REACTOR_SITE_UPSTREAM_BREAKER_OPEN_SECONDS", 30)),
+				ApplicationUtils.configInt("REACTOR_SITE_UPSTREAM_HEDGE_PERCENTILE", 95),
+				Duration.ofMillis(ApplicationUtils.configInt("REACTOR_SITE_UPSTREAM_HEDGE_DEFAULT_DELAY_MS", 500)),
+				Duration.ofMillis(ApplicationUtils.configInt("REACTOR_SITE_UPSTREAM_HEDGE_MIN_DELAY_MS", 50)),
+				System::nanoTime);
+	}
+
+	private Stats stats(String upstream) {
+		return stats.computeIfAbsent(upstream, k -> new Stats(windowSize));
+	}
+
+	void recordSuccess(String upstream, long latencyNanos) {
+		stats(upstream).success(latencyNanos);
+	}
+
+	/**
+	 * @param upstream the upstream name
+	 * @param permit the permit the request was sent with
+	 */
+	void recordFailure(String upstream, Permit permit) {
+		stats(upstream).failure(nanoClock.getAsLong(), failureThreshold, permit == Permit.TRIAL);
+	}
+
+	/**
+	 * Record that a request was cancelled before completing (eg. it lost a hedge) or
+	 * failed for a reason unrelated to the upstream's health, which is neither a success
+	 * nor a failure but frees the trial slot of a half-open circuit if it was the trial
+	 * request.
+	 *
+	 * @param upstream the upstream name
+	 * @param permit the permit the request was sent with
+	 */
+	void recordCancel(String upstream, Permit permit) {
+		if (permit == Permit.TRIAL) {
+			stats(upstream).cancelTrial();
+		}
+	}
+
+	/**
+	 * Check if a request can be sent to an upstream, ie. its circuit is closed or it is
+	 * half-open and no trial request is in flight. In the later case, the caller's request
+	 * becomes the trial request, and its outcome must be recorded with the returned
+	 * {@link Permit#TRIAL}.
+	 *
+	 * @param upstream the upstream name
+	 * @return the permit to send a request, or {@link Permit#DENIED}
+	 */
+	Permit tryAcquire(String upstream) {
+		return stats(upstream).tryAcquire(nanoClock.getAsLong(), openDuration.toNanos());
+	}
+
+	boolean isOpen(String upstream) {
+		return stats(upstream).isOpen();
+	}
+
+	/**
+	 * @param upstream the upstream name
+	 * @param percentile the percentile, between 0 and 100
+	 * @return the latency percentile in nanoseconds, or -1 if there aren't enough samples
+	 */
+	long latencyPercentile(String upstream, double percentile) {
+		return stats(upstream).percentile(percentile);
+	}
+
+	/**
+	 * @param upstream the upstream a request is sent to
+	 * @return how long to wait for that upstream before hedging the request
+	 */
+	Duration hedgeDelay(String upstream) {
+		long percentile = latencyPercentile(upstream, hedgePercentile);
+		if (percentile < 0) {
+			return defaultHedgeDelay;
+		}
+		Duration delay = Duration.ofNanos(percentile);
+		return delay.compareTo(minHedgeDelay) < 0 ? minHedgeDelay : delay;
+	}
+
+	/**
+	 * Choose between two upstreams: a healthy one rather than one with an open circuit,
+	 * then the one with the lowest median latency, favoring the first one when in doubt.
+	 *
+	 * @param first the default upstream
+	 * @param second the alternative upstream
+	 * @return the preferred upstream
+	 */
+	String preferred(String first, String second) {
+		boolean firstOpen = isOpen(first);
+		if (firstOpen != isOpen(second)) {
+			return firstOpen ? second : first;
+		}
+		long firstMedian = latencyPercentile(first, 50);
+		long secondMedian = latencyPercentile(second, 50);
+		if (firstMedian < 0 || secondMedian < 0) {
+			return first;
+		}
+		return secondMedian < firstMedian ? second : first;
+	}
+
+	/**
+	 * @return a human-readable summary of the statistics of each upstream
+	 */
+	String snapshot() {
+		StringBuilder sb = new StringBuilder();
+		stats.forEach((upstream, s) -> sb.append(upstream).append(": ").append(s).append('\n'));
+		return sb.toString();
+	}
+
+	/**
+	 * The outcome of {@link #tryAcquire(String)}.
+	 */
+	enum Permit {
+
+		/**
+		 * The circuit of the upstream is open, the request shouldn't be sent.
+		 */
+		DENIED,
+
+		/**
+		 * The circuit of the upstream is closed.
+		 */
+		GRANTED,
+
+		/**
+		 * The circuit of the upstream is half-open and the request is its trial request.
+		 */
+		TRIAL
+	}
+
+	static final class Stats {
+
+		private final long[] latencies;
+		private int          samples;
+		private int          next;
+		private long         successes;
+		private long         failures;
+		private int          consecutiveFailures;
+		private boolean      open;
+		private long         openedAt;
+		private boolean      trialInFlight;
+
+		//sorted copy of the window, refreshed once enough new samples came in rather
+		//than on every lookup
+		private long[]       sorted;
+		private int          unsortedSamples;
+
+		Stats(int windowSize) {
+			this.latencies = new long[Math.max(1, windowSize)];
+		}
+
+		synchronized void success(long latencyNanos) {
+			latencies[next] = latencyNanos;
+			next = (next + 1) % latencies.length;
+			samples = Math.min(samples + 1, latencies.length);
+			unsortedSamples++;
+			successes++;
+			consecutiveFailures = 0;
+			open = false;
+			trialInFlight = false;
+		}
+
+		synchronized void failure(long now, int failureThreshold, boolean trial) {
+			failures++;
+			consecutiveFailures++;
+			if (trial && trialInFlight) {
+				open = true;
+				openedAt = now;
+				trialInFlight = false;
+			}
+			else if (!open && consecutiveFailures >= failureThreshold) {
+				open = true;
+				openedAt = now;
+			}
+		}
+
+		synchronized void cancelTrial() {
+			trialInFlight = false;
+		}
+
+		synchronized Permit tryAcquire(long now, long openNanos) {
+			if (!open) {
+				return Permit.GRANTED;
+			}
+			if (trialInFlight || now - openedAt < openNanos) {
+				return Permit.DENIED;
+			}
+			trialInFlight = true;
+			return Permit.TRIAL;
+		}
+
+		synchronized boolean isOpen() {
+			return open;
+		}
+
+		synchronized long percentile(double percentile) {
+			if (samples < MIN_SAMPLES) {
+				return -1;
+			}
+			if (sorted == null || unsortedSamples > latencies.length / 20) {
+				sorted = Arrays.copyOf(latencies, samples);
+				Arrays.sort(sorted);
+				unsortedSamples = 0;
+			}
+			int index = (int) Math.ceil(percentile / 100d * sorted.length) - 1;
+			return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+		}
+
+		@Override
+		public synchronized String toString() {
+			long median = percentile(50);
+			long p95 = percentile(95);
+			return "successes=" + successes + ", failures=" + failures
+					+ ", p50=" + (median < 0 ? "n/a" : TimeUnit.NANOSECONDS.toMillis(median) + "ms")
+					+ ", p95=" + (p95 < 0 ? "n/a" : TimeUnit.NANOSECONDS.toMillis(p95) + "ms")
+					+ ", circuit=" + (open ? (trialInFlight ? "half-open" : "open") : "closed");
+		}
+	}
+}
@@ -0,0 +1,251 @@
+/*
+ * Copyright (c) 2026 VMware Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.projectreactor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.Logger;
+import reactor.util.Loggers;
+import reactor.util.annotation.Nullable;
+import reactor.util.retry.Retry;
+
+/**
+ * Scrapes the versions of modules from several sources (eg. Artifactory and Sonatype)
+ * concurrently: every module of every source is requested at the same time, each request
+ * being bounded by a timeout and retried with a backoff, and the whole scraping being
+ * bounded by a deadline. Whatever was scraped by then is kept, so that scraping takes as
+ * long as the slowest single request and a slow or unavailable source doesn't prevent
+ * the others from being used.
+ * <p>
+ * Sources only return versions: they are added to modules once everything is scraped,
+ * from the calling thread. Sources either request the versions of one module at a time,
+ * or of all modules at once with as few requests as possible (batch sources).
+ */
+final class VersionScraper {
+
+	private static final Logger LOGGER = Loggers.getLogger(VersionScraper.class);
+
+	private final Map<String, Function<Module, Mono<List<String>>>> sources = new LinkedHashMap<>();
+	private final Map<String, Function<Collection<Module>, Mono<Map<String, List<String>>>>> batchSources =
+			new LinkedHashMap<>();
+	private final Duration timeout;
+	private final Duration deadline;
+	private final int      maxRetries;
+	private final Duration minBackoff;
+
+	/**
+	 * @param timeout the timeout of a single request
+	 * @param deadline the maximum duration of the whole scraping
+	 * @param maxRetries the maximum number of retries of a failed request
+	 * @param minBackoff the delay before the first retry, doubled for each subsequent one
+	 */
+	VersionScraper(Duration timeout, Duration deadline, int maxRetries, Duration minBackoff) {
+		this.timeout = timeout;
+		this.deadline = deadline;
+		this.maxRetries = maxRetries;
+		this.minBackoff = minBackoff;
+	}
+
+	/**
+	 * Create a {@link VersionScraper} configured from system properties / environment
+	 * variables.
+	 *
+	 * @return the configured scraper, without sources
+	 */
+	static VersionScraper fromConfig() {
+		return new VersionScraper(Duration.ofMillis(ApplicationUtils.configInt("REACTOR_SITE_VERSIONS_TIMEOUT_MS", 10_000)),
+				Duration.ofMillis(ApplicationUtils.configInt("REACTOR_SITE_VERSIONS_DEADLINE_MS", 30_000)),
+				ApplicationUtils.configInt("REACTOR_SITE_VERSIONS_RETRIES", 2),
+				Duration.ofMillis(200));
+	}
+
+	/**
+	 * Add a source of versions.
+	 *
+	 * @param name the name of the source, for reporting
+	 * @param versions requests the raw versions of a module from that source
+	 * @return this scraper
+	 */
+	VersionScraper source(String name, Function<Module, Mono<List<String>>> versions) {
+		sources.put(name, versions);
+		return this;
+	}
+
+	/**
+	 * Add a source of versions requesting the versions of all modules at once. The
+	 * timeout and retries apply to the whole batch, and modules for which the batch holds
+	 * no version are considered scraped.
+	 *
+	 * @param name the name of the source, for reporting
+	 * @param versions requests the raw versions of modules from that source, by module name
+	 * @return this scraper
+	 */
+	VersionScraper batchSource(String name, Function<Collection<Module>, Mono<Map<String, List<String>>>> versions) {
+		batchSources.put(name, versions);
+		return this;
+	}
+
+	/**
+	 * Scrape the versions of modules from all sources, and add them to the modules
+	 * (blocking).
+	 *
+	 * @param modules the modules to scrape
+	 * @return the report of what was scraped and what was missed
+	 */
+	Report scrape(Collection<Module> modules) {
+		long start = System.currentTimeMillis();
+		Flux<Scraped> single = Flux.fromIterable(sources.entrySet())
+		                           .flatMap(source -> Flux.fromIterable(modules)
+		                                                  .flatMap(module -> scrape(source.getKey(), source.getValue(), module)));
+		Flux<Scraped> batched = Flux.fromIterable(batchSources.entrySet())
+		                            .flatMap(source -> scrapeBatch(source.getKey(), source.getValue(), modules));
+		List<Scraped> results = Flux.merge(single, batched)
+		                            .take(deadline, Schedulers.parallel())
+		                            .collectList()
+		                            .block();
+
+		Map<String, String> missed = new LinkedHashMap<>();
+		List<String> sourceNames = new ArrayList<>(sources.keySet());
+		sourceNames.addAll(batchSources.keySet());
+		for (String source : sourceNames) {
+			for (Module module : modules) {
+				missed.put(key(module, source), "deadline of " + deadline.toMillis() + "ms exceeded");
+			}
+		}
+		List<String> scraped = new ArrayList<>();
+		for (Scraped result : results) {
+			String key = key(result.module, result.source);
+			if (result.versions == null) {
+				missed.put(key, result.failure);
+				continue;
+			}
+			missed.remove(key);
+			scraped.add(key);
+			result.versions.forEach(v -> ModuleUtils.tryAddVersion(result.module, v));
+		}
+		modules.forEach(Module::sortAndDeduplicateVersions);
+
+		Report report = new Report(scraped, missed, System.currentTimeMillis() - start);
+		if (report.isComplete()) {
+			LOGGER.info("Scraped versions of {} module sources in {}ms", scraped.size(), report.durationMillis);
+		}
+		else {
+			LOGGER.warn("Scraped versions of {}/{} module sources in {}ms, missed: {}", scraped.size(),
+					scraped.size() + missed.size(), report.durationMillis, missed);
+		}
+		return report;
+	}
+
+	private Mono<Scraped> scrape(String source, Function<Module, Mono<List<String>>> versions, Module module) {
+		return Mono.defer(() -> versions.apply(module))
+		           .timeout(timeout, Schedulers.parallel())
+		           .retryWhen(Retry.backoff(maxRetries, minBackoff)
+		                           .doBeforeRetry(signal -> LOGGER.debug("Retrying versions of {} from {}: {}",
+				                           module.getName(), source, signal.failure().toString())))
+		           .defaultIfEmpty(Collections.emptyList())
+		           .map(v -> new Scraped(source, module, v, null))
+		           .onErrorResume(e -> Mono.just(new Scraped(source, module, null, describe(e))));
+	}
+
+	private Flux<Scraped> scrapeBatch(String source, Function<Collection<Module>, Mono<Map<String, List<String>>>> versions,
+			Collection<Module> modules) {
+		return Mono.defer(() -> versions.apply(modules))
+		           .timeout(timeout, Schedulers.parallel())
+		           .retryWhen(Retry.backoff(maxRetries, minBackoff)
+		                           .doBeforeRetry(signal -> LOGGER.debug("Retrying versions from {}: {}",
+				                           source, signal.failure().toString())))
+		           .defaultIfEmpty(Collections.emptyMap())
+		           .flatMapIterable(found -> {
+			           List<Scraped> scraped = new ArrayList<>(modules.size());
+			           for (Module module : modules) {
+				           scraped.add(new Scraped(source, module, found.getOrDefault(module.getName(), Collections.emptyList()), null));
+			           }
+			           return scraped;
+		           })
+		           .onErrorResume(e -> Flux.fromIterable(modules)
+		                                   .map(module -> new Scraped(source, module, null, describe(e))));
+	}
+
+	private String describe(Throwable e) {
+		Throwable cause = Exceptions.isRetryExhausted(e) && e.getCause() != null ? e.getCause() : e;
+		if (cause instanceof TimeoutException) {
+			return "timed out after " + timeout.toMillis() + "ms";
+		}
+		return cause.toString();
+	}
+
+	static String key(Module module, String source) {
+		return module.getName() + "@" + source;
+	}
+
+	private static final class Scraped {
+
+		final String       source;
+		final Module       module;
+		@Nullable
+		final List<String> versions;
+		@Nullable
+		final String       failure;
+
+		Scraped(String source, Module module, @Nullable List<String> versions, @Nullable String failure) {
+			this.source = source;
+			this.module = module;
+			this.versions = versions;
+			this.failure = failure;
+		}
+	}
+
+	/**
+	 * The outcome of a scraping, keyed by {@code module@source}.
+	 */
+	static final class Report {
+
+		final List<String>        scraped;
+		final Map<String, String> missed;
+		final long                durationMillis;
+
+		Report(List<String> scraped, Map<String, String> missed, long durationMillis) {
+			this.scraped = Collections.unmodifiableList(scraped);
+			this.missed = Collections.unmodifiableMap(missed);
+			this.durationMillis = durationMillis;
+		}
+
+		/**
+		 * @return true if the versions of every module were scraped from every source
+		 */
+		boolean isComplete() {
+			return missed.isEmpty();
+		}
+
+		@Override
+		public String toString() {
+			return "scraped " + scraped + ", missed " + missed + " in " + durationMillis + "ms";
+		}
+	}
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2026 VMware Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.projectreactor;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+import reactor.core.Exceptions;
+import reactor.util.annotation.Nullable;
+
+/**
+ * An incremental parser of the JSON responses of the repository search APIs, emitting
+ * the values of {@code version} fields (or of other given fields) as soon as they are
+ * found. Chunks of the response are fed as they are received, so neither the whole
+ * response nor a tree of it is ever held in memory.
+ * <p>
+ * Like {@link com.fasterxml.jackson.databind.JsonNode#findValuesAsText(String)}, versions
+ * are looked for at any depth, optionally only within the value of the first field with
+ * a given name (eg. {@code data} for Sonatype). The end of each object holding emitted
+ * values can also be notified, to group the values of an entry together. A parser is
+ * not thread-safe and parses a single response.
+ */
+final class VersionsJsonParser implements AutoCloseable {
+
+	/**
+	 * Thread-safe, and costly to create: shared by all parsers.
+	 */
+	static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+	private final JsonParser                 parser;
+	private final ByteBufferFeeder           feeder;
+	@Nullable
+	private final String                     scope;
+	private final Set<String>                fields;
+	private final BiConsumer<String, String> values;
+	private final Runnable                   objectEnd;
+
+	private int     depth;
+	private int     valuesDepth = -1;
+	private int     scopeDepth = -1;
+	private boolean scopeNext;
+	private boolean scopeDone;
+
+	/**
+	 * @param scope the name of the field to look for versions in, or null to look
+	 * everywhere
+	 * @param versions receives versions as they are found
+	 */
+	VersionsJsonParser(@Nullable String scope, Consumer<String> versions) {
+		this(scope, Set.of("version"), (field, version) -> versions.accept(version));
+	}
+
+	/**
+	 * @param scope the name of the field to look for values in, or null to look
+	 * everywhere
+	 * @param fields the names of the fields to emit the scalar values of
+	 * @param values receives field names and values as they are found, in document order
+	 */
+	VersionsJsonParser(@Nullable String scope, Set<String> fields, BiConsumer<String, String> values) {
+		this(scope, fields, values, () -> { });
+	}
+
+	/**
+	 * @param scope the name of the field to look for values in, or null to look
+	 * everywhere
+	 * @param fields the names of the fields to emit the scalar values of
+	 * @param values receives field names and values as they are found, in document order
+	 * @param objectEnd notified at the end of each object that directly held emitted values
+	 */
+	VersionsJsonParser(@Nullable String scope, Set<String> fields, BiConsumer<String, String> values,
+			Runnable objectEnd) {
+		try {
+			this.parser = JSON_FACTORY.createNonBlockingByteBufferParser();
+		}
+		catch (IOException e) {
+			throw Exceptions.propagate(e);
+		}
+		this.feeder = (ByteBufferFeeder) parser.getNonBlockingInputFeeder();
+		this.scope = scope;
+		this.fields = fields;
+		this.values = values;
+		this.objectEnd = objectEnd;
+	}
+
+	/**
+	 * Parse a whole JSON document at once.
+	 *
+	 * @param json the JSON document
+	 * @param scope the name of the field to look for versions in, or null
+	 * @param versions receives versions as they are found
+	 */
+	static void parse(String json, @Nullable String scope, Consumer<String> versions) {
+		try (VersionsJsonParser parser = new VersionsJsonParser(scope, versions)) {
+			parser.feed(Unpooled.wrappedBuffer(json.getBytes(StandardCharsets.UTF_8)));
+			parser.end();
+		}
+	}
+
+	/**
+	 * Parse the next chunk of the document. The chunk is entirely consumed, and can be
+	 * released once this returns.
+	 *
+	 * @param chunk the next chunk
+	 */
+	void feed(ByteBuf chunk) {
+		try {
+			feeder.feedInput(chunk.nioBuffer());
+			drain();
+		}
+		catch (IOException e) {
+			throw Exceptions.propagate(e);
+		}
+	}
+
+	/**
+	 * Parse the end of the document.
+	 */
+	void end() {
+		feeder.endOfInput();
+		try {
+			drain();
+		}
+		catch (IOException e) {
+			throw Exceptions.propagate(e);
+		}
+	}
+
+	private void drain() throws IOException {
+		JsonToken token;
+		while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+			switch (token) {
+				case START_OBJECT:
+				case START_ARRAY:
+					depth++;
+					if (scopeNext) {
+						scopeNext = false;
+						scopeDepth = depth;
+					}
+					break;
+				case END_OBJECT:
+				case END_ARRAY:
+					if (token == JsonToken.END_OBJECT && depth == valuesDepth) {
+						valuesDepth = -1;
+						objectEnd.run();
+					}
+					if (depth == scopeDepth) {
+						scopeDepth = -1;
+						scopeDone = true;
+					}
+					depth--;
+					break;
+				case FIELD_NAME:
+					if (scope != null && !scopeDone && scopeDepth < 0 && scope.equals(parser.currentName())) {
+						scopeNext = true;
+					}
+					break;
+				default:
+					if (scopeNext) {
+						//the scope is a scalar, which holds no version
+						scopeNext = false;
+						scopeDone = true;
+					}
+					else if ((scope == null || scopeDepth >= 0) && token.isScalarValue()
+							&& parser.currentName() != null && fields.contains(parser.currentName())) {
+						valuesDepth = depth;
+						values.accept(parser.currentName(), parser.getText());
+					}
+			}
+		}
+	}
+
+	@Override
+	public void close() {
+		try {
+			parser.close();
+		}
+		catch (IOException e) {
+			throw Exceptions.propagate(e);
+		}
+	}
+}
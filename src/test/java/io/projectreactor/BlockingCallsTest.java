@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2026 VMware Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.projectreactor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import io.netty.buffer.ByteBufUtil;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaders;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import reactor.blockhound.BlockHound;
+import reactor.blockhound.BlockingOperationError;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives the routes of the {@link Application} with BlockHound installed, against a
+ * local fake upstream serving a small documentation archive, to catch blocking calls on
+ * event loops. It needs a JVM of its own, run with {@code ./gradlew blockHoundTest}
+ * (part of {@code check}).
+ */
+public class BlockingCallsTest {
+
+	private static final List<String> blockingCalls = new CopyOnWriteArrayList<>();
+
+	private static DisposableServer upstream;
+	private static DisposableServer site;
+	private static HttpClient       client;
+
+	/**
+	 * A documentation archive holding the index of a javadoc, a reference guide and a
+	 * kdoc, so that it can be served for any of them.
+	 */
+	static byte[] archive() throws IOException {
+		String html = "<html><body>" + "Reactor ".repeat(500) + "</body></html>";
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+			for (String entry : List.of("index.html", "docs/index.html", "reactor-core/index.html")) {
+				zip.putNextEntry(new ZipEntry(entry));
+				zip.write(html.getBytes(StandardCharsets.UTF_8));
+				zip.closeEntry();
+			}
+		}
+		return bytes.toByteArray();
+	}
+
+	static String sha1(byte[] content) {
+		try {
+			return ByteBufUtil.hexDump(MessageDigest.getInstance("SHA-1").digest(content));
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	@BeforeClass
+	public static void start() throws IOException {
+		BlockHound.install(builder -> builder
+				//logging to the console is accepted
+				.allowBlockingCallsInside("ch.qos.logback.core.OutputStreamAppender", "subAppend")
+				.blockingMethodCallback(method -> {
+					blockingCalls.add(Thread.currentThread().getName() + ": " + method);
+					throw new BlockingOperationError(method);
+				}));
+
+		byte[] archive = archive();
+		String checksum = sha1(archive);
+		upstream = HttpServer.create()
+		                     .port(0)
+		                     .route(r -> r.route(req -> true, (req, resp) -> {
+			                     String uri = req.uri();
+			                     if (uri.endsWith(".sha1")) {
+				                     return resp.sendString(Mono.just(checksum));
+			                     }
+			                     if (uri.endsWith(".jar") || uri.endsWith(".zip")) {
+				                     return resp.header(HttpHeaderNames.CONTENT_LENGTH, String.valueOf(archive.length))
+				                                .sendByteArray(Mono.just(archive));
+			                     }
+			                     //files inside of archives, for the versions that aren't stored
+			                     return resp.header(HttpHeaderNames.CONTENT_TYPE, "text/html")
+			                                .sendString(Mono.just("<html><body>" + uri + "</body></html>"));
+		                     }))
+		                     .bindNow();
+
+		Path snapshot = Files.createTempFile("reactor-site-versions", ".json");
+		Files.write(snapshot, "{\"format\":1,\"modules\":{\"core\":[\"3.2.0.RELEASE\",\"3.8.0\",\"3.8.1-SNAPSHOT\"]}}"
+				.getBytes(StandardCharsets.UTF_8));
+		System.setProperty("PORT", "0");
+		System.setProperty("REACTOR_SITE_VERSIONS_SNAPSHOT", snapshot.toString());
+		System.setProperty("REACTOR_SITE_ARCHIVE_DIR", Files.createTempDirectory("reactor-site-archives").toString());
+		System.setProperty("REACTOR_SITE_UPSTREAM_SPRING_URL", "http://127.0.0.1:" + upstream.port() + "/spring");
+		System.setProperty("REACTOR_SITE_UPSTREAM_SONATYPE_URL", "http://127.0.0.1:" + upstream.port() + "/sonatype");
+
+		site = new Application().bind();
+		client = HttpClient.create()
+		                   .baseUrl("http://127.0.0.1:" + site.port())
+		                   .compress(true);
+	}
+
+	@AfterClass
+	public static void stop() {
+		if (site != null) {
+			site.disposeNow();
+		}
+		if (upstream != null) {
+			upstream.disposeNow();
+		}
+	}
+
+	private static int get(String uri) {
+		return exchange(client, uri, h -> { }).getT1();
+	}
+
+	private static Tuple2<Integer, HttpHeaders> exchange(HttpClient http, String uri, Consumer<HttpHeaders> headers) {
+		return http.headers(headers)
+		             .get()
+		             .uri(uri)
+		             .responseSingle((resp, body) -> body.then(Mono.just(Tuples.of(resp.status().code(), resp.responseHeaders()))))
+		             .block();
+	}
+
+	@Test
+	public void pagesDontBlock() {
+		for (String page : List.of("/", "/docs", "/learn", "/support", "/maintenance", "/security-policy",
+				"/support.json", "/favicon.ico", "/.well-known/security.txt")) {
+			assertThat(get(page)).as(page).isEqualTo(200);
+		}
+		assertThat(get("/docs/core")).as("versions page").isEqualTo(200);
+		assertThat(get("/docs/core")).as("cached versions page").isEqualTo(200);
+
+		assertThat(blockingCalls).isEmpty();
+	}
+
+	@Test
+	public void assetsDontBlock() {
+		assertThat(get("/assets/js/sidebar.js")).isEqualTo(200);
+		assertThat(get("/assets/fonts/fontawesome-webfont.svg")).isEqualTo(200);
+		assertThat(get("/assets/js/missing.js")).isEqualTo(404);
+
+		assertThat(blockingCalls).isEmpty();
+	}
+
+	@Test
+	public void notFoundPagesDontBlock() {
+		assertThat(get("/missing")).isEqualTo(404);
+		assertThat(get("/docs/missing")).isEqualTo(404);
+		assertThat(get("/docs/missing/release/api/index.html")).isEqualTo(404);
+		assertThat(get("/docs/missing/release/api/index.html")).as("negative cache").isEqualTo(404);
+		assertThat(get("/docs/core/1.0.0/kdoc-api/")).isEqualTo(404);
+
+		assertThat(blockingCalls).isEmpty();
+	}
+
+	@Test
+	public void storedDocumentationDoesntBlock() {
+		assertThat(get("/docs/core/release/api/index.html")).isEqualTo(200);
+		assertThat(get("/docs/core/release/api/index.html")).as("extracted").isEqualTo(200);
+		assertThat(get("/docs/core/3.8.0/api")).as("api root").isEqualTo(200);
+		assertThat(get("/docs/core/3.8.0/reference/index.html")).as("reference").isEqualTo(200);
+		assertThat(get("/docs/core/3.2.0.RELEASE/kdoc-api/index.html")).as("kdoc").isEqualTo(200);
+
+		assertThat(blockingCalls).isEmpty();
+	}
+
+	@Test
+	public void rangedAndConditionalRequestsDontBlock() {
+		//a range of the gzipped variant couldn't be decompressed by the client
+		HttpClient identity = client.compress(false);
+		String uri = "/docs/core/3.8.0/api/index.html";
+		Tuple2<Integer, HttpHeaders> full = exchange(identity, uri, h -> { });
+		assertThat(full.getT1()).isEqualTo(200);
+		String etag = full.getT2().get(HttpHeaderNames.ETAG);
+		assertThat(etag).isNotNull();
+
+		assertThat(exchange(identity, uri, h -> h.set(HttpHeaderNames.RANGE, "bytes=0-9")).getT1()).as("ranged").isEqualTo(206);
+		assertThat(exchange(identity, uri, h -> h.set(HttpHeaderNames.IF_NONE_MATCH, etag)).getT1()).as("conditional").isEqualTo(304);
+
+		assertThat(blockingCalls).isEmpty();
+	}
+
+	@Test
+	public void proxiedDocumentationDoesntBlock() {
+		assertThat(get("/docs/core/3.8.1-SNAPSHOT/api/index.html")).isEqualTo(200);
+		assertThat(get("/docs/core/3.8.1-SNAPSHOT/api/index.html")).as("cached").isEqualTo(200);
+
+		assertThat(blockingCalls).isEmpty();
+	}
+
+	@Test
+	public void legacyDocumentationIsRedirected() {
+		Tuple2<Integer, HttpHeaders> response = exchange(client, "/2.x/reactor-core/api", h -> { });
+
+		assertThat(response.getT1()).isEqualTo(302);
+		assertThat(response.getT2().get(HttpHeaderNames.LOCATION)).startsWith(DocUtils.SPRING_REPO);
+		assertThat(blockingCalls).isEmpty();
+	}
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2026 VMware Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.projectreactor;
+
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaders;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ByteRangeTest {
+
+	static final String LAST_MODIFIED = "Wed, 21 Oct 2015 07:28:00 GMT";
+
+	@Test
+	public void boundedRange() {
+		ByteRange range = ByteRange.parse("bytes=0-499", 1000);
+
+		assertThat(range.start).isEqualTo(0);
+		assertThat(range.end).isEqualTo(499);
+		assertThat(range.length()).isEqualTo(500);
+		assertThat(range.contentRange(1000)).isEqualTo("bytes 0-499/1000");
+	}
+
+	@Test
+	public void openEndedRange() {
+		ByteRange range = ByteRange.parse("bytes=900-", 1000);
+
+		assertThat(range.contentRange(1000)).isEqualTo("bytes 900-999/1000");
+	}
+
+	@Test
+	public void endIsClampedToLength() {
+		assertThat(ByteRange.parse("bytes=500-5000", 1000).contentRange(1000)).isEqualTo("bytes 500-999/1000");
+	}
+
+	@Test
+	public void suffixRange() {
+		assertThat(ByteRange.parse("bytes=-100", 1000).contentRange(1000)).isEqualTo("bytes 900-999/1000");
+		assertThat(ByteRange.parse("bytes=-5000", 1000).contentRange(1000)).isEqualTo("bytes 0-999/1000");
+	}
+
+	@Test
+	public void outOfBoundsRangeIsUnsatisfiable() {
+		assertThat(ByteRange.parse("bytes=1000-", 1000)).isSameAs(ByteRange.UNSATISFIABLE);
+		assertThat(ByteRange.parse("bytes=-0", 1000)).isSameAs(ByteRange.UNSATISFIABLE);
+		assertThat(ByteRange.unsatisfiedContentRange(1000)).isEqualTo("bytes */1000");
+	}
+
+	@Test
+	public void multipleRangesAreRejected() {
+		assertThat(ByteRange.parse("bytes=0-99, 200-299", 1000)).isSameAs(ByteRange.UNSATISFIABLE);
+	}
+
+	@Test
+	public void invalidRangeIsIgnored() {
+		assertThat(ByteRange.parse("items=0-10", 1000)).isNull();
+		assertThat(ByteRange.parse("bytes=abc", 1000)).isNull();
+		assertThat(ByteRange.parse("bytes=10-5", 1000)).isNull();
+		assertThat(ByteRange.parse("bytes=", 1000)).isNull();
+	}
+
+	@Test
+	public void noRangeHeader() {
+		assertThat(ByteRange.of(new DefaultHttpHeaders(), new DefaultHttpHeaders(), 1000)).isNull();
+	}
+
+	@Test
+	public void ifRangeWithMatchingEtag() {
+		HttpHeaders request = new DefaultHttpHeaders().set(HttpHeaderNames.RANGE, "bytes=0-9")
+		                                              .set(HttpHeaderNames.IF_RANGE, "\"abc-3e8\"");
+		HttpHeaders response = new DefaultHttpHeaders().set(HttpHeaderNames.ETAG, "\"abc-3e8\"");
+
+		assertThat(ByteRange.of(request, response, 1000)).isNotNull()
+		                                                  .extracting(ByteRange::length)
+		                                                  .isEqualTo(10L);
+	}
+
+	@Test
+	public void ifRangeWithChangedEtagSendsEverything() {
+		HttpHeaders request = new DefaultHttpHeaders().set(HttpHeaderNames.RANGE, "bytes=0-9")
+		                                              .set(HttpHeaderNames.IF_RANGE, "\"abc-3e8\"");
+		HttpHeaders response = new DefaultHttpHeaders().set(HttpHeaderNames.ETAG, "\"def-3e8\"");
+
+		assertThat(ByteRange.of(request, response, 1000)).isNull();
+	}
+
+	@Test
+	public void ifRangeWithWeakEtagNeverMatches() {
+		HttpHeaders response = new DefaultHttpHeaders().set(HttpHeaderNames.ETAG, "\"abc-3e8\"");
+
+		assertThat(ByteRange.ifRangeMatches("W/\"abc-3e8\"", response)).isFalse();
+	}
+
+	@Test
+	public void ifRangeWithDate() {
+		HttpHeaders response = new DefaultHttpHeaders().set(HttpHeaderNames.LAST_MODIFIED, LAST_MODIFIED);
+
+		assertThat(ByteRange.ifRangeMatches(LAST_MODIFIED, response)).isTrue();
+		assertThat(ByteRange.ifRangeMatches("Thu, 22 Oct 2015 07:28:00 GMT", response)).isFalse();
+		assertThat(ByteRange.ifRangeMatches(LAST_MODIFIED, new DefaultHttpHeaders())).isFalse();
+	}
+}
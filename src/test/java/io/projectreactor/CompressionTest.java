@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2026 VMware Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.projectreactor;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaders;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CompressionTest {
+
+	@Test
+	public void textContentIsCompressible() {
+		assertThat(Compression.isCompressible("text/html; charset=UTF-8")).isTrue();
+		assertThat(Compression.isCompressible("text/css")).isTrue();
+		assertThat(Compression.isCompressible("application/javascript")).isTrue();
+		assertThat(Compression.isCompressible("image/svg+xml")).isTrue();
+	}
+
+	@Test
+	public void binaryContentIsNotCompressible() {
+		assertThat(Compression.isCompressible("application/zip")).isFalse();
+		assertThat(Compression.isCompressible("image/png")).isFalse();
+		assertThat(Compression.isCompressible(null)).isFalse();
+	}
+
+	@Test
+	public void shouldCompressAboveThreshold() {
+		HttpHeaders headers = new DefaultHttpHeaders().set(HttpHeaderNames.CONTENT_TYPE, "text/html");
+
+		assertThat(Compression.shouldCompress(headers)).as("unknown length").isTrue();
+		assertThat(Compression.shouldCompress(headers.set(HttpHeaderNames.CONTENT_LENGTH, Compression.MIN_BYTES - 1)))
+				.as("below threshold").isFalse();
+		assertThat(Compression.shouldCompress(headers.set(HttpHeaderNames.CONTENT_LENGTH, Compression.MIN_BYTES)))
+				.as("at threshold").isTrue();
+		assertThat(Compression.shouldCompress(headers.set(HttpHeaderNames.CONTENT_ENCODING, "gzip")))
+				.as("already encoded").isFalse();
+	}
+
+	@Test
+	public void partialContentIsNotCompressed() {
+		HttpHeaders headers = new DefaultHttpHeaders().set(HttpHeaderNames.CONTENT_TYPE, "text/html")
+		                                              .set(HttpHeaderNames.CONTENT_RANGE, "bytes 0-4095/10000");
+
+		assertThat(Compression.shouldCompress(headers)).isFalse();
+	}
+
+	@Test
+	public void filesAreNotCompressedOnTheFly() {
+		HttpHeaders headers = new DefaultHttpHeaders().set(HttpHeaderNames.CONTENT_TYPE, "text/html")
+		                                              .set(HttpHeaderNames.CONTENT_LENGTH, 10000)
+		                                              .set(HttpHeaderNames.ACCEPT_RANGES, "bytes");
+
+		assertThat(Compression.shouldCompress(headers)).isFalse();
+	}
+
+	@Test
+	public void acceptedEncodingsHonorQuality() {
+		assertThat(Compression.acceptedEncodings(null)).isEmpty();
+		assertThat(Compression.acceptedEncodings("identity")).isEmpty();
+		assertThat(Compression.acceptedEncodings("gzip;q=0")).isEmpty();
+		assertThat(Compression.acceptedEncodings("gzip, deflate")).containsExactly(Compression.GZIP);
+		assertThat(Compression.acceptedEncodings("*")).containsExactlyElementsOf(Compression.ENCODINGS);
+		assertThat(Compression.acceptedEncodings("*, gzip;q=0")).doesNotContain(Compression.GZIP);
+	}
+
+	@Test
+	public void quality() {
+		assertThat(Compression.quality("gzip;q=0.5, br", "gzip")).isEqualTo(0.5f);
+		assertThat(Compression.quality("gzip;q=0.5, br", "br")).isEqualTo(1f);
+		assertThat(Compression.quality("gzip;q=foo", "gzip")).isEqualTo(0f);
+		assertThat(Compression.quality("deflate", "gzip")).isEqualTo(0f);
+	}
+
+	@Test
+	public void gzipRoundTrip() throws IOException {
+		String html = "<html>" + "<p>Mono</p>".repeat(100) + "</html>";
+		ByteBuf content = Unpooled.copiedBuffer(html, StandardCharsets.UTF_8);
+		ByteBuf compressed = Compression.compress(content, Compression.GZIP);
+		try {
+			assertThat(compressed).isNotNull();
+			assertThat(compressed.readableBytes()).isLessThan(content.readableBytes());
+			assertThat(content.readableBytes()).as("content not consumed").isEqualTo(html.length());
+			try (GZIPInputStream in = new GZIPInputStream(new ByteBufInputStream(compressed.duplicate()))) {
+				assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(html);
+			}
+		}
+		finally {
+			content.release();
+			compressed.release();
+		}
+	}
+
+	@Test
+	public void incompressibleContentHasNoVariant() {
+		ByteBuf content = Unpooled.copiedBuffer("a", StandardCharsets.UTF_8);
+		try {
+			assertThat(Compression.compress(content, Compression.GZIP)).isNull();
+		}
+		finally {
+			content.release();
+		}
+	}
+
+	@Test
+	public void variantEtag() {
+		assertThat(Compression.etag("\"abc-12\"", Compression.GZIP)).isEqualTo("\"abc-12-gzip\"");
+		assertThat(Compression.etag("W/\"abc-12\"", Compression.BR)).isEqualTo("W/\"abc-12-br\"");
+	}
+}
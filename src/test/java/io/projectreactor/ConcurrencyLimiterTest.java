@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2026 VMware Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.projectreactor;
+
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.context.Context;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class ConcurrencyLimiterTest {
+
+	static ConcurrencyLimiter limiter(int limit, int maxQueue, Duration maxWait) {
+		return new ConcurrencyLimiter("test", limit, 1, 100, maxQueue, maxWait, 2, 0.5);
+	}
+
+	@Test
+	public void requestsAboveTheLimitAreQueued() {
+		ConcurrencyLimiter limiter = limiter(1, 10, Duration.ofSeconds(10));
+		Sinks.One<String> first = Sinks.one();
+		AtomicReference<String> second = new AtomicReference<>();
+
+		limiter.limit(first.asMono(), false).subscribe();
+		limiter.limit(Mono.just("second"), false).subscribe(second::set);
+
+		assertThat(limiter.inFlight()).isEqualTo(1);
+		assertThat(limiter.queued()).isEqualTo(1);
+		assertThat(second).hasValue(null);
+
+		first.tryEmitValue("first");
+
+		assertThat(second).hasValue("second");
+		assertThat(limiter.inFlight()).isZero();
+		assertThat(limiter.queued()).isZero();
+	}
+
+	@Test
+	public void requestsAreShedWhenTheQueueIsFull() {
+		ConcurrencyLimiter limiter = limiter(1, 1, Duration.ofSeconds(10));
+		limiter.limit(Mono.never(), false).subscribe();
+		limiter.limit(Mono.never(), false).subscribe();
+
+		assertThatExceptionOfType(UpstreamOverloadedException.class)
+				.isThrownBy(() -> limiter.limit(Mono.just("shed"), false).block())
+				.satisfies(e -> assertThat(e.retryAfterSeconds()).isEqualTo("10"));
+	}
+
+	@Test
+	public void requestsWaitingTooLongAreShed() {
+		ConcurrencyLimiter limiter = limiter(1, 10, Duration.ofMillis(50));
+		limiter.limit(Mono.never(), false).subscribe();
+
+		assertThatExceptionOfType(UpstreamOverloadedException.class)
+				.isThrownBy(() -> limiter.limit(Mono.just("late"), false).block(Duration.ofSeconds(5)));
+		assertThat(limiter.queued()).isZero();
+	}
+
+	@Test
+	public void cancelledRequestsGiveBackTheirPermit() {
+		ConcurrencyLimiter limiter = limiter(1, 10, Duration.ofSeconds(10));
+		Disposable inFlight = limiter.limit(Mono.never(), false).subscribe();
+		Disposable queued = limiter.limit(Mono.never(), false).subscribe();
+
+		queued.dispose();
+		assertThat(limiter.queued()).isZero();
+
+		inFlight.dispose();
+		assertThat(limiter.inFlight()).isZero();
+		assertThat(limiter.limit(Mono.just("next"), false).block()).isEqualTo("next");
+	}
+
+	@Test
+	public void failuresReduceTheLimit() {
+		ConcurrencyLimiter limiter = limiter(8, 10, Duration.ofSeconds(10));
+
+		limiter.limit(Mono.error(new IllegalStateException("boom")), false)
+		       .onErrorResume(e -> Mono.empty())
+		       .block();
+
+		assertThat(limiter.currentLimit()).isEqualTo(4);
+	}
+
+	@Test
+	public void usedLimitGrowsWhileLatencyIsStable() {
+		//a high tolerance so that latency jitter doesn't make the test flaky
+		ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", 1, 1, 100, 10, Duration.ofSeconds(10), 1000, 0.5);
+
+		for (int i = 0; i < 10; i++) {
+			limiter.limit(Mono.just(i), true).block();
+		}
+
+		assertThat(limiter.currentLimit()).isGreaterThan(1);
+	}
+
+	@Test
+	public void limitDoesntCollapseWithRealisticLatencies() {
+		ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", 20, 4, 100, 10, Duration.ofSeconds(10), 2, 0.9);
+		Random random = new Random(42);
+
+		//log-normal latencies around 50ms, with a few requests 10 times slower
+		for (int i = 0; i < 10_000; i++) {
+			double latency = 50 * Math.exp(0.5 * random.nextGaussian());
+			if (random.nextInt(100) < 3) {
+				latency *= 10;
+			}
+			limiter.sample(TimeUnit.MILLISECONDS.toNanos((long) latency));
+		}
+		assertThat(limiter.currentLimit()).isEqualTo(20);
+
+		//the upstream becomes 3 times slower
+		for (int i = 0; i < 100; i++) {
+			limiter.sample(TimeUnit.MILLISECONDS.toNanos((long) (150 * Math.exp(0.5 * random.nextGaussian()))));
+		}
+		assertThat(limiter.currentLimit()).isLessThan(20)
+		                                  .isGreaterThan(4);
+	}
+
+	@Test
+	public void requestsCanReportTheirTimeToHeaders() {
+		ConcurrencyLimiter limiter = limiter(1, 10, Duration.ofSeconds(10));
+
+		Boolean hasPermit = limiter.limit(Mono.deferContextual(ctx -> {
+			                           ConcurrencyLimiter.responseReceived(ctx);
+			                           return Mono.just(ctx.hasKey(ConcurrencyLimiter.Permit.class));
+		                           }), true)
+		                           .block();
+
+		assertThat(hasPermit).isTrue();
+	}
+
+	@Test
+	public void latencyIsTheTimeToHeaders() {
+		ConcurrencyLimiter limiter = limiter(1, 10, Duration.ofSeconds(10));
+
+		Long latency = limiter.limit(Mono.deferContextual(ctx -> {
+			                        ConcurrencyLimiter.responseReceived(ctx);
+			                        //reading the body
+			                        return Mono.delay(Duration.ofMillis(200))
+			                                   .then(Mono.fromCallable(() -> ConcurrencyLimiter.latency(ctx)));
+		                        }), true)
+		                        .block();
+
+		assertThat(latency).isBetween(0L, Duration.ofMillis(100).toNanos());
+		assertThat(ConcurrencyLimiter.latency(Context.empty())).as("without permit").isEqualTo(-1L);
+	}
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2026 VMware Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.projectreactor;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DocArchiveStoreTest {
+
+	static final String SPRING_URL = "https://repo.spring.io/milestone/io/projectreactor/reactor-core/3.4.0-M1/reactor-core-3.4.0-M1-javadoc.jar!/reactor/core/publisher/Flux.html";
+	static final String SONATYPE_URL = "https://s01.oss.sonatype.org/service/local/repositories/releases/archive/io/projectreactor/reactor-core/3.4.0/reactor-core-3.4.0-javadoc.jar/!/index.html";
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void snapshotsAreNotStorable() {
+		assertThat(DocArchiveStore.isStorable(SPRING_URL, "3.4.0-SNAPSHOT")).isFalse();
+		assertThat(DocArchiveStore.isStorable(SPRING_URL, "3.3.0.BUILD-SNAPSHOT")).isFalse();
+	}
+
+	@Test
+	public void releasesAndMilestonesAreStorable() {
+		assertThat(DocArchiveStore.isStorable(SPRING_URL, "3.4.0-M1")).isTrue();
+		assertThat(DocArchiveStore.isStorable(SONATYPE_URL, "3.4.0")).isTrue();
+	}
+
+	@Test
+	public void urlOutsideOfArchiveIsNotStorable() {
+		assertThat(DocArchiveStore.isStorable("https://repo.spring.io/release/foo.pdf", "3.4.0")).isFalse();
+	}
+
+	@Test
+	public void archiveUrlSpring() {
+		assertThat(DocArchiveStore.archiveUrl(SPRING_URL))
+				.isEqualTo("https://repo.spring.io/milestone/io/projectreactor/reactor-core/3.4.0-M1/reactor-core-3.4.0-M1-javadoc.jar");
+	}
+
+	@Test
+	public void archiveUrlSonatypeUsesContentService() {
+		assertThat(DocArchiveStore.archiveUrl(SONATYPE_URL))
+				.isEqualTo("https://s01.oss.sonatype.org/service/local/repositories/releases/content/io/projectreactor/reactor-core/3.4.0/reactor-core-3.4.0-javadoc.jar");
+	}
+
+	@Test
+	public void entryPath() {
+		assertThat(DocArchiveStore.entryPath(SPRING_URL)).isEqualTo("reactor/core/publisher/Flux.html");
+		assertThat(DocArchiveStore.entryPath(SONATYPE_URL)).isEqualTo("index.html");
+	}
+
+	@Test
+	public void entryPathIgnoresQueryAndFragment() {
+		assertThat(DocArchiveStore.entryPath("https://repo.spring.io/release/a.jar!/index.html?search=Flux#method"))
+				.isEqualTo("index.html");
+	}
+
+	@Test
+	public void localPathMirrorsRepositoryLayout() {
+		Path root = temporaryFolder.getRoot().toPath();
+		DocArchiveStore store = new DocArchiveStore(root, new UpstreamClients(), Duration.ofSeconds(1));
+
+		assertThat(store.localPath(DocArchiveStore.archiveUrl(SPRING_URL)))
+				.isEqualTo(root.resolve("io/projectreactor/reactor-core/3.4.0-M1/reactor-core-3.4.0-M1-javadoc.jar"));
+		assertThat(store.localPath(DocArchiveStore.archiveUrl(SONATYPE_URL)))
+				.isEqualTo(root.resolve("io/projectreactor/reactor-core/3.4.0/reactor-core-3.4.0-javadoc.jar"));
+	}
+
+	@Test
+	public void archiveIsIndexedAndEntriesExtracted() throws IOException {
+		Path zip = temporaryFolder.newFile("test-javadoc.jar").toPath();
+		try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(zip))) {
+			out.putNextEntry(new ZipEntry("reactor/"));
+			out.closeEntry();
+			writeEntry(out, "index.html", "<html>index</html>");
+			writeEntry(out, "reactor/core/publisher/Flux.html", "<html>Flux</html>");
+		}
+
+		DocArchiveStore.DocArchive archive = DocArchiveStore.DocArchive.open(zip);
+
+		assertThat(archive.index).containsOnlyKeys("index.html", "reactor/core/publisher/Flux.html");
+		assertThat(archive.entry("reactor/")).as("directory").isNull();
+		assertThat(archive.entry("missing.html")).isNull();
+
+		try {
+			DocArchiveStore.ExtractedEntry extracted = archive.extract(archive.entry("reactor/core/publisher/Flux.html")).block();
+
+			assertThat(extracted.file.path).isEqualTo(zip.resolveSibling("test-javadoc.jar.files/reactor/core/publisher/Flux.html"));
+			assertThat(extracted.file.path).hasContent("<html>Flux</html>");
+			assertThat(extracted.file.length).isEqualTo(17);
+			assertThat(extracted.variants).as("too small to compress").isEmpty();
+			assertThat(archive.extract(archive.entry("reactor/core/publisher/Flux.html")).block())
+					.as("extracted once").isSameAs(extracted);
+		}
+		finally {
+			archive.zipFile.close();
+		}
+	}
+
+	@Test
+	public void compressibleEntriesAreExtractedWithVariants() throws IOException {
+		Path zip = temporaryFolder.newFile("test-javadoc.jar").toPath();
+		String html = "<html>" + "<p>Flux</p>".repeat(500) + "</html>";
+		try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(zip))) {
+			writeEntry(out, "index.html", html);
+		}
+
+		DocArchiveStore.DocArchive archive = DocArchiveStore.DocArchive.open(zip);
+		try {
+			DocArchiveStore.ExtractedEntry extracted = archive.extract(archive.entry("index.html")).block();
+
+			assertThat(extracted.file.path).hasContent(html);
+			assertThat(extracted.variants).containsOnlyKeys(Compression.ENCODINGS);
+			DocArchiveStore.LocalFile gzip = extracted.variants.get(Compression.GZIP);
+			assertThat(gzip.path).hasFileName("index.html.gz");
+			assertThat(gzip.length).isEqualTo(Files.size(gzip.path))
+			                       .isLessThan(extracted.file.length);
+		}
+		finally {
+			archive.zipFile.close();
+		}
+	}
+
+	@Test
+	public void evictedArchivesAreClosedOnceReleased() throws Exception {
+		Path root = temporaryFolder.getRoot().toPath();
+		DocArchiveStore store = new DocArchiveStore(root, new UpstreamClients(), Duration.ofSeconds(1),
+				1, Long.MAX_VALUE);
+		String first = "https://repo.spring.io/release/io/projectreactor/reactor-core/3.4.0/reactor-core-3.4.0-javadoc.jar";
+		String second = "https://repo.spring.io/release/io/projectreactor/reactor-core/3.4.1/reactor-core-3.4.1-javadoc.jar";
+		for (String url : new String[] { first, second }) {
+			Path zip = store.localPath(url);
+			Files.createDirectories(zip.getParent());
+			try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(zip))) {
+				writeEntry(out, "index.html", "<html>index</html>");
+			}
+		}
+
+		DocArchiveStore.DocArchive firstArchive = store.archive(first).block();
+		DocArchiveStore.DocArchive secondArchive = store.archive(second).block();
+
+		Thread.sleep(100);
+		assertThat(isClosed(firstArchive) || isClosed(secondArchive)).as("evicted but still in use").isFalse();
+		DocArchiveStore.ExtractedEntry extracted = firstArchive.extract(firstArchive.entry("index.html")).block();
+		assertThat(extracted.file.path).hasContent("<html>index</html>");
+
+		firstArchive.release();
+		secondArchive.release();
+		long deadline = System.currentTimeMillis() + 5000;
+		while (!isClosed(firstArchive) && !isClosed(secondArchive) && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertThat(isClosed(firstArchive) || isClosed(secondArchive)).as("one archive evicted and closed").isTrue();
+		assertThat(isClosed(firstArchive) && isClosed(secondArchive)).as("only one").isFalse();
+	}
+
+	@Test
+	public void trimDeletesLeastRecentlyUsedArchives() throws IOException {
+		Path root = temporaryFolder.getRoot().toPath();
+		DocArchiveStore store = new DocArchiveStore(root, new UpstreamClients(), Duration.ofSeconds(1),
+				10, 100);
+		Path old = root.resolve("io/projectreactor/reactor-core/3.4.0/reactor-core-3.4.0-javadoc.jar");
+		Path recent = root.resolve("io/projectreactor/reactor-core/3.4.1/reactor-core-3.4.1-javadoc.jar");
+		for (Path archive : new Path[] { old, recent }) {
+			Files.createDirectories(archive.getParent());
+			Files.write(archive, new byte[60]);
+			Path extracted = DocArchiveStore.DocArchive.extractedRoot(archive).resolve("index.html");
+			Files.createDirectories(extracted.getParent());
+			Files.write(extracted, new byte[20]);
+		}
+		Files.setLastModifiedTime(old, FileTime.fromMillis(System.currentTimeMillis() - 60_000));
+
+		store.trim();
+
+		assertThat(old).doesNotExist();
+		assertThat(DocArchiveStore.DocArchive.extractedRoot(old)).doesNotExist();
+		assertThat(recent).exists();
+		assertThat(DocArchiveStore.DocArchive.extractedRoot(recent).resolve("index.html")).exists();
+	}
+
+	private static boolean isClosed(DocArchiveStore.DocArchive archive) {
+		try {
+			archive.zipFile.size();
+			return false;
+		}
+		catch (IllegalStateException e) {
+			return true;
+		}
+	}
+
+	private static void writeEntry(ZipOutputStream out, String name, String content) throws IOException {
+		out.putNextEntry(new ZipEntry(name));
+		out.write(content.getBytes(StandardCharsets.UTF_8));
+		out.closeEntry();
+	}
+}
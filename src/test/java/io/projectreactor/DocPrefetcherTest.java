@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2026 VMware Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.projectreactor;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import reactor.core.publisher.Mono;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DocPrefetcherTest {
+
+	private static Bom bom() {
+		Bom bom = new Bom("stable", "2025.0.0", "H", "3.8.0", "3.8.0", "1.3.0", null, null, null, "1.3.0");
+		bom.setPoolVersion("1.2.0");
+		return bom;
+	}
+
+	@Test
+	public void pathsOfKnownModules() {
+		Map<String, Module> modules = new HashMap<>();
+		modules.put("core", new Module("core", "io.projectreactor", "reactor-core"));
+		modules.put("test", new Module("test", "io.projectreactor", "reactor-test"));
+		modules.put("kotlin", new Module("kotlin", "io.projectreactor.kotlin", "reactor-kotlin-extensions"));
+
+		List<String> paths = DocPrefetcher.paths(bom(), modules);
+
+		assertThat(paths)
+				.contains("/docs/core/3.8.0/api/index.html",
+						"/docs/core/3.8.0/api/member-search-index.js",
+						"/docs/core/3.8.0/reference/index.html",
+						"/docs/test/3.8.0/api/index.html",
+						"/docs/kotlin/1.3.0/kdoc-api/")
+				.as("test reference guide is part of core's")
+				.doesNotContain("/docs/test/3.8.0/reference/index.html")
+				.as("unknown modules")
+				.noneMatch(p -> p.startsWith("/docs/netty/") || p.startsWith("/docs/pool/"));
+		assertThat(paths).hasSize(3 * DocPrefetcher.JAVADOC_FILES.length + 2);
+	}
+
+	@Test
+	public void versionsSkipUnsetModules() {
+		assertThat(DocPrefetcher.versions(bom()))
+				.containsOnlyKeys("core", "test", "netty", "pool", "kotlin");
+	}
+
+	@Test
+	public void prefetchIsBoundedAndToleratesFailures() {
+		AtomicInteger active = new AtomicInteger();
+		AtomicInteger maxActive = new AtomicInteger();
+		DocPrefetcher prefetcher = new DocPrefetcher(path -> Mono.defer(() -> {
+			                                                         maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+			                                                         if (path.endsWith("error")) {
+				                                                         return Mono.<Boolean>error(new IllegalStateException("boom"));
+			                                                         }
+			                                                         return Mono.just(!path.endsWith("missing"));
+		                                                         })
+		                                                         .delayElement(Duration.ofMillis(10))
+		                                                         .doFinally(s -> active.decrementAndGet()),
+				2);
+
+		Long loaded = prefetcher.prefetch(List.of("/a", "/b", "/c", "/missing", "/error", "/d"))
+		                        .block(Duration.ofSeconds(5));
+
+		assertThat(loaded).isEqualTo(4);
+		assertThat(maxActive).hasValueLessThanOrEqualTo(2);
+	}
+}
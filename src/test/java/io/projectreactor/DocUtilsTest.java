@@ -683,4 +683,30 @@ public class DocUtilsTest {
 		assertThat(DocUtils.getRefDocPath("foo", "0.8.9.RELEASE")).isEmpty();
 	}
 
-}
\ No newline at end of file
+	@Test
+	public void mirrorUrlSonatypeArchiveToSpring() {
+		assertThat(DocUtils.mirrorUrl("https://s01.oss.sonatype.org/service/local/repositories/releases/archive/io/projectreactor/reactor-core/3.4.0/reactor-core-3.4.0-javadoc.jar/!/index.html"))
+				.isEqualTo("https://repo.spring.io/release/io/projectreactor/reactor-core/3.4.0/reactor-core-3.4.0-javadoc.jar!/index.html");
+	}
+
+	@Test
+	public void mirrorUrlSpringToSonatypeArchive() {
+		assertThat(DocUtils.mirrorUrl("https://repo.spring.io/release/io/projectreactor/reactor-core/3.4.0/reactor-core-3.4.0-javadoc.jar!/index.html"))
+				.isEqualTo("https://s01.oss.sonatype.org/service/local/repositories/releases/archive/io/projectreactor/reactor-core/3.4.0/reactor-core-3.4.0-javadoc.jar/!/index.html");
+	}
+
+	@Test
+	public void mirrorUrlWholeArchive() {
+		assertThat(DocUtils.mirrorUrl("https://s01.oss.sonatype.org/service/local/repositories/releases/content/io/projectreactor/reactor-core/3.4.0/reactor-core-3.4.0-javadoc.jar"))
+				.isEqualTo("https://repo.spring.io/release/io/projectreactor/reactor-core/3.4.0/reactor-core-3.4.0-javadoc.jar");
+		assertThat(DocUtils.mirrorUrl("https://repo.spring.io/release/io/projectreactor/reactor-core/3.4.0/reactor-core-3.4.0-javadoc.jar.sha1"))
+				.isEqualTo("https://s01.oss.sonatype.org/service/local/repositories/releases/content/io/projectreactor/reactor-core/3.4.0/reactor-core-3.4.0-javadoc.jar.sha1");
+	}
+
+	@Test
+	public void mirrorUrlNoneForMilestonesAndSnapshots() {
+		assertThat(DocUtils.mirrorUrl("https://repo.spring.io/milestone/io/projectreactor/reactor-core/3.4.0-M1/reactor-core-3.4.0-M1-javadoc.jar!/index.html")).isNull();
+		assertThat(DocUtils.mirrorUrl("https://repo.spring.io/snapshot/io/projectreactor/reactor-core/3.4.0-SNAPSHOT/reactor-core-3.4.0-SNAPSHOT-javadoc.jar!/index.html")).isNull();
+	}
+
+}
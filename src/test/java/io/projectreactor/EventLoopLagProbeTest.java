@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2026 VMware Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.projectreactor;
+
+import java.util.concurrent.TimeUnit;
+
+import io.netty.channel.DefaultEventLoopGroup;
+import io.netty.channel.EventLoopGroup;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EventLoopLagProbeTest {
+
+	private final EventLoopGroup loops = new DefaultEventLoopGroup(2);
+
+	@After
+	public void shutdown() {
+		loops.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+	}
+
+	@Test
+	public void measuresTheLagOfABusyLoop() throws InterruptedException {
+		EventLoopLagProbe probe = new EventLoopLagProbe(loops);
+		loops.next().execute(() -> {
+			try {
+				Thread.sleep(200);
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+
+		probe.probe();
+		loops.forEach(loop -> loop.submit(() -> { }).syncUninterruptibly()); //after the probes
+
+		assertThat(probe.maxLagNanos()).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+		assertThat(probe.snapshot(true)).contains("loop 0", "loop 1");
+		assertThat(probe.maxLagNanos()).as("reset").isZero();
+	}
+
+	@Test
+	public void rejectedProbesAreIgnored() {
+		EventLoopLagProbe probe = new EventLoopLagProbe(loops);
+		loops.shutdownGracefully(0, 0, TimeUnit.SECONDS).syncUninterruptibly();
+
+		probe.probe();
+
+		assertThat(probe.maxLagNanos()).isZero();
+	}
+}
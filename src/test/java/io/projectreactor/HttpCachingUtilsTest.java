@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2026 VMware Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.projectreactor;
+
+import java.nio.charset.StandardCharsets;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaders;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HttpCachingUtilsTest {
+
+	@Test
+	public void concreteReleaseIsImmutable() {
+		assertThat(HttpCachingUtils.cacheControl("3.4.0", "3.4.0"))
+				.startsWith("public, max-age=")
+				.endsWith(", immutable");
+		assertThat(HttpCachingUtils.cacheControl("3.3.0.RELEASE", "3.3.0.RELEASE"))
+				.endsWith(", immutable");
+	}
+
+	@Test
+	public void aliasMustRevalidate() {
+		assertThat(HttpCachingUtils.cacheControl("release", "3.4.0"))
+				.isEqualTo("public, max-age=" + HttpCachingUtils.REVALIDATE_MAX_AGE + ", must-revalidate");
+		assertThat(HttpCachingUtils.cacheControl("MILESTONE", "3.4.0-M1"))
+				.endsWith("must-revalidate");
+		assertThat(HttpCachingUtils.cacheControl("snapshot", "3.4.0-SNAPSHOT"))
+				.endsWith("must-revalidate");
+	}
+
+	@Test
+	public void concreteSnapshotMustRevalidate() {
+		assertThat(HttpCachingUtils.cacheControl("3.4.0-SNAPSHOT", "3.4.0-SNAPSHOT"))
+				.endsWith("must-revalidate");
+		assertThat(HttpCachingUtils.cacheControl("3.3.0.BUILD-SNAPSHOT", "3.3.0.BUILD-SNAPSHOT"))
+				.endsWith("must-revalidate");
+	}
+
+	@Test
+	public void concreteMilestoneIsCachedButNotImmutable() {
+		assertThat(HttpCachingUtils.cacheControl("3.4.0-RC1", "3.4.0-RC1"))
+				.isEqualTo("public, max-age=" + HttpCachingUtils.MILESTONE_MAX_AGE);
+	}
+
+	@Test
+	public void etagOfContent() {
+		ByteBuf content = Unpooled.copiedBuffer("foo", StandardCharsets.UTF_8);
+		ByteBuf other = Unpooled.copiedBuffer("bar", StandardCharsets.UTF_8);
+
+		assertThat(HttpCachingUtils.etag(content))
+				.startsWith("\"")
+				.endsWith("-3\"")
+				.isEqualTo(HttpCachingUtils.etag(content.copy()))
+				.isNotEqualTo(HttpCachingUtils.etag(other));
+		assertThat(content.readableBytes()).as("not consumed").isEqualTo(3);
+	}
+
+	@Test
+	public void ifNoneMatch() {
+		HttpHeaders response = new DefaultHttpHeaders().set(HttpHeaderNames.ETAG, "\"abc-3\"");
+
+		assertThat(HttpCachingUtils.isNotModified(new DefaultHttpHeaders().set(HttpHeaderNames.IF_NONE_MATCH, "\"abc-3\""), response))
+				.as("exact").isTrue();
+		assertThat(HttpCachingUtils.isNotModified(new DefaultHttpHeaders().set(HttpHeaderNames.IF_NONE_MATCH, "\"foo\", W/\"abc-3\""), response))
+				.as("weak in list").isTrue();
+		assertThat(HttpCachingUtils.isNotModified(new DefaultHttpHeaders().set(HttpHeaderNames.IF_NONE_MATCH, "*"), response))
+				.as("star").isTrue();
+		assertThat(HttpCachingUtils.isNotModified(new DefaultHttpHeaders().set(HttpHeaderNames.IF_NONE_MATCH, "\"abc-4\""), response))
+				.as("other").isFalse();
+		assertThat(HttpCachingUtils.isNotModified(new DefaultHttpHeaders().set(HttpHeaderNames.IF_NONE_MATCH, "\"abc-3\""), new DefaultHttpHeaders()))
+				.as("no etag").isFalse();
+	}
+
+	@Test
+	public void ifNoneMatchTakesPrecedenceOverIfModifiedSince() {
+		HttpHeaders response = new DefaultHttpHeaders()
+				.set(HttpHeaderNames.ETAG, "\"abc-3\"")
+				.set(HttpHeaderNames.LAST_MODIFIED, "Wed, 21 Oct 2015 07:28:00 GMT");
+		HttpHeaders request = new DefaultHttpHeaders()
+				.set(HttpHeaderNames.IF_NONE_MATCH, "\"other\"")
+				.set(HttpHeaderNames.IF_MODIFIED_SINCE, "Wed, 21 Oct 2015 07:28:00 GMT");
+
+		assertThat(HttpCachingUtils.isNotModified(request, response)).isFalse();
+	}
+
+	@Test
+	public void ifModifiedSince() {
+		HttpHeaders response = new DefaultHttpHeaders().set(HttpHeaderNames.LAST_MODIFIED, "Wed, 21 Oct 2015 07:28:00 GMT");
+
+		assertThat(HttpCachingUtils.isNotModified(new DefaultHttpHeaders().set(HttpHeaderNames.IF_MODIFIED_SINCE, "Wed, 21 Oct 2015 07:28:00 GMT"), response))
+				.as("same date").isTrue();
+		assertThat(HttpCachingUtils.isNotModified(new DefaultHttpHeaders().set(HttpHeaderNames.IF_MODIFIED_SINCE, "Thu, 22 Oct 2015 07:28:00 GMT"), response))
+				.as("later date").isTrue();
+		assertThat(HttpCachingUtils.isNotModified(new DefaultHttpHeaders().set(HttpHeaderNames.IF_MODIFIED_SINCE, "Tue, 20 Oct 2015 07:28:00 GMT"), response))
+				.as("earlier date").isFalse();
+		assertThat(HttpCachingUtils.isNotModified(new DefaultHttpHeaders().set(HttpHeaderNames.IF_MODIFIED_SINCE, "garbage"), response))
+				.as("unparseable").isFalse();
+	}
+
+	@Test
+	public void httpDateRoundTrip() {
+		assertThat(HttpCachingUtils.httpDate(1445412480000L)).isEqualTo("Wed, 21 Oct 2015 07:28:00 GMT");
+	}
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2026 VMware Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.projectreactor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class MavenMetadataSourceTest {
+
+	static String metadata(String... versions) {
+		StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<metadata>\n"
+				+ "  <groupId>io.projectreactor</groupId>\n  <artifactId>reactor-core</artifactId>\n"
+				+ "  <versioning>\n    <latest>3.4.1</latest>\n    <release>3.4.1</release>\n    <versions>\n");
+		for (String version : versions) {
+			xml.append("      <version>").append(version).append("</version>\n");
+		}
+		return xml.append("    </versions>\n    <lastUpdated>20260101000000</lastUpdated>\n  </versioning>\n</metadata>\n")
+		          .toString();
+	}
+
+	private final Module module = new Module("core", "io.projectreactor", "reactor-core");
+
+	private final AtomicReference<String> served           = new AtomicReference<>();
+	private final AtomicInteger           requests         = new AtomicInteger();
+	private final AtomicBoolean           milestoneFailing = new AtomicBoolean();
+
+	private DisposableServer server;
+
+	@Before
+	public void startServer() {
+		server = HttpServer.create()
+		                   .port(0)
+		                   .route(r -> r.get("/release/io/projectreactor/reactor-core/maven-metadata.xml", (req, resp) -> {
+			                   requests.incrementAndGet();
+			                   String xml = served.get();
+			                   String etag = "\"" + Integer.toHexString(xml.hashCode()) + "\"";
+			                   if (etag.equals(req.requestHeaders().get(HttpHeaderNames.IF_NONE_MATCH))) {
+				                   return resp.status(HttpResponseStatus.NOT_MODIFIED).send();
+			                   }
+			                   return resp.header(HttpHeaderNames.ETAG, etag)
+			                              .sendString(Mono.just(xml));
+		                   })
+		                                //fails after the release metadata was read
+		                                .get("/milestone/io/projectreactor/reactor-core/maven-metadata.xml", (req, resp) ->
+				                                Mono.delay(Duration.ofMillis(200))
+				                                    .then(resp.status(milestoneFailing.get() ? HttpResponseStatus.SERVICE_UNAVAILABLE : HttpResponseStatus.NOT_FOUND)
+				                                              .send())))
+		                   .bindNow();
+	}
+
+	@After
+	public void stopServer() {
+		server.disposeNow();
+	}
+
+	@Test
+	public void parsesVersions() {
+		byte[] xml = metadata("3.4.0", "3.4.1").getBytes(StandardCharsets.UTF_8);
+
+		assertThat(MavenMetadataSource.parseVersions(xml)).containsExactly("3.4.0", "3.4.1");
+	}
+
+	@Test
+	public void conditionalRequestsOnlyReturnNewVersions() {
+		String base = "http://localhost:" + server.port() + "/";
+		MavenMetadataSource source = new MavenMetadataSource(HttpClient.create(),
+				List.of(base + "release/", base + "milestone/"));
+
+		served.set(metadata("3.4.0", "3.4.1"));
+		assertThat(source.apply(module).block()).as("first").containsExactly("3.4.0", "3.4.1");
+		assertThat(source.apply(module).block()).as("not modified").containsExactly("3.4.0", "3.4.1");
+		assertThat(requests).hasValue(2);
+
+		served.set(metadata("3.4.0", "3.4.1", "3.4.2"));
+		assertThat(source.apply(module).block()).as("modified").containsExactly("3.4.0", "3.4.1", "3.4.2");
+	}
+
+	@Test
+	public void versionsAreNotLostWhenAFetchFails() {
+		String base = "http://localhost:" + server.port() + "/";
+		MavenMetadataSource source = new MavenMetadataSource(HttpClient.create(),
+				List.of(base + "release/", base + "milestone/"));
+		served.set(metadata("3.4.0", "3.4.1"));
+		milestoneFailing.set(true);
+
+		//the release metadata is read, but the whole fetch fails and its versions are dropped
+		assertThatExceptionOfType(IllegalStateException.class)
+				.isThrownBy(() -> source.apply(module).block());
+
+		milestoneFailing.set(false);
+		assertThat(source.apply(module).block()).as("retry").containsExactly("3.4.0", "3.4.1");
+		assertThat(requests).as("conditional retry").hasValue(2);
+	}
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2026 VMware Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.projectreactor;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import reactor.util.function.Tuple2;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ModuleCatalogTest {
+
+	private Map<String, Module> modules;
+
+	@Before
+	public void setUp() {
+		Module module = new Module("test", "group", "artifact");
+		module.addVersion("3.4.0")
+		      .addVersion("3.4.0-SNAPSHOT")
+		      .addVersion("3.4.0-RC1")
+		      .addVersion("3.4.0-M2")
+		      .addVersion("3.4.0-M3")
+		      .addVersion("3.1.0.BUILD-SNAPSHOT")
+		      .addVersion("3.1.0.M3")
+		      .sortVersions();
+
+		Module moduleArchive = new Module("testArchive", "group.old", "artifact");
+		moduleArchive.addVersion("3.1.0.M1")
+		             .addVersion("3.0.7.RELEASE")
+		             .addVersion("3.0.6.BUILD-SNAPSHOT")
+		             .addVersion("3.0.6.RELEASE")
+		             .addVersion("3.0.5.RELEASE")
+		             .sortVersions();
+
+		Module onlyArchive = new Module("otherArchive", "group.old", "other");
+		onlyArchive.addVersion("1.0.0.RELEASE");
+
+		modules = new HashMap<>(3);
+		modules.put(module.getName(), module);
+		modules.put(moduleArchive.getName(), moduleArchive);
+		modules.put(onlyArchive.getName(), onlyArchive);
+	}
+
+	@Test
+	public void resolvesLikeDocUtils() {
+		ModuleCatalog catalog = ModuleCatalog.of(modules);
+		List<String> moduleNames = List.of("test", "testArchive", "other", "otherArchive", "foo");
+		List<String> versionNames = List.of("release", "RELEASE", "milestone", "Milestone", "snapshot",
+				"3.4.0", "3.4.0-rc1", "3.0.7.release", "3.0.6.BUILD-SNAPSHOT", "3.1.0.M1", "1.0.0.RELEASE", "foo");
+
+		for (String moduleName : moduleNames) {
+			for (String versionName : versionNames) {
+				Tuple2<Module, String> expected = DocUtils.findModuleAndVersion(modules, moduleName, versionName);
+				Tuple2<Module, String> actual = catalog.resolve(moduleName, versionName);
+
+				assertThat(actual).as(moduleName + ":" + versionName).isEqualTo(expected);
+			}
+		}
+	}
+
+	@Test
+	public void aliasesResolveToLatestMatchingVersion() {
+		ModuleCatalog catalog = ModuleCatalog.of(modules);
+
+		assertThat(catalog.resolve("test", "release").getT2()).isEqualTo("3.4.0");
+		assertThat(catalog.resolve("test", "milestone").getT2()).isEqualTo("3.4.0-RC1");
+		assertThat(catalog.resolve("test", "snapshot").getT2()).isEqualTo("3.4.0-SNAPSHOT");
+	}
+
+	@Test
+	public void exactVersionIsCaseInsensitive() {
+		ModuleCatalog catalog = ModuleCatalog.of(modules);
+
+		assertThat(catalog.resolve("test", "3.4.0-rc1").getT2()).isEqualTo("3.4.0-RC1");
+	}
+
+	@Test
+	public void fallsBackToArchive() {
+		ModuleCatalog catalog = ModuleCatalog.of(modules);
+
+		Tuple2<Module, String> result = catalog.resolve("test", "3.0.7.RELEASE");
+
+		assertThat(result.getT1().getName()).isEqualTo("testArchive");
+		assertThat(catalog.resolve("other", "release").getT1().getName()).isEqualTo("otherArchive");
+	}
+
+	@Test
+	public void unknownModuleOrVersion() {
+		ModuleCatalog catalog = ModuleCatalog.of(modules);
+
+		assertThat(catalog.resolve("foo", "release")).isNull();
+		assertThat(catalog.resolve("test", "foo")).isNull();
+	}
+
+	@Test
+	public void comparesVersions() {
+		ModuleCatalog catalog = ModuleCatalog.of(modules);
+		Map<String, Module> refreshed = new HashMap<>(modules);
+		Module module = new Module("test", "group", "artifact");
+		module.addVersion("3.4.1");
+		refreshed.put(module.getName(), module);
+
+		assertThat(catalog.hasSameVersions(ModuleCatalog.of(new HashMap<>(modules)))).isTrue();
+		assertThat(catalog.hasSameVersions(ModuleCatalog.of(refreshed))).isFalse();
+	}
+}
@@ -19,9 +19,18 @@ package io.projectreactor;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
 import org.junit.Test;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -145,4 +154,140 @@ public class ModuleUtilsTest {
 
 		assertThat(module.getVersions()).containsExactly("3.4.0");
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void findsVersionInPath() {
+		Module module = new Module("core", "io.projectreactor", "reactor-core");
+
+		assertThat(ModuleUtils.versionInPath(
+				"https://repo.spring.io/api/storage/release/io/projectreactor/reactor-core/3.4.0/reactor-core-3.4.0.pom", module))
+				.isEqualTo("3.4.0");
+		assertThat(ModuleUtils.versionInPath(
+				"https://repo.spring.io/api/storage/release/io/projectreactor/reactor-core-micrometer/1.0.0/reactor-core-micrometer-1.0.0.pom", module))
+				.isNull();
+		assertThat(ModuleUtils.versionInPath(
+				"https://repo.spring.io/api/storage/release/io/projectreactor/addons/reactor-core/3.4.0/reactor-core-3.4.0.pom", module))
+				.isNull();
+	}
+
+	@Test
+	public void fetchesOncePerGroup() {
+		Module core = new Module("core", "io.projectreactor", "reactor-core");
+		Module test = new Module("test", "io.projectreactor", "reactor-test");
+		Module netty = new Module("netty", "io.projectreactor.netty", "reactor-netty");
+		List<String> groups = new CopyOnWriteArrayList<>();
+
+		Map<String, List<String>> versions = ModuleUtils.fetchByGroup(List.of(core, test, netty), (groupId, modules) -> {
+			groups.add(groupId);
+			Map<String, Set<String>> found = new HashMap<>();
+			modules.forEach(m -> found.put(m.getName(), Set.of(m.getArtifactId() + "-1.0.0")));
+			return Mono.just(found);
+		}).block();
+
+		assertThat(groups).containsExactlyInAnyOrder("io.projectreactor", "io.projectreactor.netty");
+		assertThat(versions).containsOnlyKeys("core", "test", "netty");
+		assertThat(versions.get("netty")).containsExactly("reactor-netty-1.0.0");
+	}
+
+	@Test
+	public void sonatypeSearchFallsBackToModulesWhenTooManyResults() {
+		Module core = new Module("core", "io.projectreactor", "reactor-core");
+		Module test = new Module("test", "io.projectreactor", "reactor-test");
+		List<String> queries = new CopyOnWriteArrayList<>();
+		DisposableServer server =
+				HttpServer.create()
+				          .port(0)
+				          .route(r -> r.route(req -> true, (req, resp) -> {
+					          String query = req.uri().substring(req.uri().indexOf('?') + 1);
+					          queries.add(query);
+					          String json;
+					          if (query.endsWith("&a=reactor-core")) {
+						          //an entry without artifactId mustn't reuse the coordinates of the previous one
+						          json = "{\"tooManyResults\":false,\"data\":["
+								          + "{\"groupId\":\"io.projectreactor\",\"artifactId\":\"reactor-core\",\"version\":\"3.4.0\"},"
+								          + "{\"groupId\":\"io.projectreactor\",\"version\":\"9.9.9\"},"
+								          + "{\"groupId\":\"io.projectreactor\",\"artifactId\":\"reactor-core\",\"version\":\"3.4.1\","
+								          + "\"artifactHits\":[{\"repositoryId\":\"releases\"}]}]}";
+					          }
+					          else if (query.endsWith("&a=reactor-test")) {
+						          json = "{\"tooManyResults\":false,\"data\":["
+								          + "{\"groupId\":\"io.projectreactor\",\"artifactId\":\"reactor-test\",\"version\":\"3.4.0\"}]}";
+					          }
+					          else {
+						          json = "{\"totalCount\":500,\"tooManyResults\":true,\"data\":["
+								          + "{\"groupId\":\"io.projectreactor\",\"artifactId\":\"reactor-core\",\"version\":\"3.4.1\"}]}";
+					          }
+					          return resp.sendString(Mono.just(json));
+				          }))
+				          .bindNow();
+		try {
+			Map<String, List<String>> versions =
+					ModuleUtils.sonatypeSource(HttpClient.create().baseUrl("http://localhost:" + server.port()))
+					           .apply(List.of(core, test))
+					           .block();
+
+			assertThat(queries).containsExactlyInAnyOrder("g=io.projectreactor",
+					"g=io.projectreactor&a=reactor-core", "g=io.projectreactor&a=reactor-test");
+			assertThat(versions.get("core")).containsExactly("3.4.0", "3.4.1");
+			assertThat(versions.get("test")).containsExactly("3.4.0");
+		}
+		finally {
+			server.disposeNow();
+		}
+	}
+
+	@Test
+	public void artifactorySearchFallsBackToModulesWhenCapped() {
+		Module core = new Module("core", "io.projectreactor", "reactor-core");
+		Module test = new Module("test", "io.projectreactor", "reactor-test");
+		String repos = "&repos=snapshot,milestone,release";
+		List<String> queries = new CopyOnWriteArrayList<>();
+		DisposableServer server =
+				HttpServer.create()
+				          .port(0)
+				          .route(r -> r.route(req -> true, (req, resp) -> {
+					          String query = req.uri().substring(req.uri().indexOf("/search/") + 8);
+					          queries.add(query);
+					          String json;
+					          if (query.startsWith("versions?") && query.contains("&a=reactor-core&")) {
+						          json = "{\"results\":[{\"version\":\"3.4.1\",\"integration\":false},"
+								          + "{\"version\":\"3.4.0\",\"integration\":false}]}";
+					          }
+					          else if (query.startsWith("versions?")) {
+						          json = "{\"results\":[{\"version\":\"3.4.0\",\"integration\":false}]}";
+					          }
+					          else {
+						          //capped at 2 results, missing reactor-test
+						          json = "{\"results\":["
+								          + "{\"uri\":\"http://repo/api/storage/release/io/projectreactor/reactor-core/3.4.0/reactor-core-3.4.0.jar\"},"
+								          + "{\"uri\":\"http://repo/api/storage/release/io/projectreactor/reactor-core/3.4.0/reactor-core-3.4.0.pom\"}]}";
+					          }
+					          return resp.sendString(Mono.just(json));
+				          }))
+				          .bindNow();
+		try {
+			HttpClient client = HttpClient.create().baseUrl("http://localhost:" + server.port() + "/api/search");
+
+			Map<String, List<String>> capped = ModuleUtils.artifactorySource(client, 2)
+			                                              .apply(List.of(core, test))
+			                                              .block();
+
+			assertThat(queries).containsExactlyInAnyOrder("gavc?g=io.projectreactor" + repos,
+					"versions?g=io.projectreactor&a=reactor-core" + repos,
+					"versions?g=io.projectreactor&a=reactor-test" + repos);
+			assertThat(capped.get("core")).containsExactly("3.4.1", "3.4.0");
+			assertThat(capped.get("test")).containsExactly("3.4.0");
+
+			queries.clear();
+			Map<String, List<String>> complete = ModuleUtils.artifactorySource(client, 1000)
+			                                                .apply(List.of(core))
+			                                                .block();
+
+			assertThat(queries).containsExactly("gavc?g=io.projectreactor" + repos);
+			assertThat(complete.get("core")).containsExactly("3.4.0");
+		}
+		finally {
+			server.disposeNow();
+		}
+	}
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2026 VMware Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.projectreactor;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ModuleVersionsSnapshotTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	static Map<String, Module> modules() {
+		Map<String, Module> modules = new HashMap<>();
+		modules.put("core", new Module("core", "io.projectreactor", "reactor-core"));
+		modules.put("pool", new Module("pool", "io.projectreactor.addons", "reactor-pool"));
+		return modules;
+	}
+
+	@Test
+	public void savedVersionsAreLoaded() throws IOException {
+		ModuleVersionsSnapshot snapshot = new ModuleVersionsSnapshot(temporaryFolder.getRoot().toPath().resolve("dir/versions.json"));
+		Map<String, Module> fetched = modules();
+		fetched.get("core").addVersion("3.8.0").addVersion("3.8.1-SNAPSHOT").addVersion("3.7.9").sortVersions();
+		fetched.get("pool").addVersion("1.2.0");
+
+		snapshot.save(fetched);
+		Map<String, Module> loaded = modules();
+
+		assertThat(snapshot.loadInto(loaded)).isTrue();
+		assertThat(loaded.get("core").getVersions()).isEqualTo(fetched.get("core").getVersions());
+		assertThat(loaded.get("pool").getVersions()).containsExactly("1.2.0");
+	}
+
+	@Test
+	public void savedVersionsAreFiltered() throws IOException {
+		ModuleVersionsSnapshot snapshot = new ModuleVersionsSnapshot(temporaryFolder.getRoot().toPath().resolve("versions.json"));
+		Map<String, Module> fetched = modules();
+		fetched.get("core").addVersion("3.8.0").addVersion("3.8.1");
+		snapshot.save(fetched);
+
+		Map<String, Module> loaded = modules();
+		loaded.get("core").setBadVersions(new ArrayList<>(List.of("3.8.1")));
+		snapshot.loadInto(loaded);
+
+		assertThat(loaded.get("core").getVersions()).containsExactly("3.8.0");
+	}
+
+	@Test
+	public void unknownModulesAreIgnored() throws IOException {
+		ModuleVersionsSnapshot snapshot = new ModuleVersionsSnapshot(temporaryFolder.getRoot().toPath().resolve("versions.json"));
+		Map<String, Module> fetched = modules();
+		fetched.put("gone", new Module("gone", "io.projectreactor", "reactor-gone").addVersion("1.0.0"));
+		snapshot.save(fetched);
+
+		Map<String, Module> loaded = modules();
+
+		assertThat(snapshot.loadInto(loaded)).isTrue();
+		assertThat(loaded).doesNotContainKey("gone");
+	}
+
+	@Test
+	public void missingSnapshot() {
+		ModuleVersionsSnapshot snapshot = new ModuleVersionsSnapshot(temporaryFolder.getRoot().toPath().resolve("missing.json"));
+
+		assertThat(snapshot.loadInto(modules())).isFalse();
+	}
+
+	@Test
+	public void corruptedSnapshot() throws IOException {
+		Path path = temporaryFolder.newFile("versions.json").toPath();
+		Files.write(path, "{\"format\": 1, \"modules\": [".getBytes(StandardCharsets.UTF_8));
+
+		assertThat(new ModuleVersionsSnapshot(path).loadInto(modules())).isFalse();
+	}
+}
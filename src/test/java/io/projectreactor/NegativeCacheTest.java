@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2026 VMware Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.projectreactor;
+
+import java.time.Duration;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class NegativeCacheTest {
+
+	static final String URL = "https://repo.spring.io/release/io/projectreactor/reactor-core/3.4.0/reactor-core-3.4.0-javadoc.jar!/missing.html";
+
+	@Test
+	public void missingUrlIsRemembered() {
+		NegativeCache cache = new NegativeCache(10, Duration.ofMinutes(1));
+
+		assertThat(cache.isMissing(URL)).isFalse();
+		cache.markMissing(URL);
+		assertThat(cache.isMissing(URL)).isTrue();
+	}
+
+	@Test
+	public void missingModuleIsRemembered() {
+		NegativeCache cache = new NegativeCache(10, Duration.ofMinutes(1));
+
+		cache.markMissing(NegativeCache.moduleKey("foo", "1.0.0"));
+
+		assertThat(cache.isMissing(NegativeCache.moduleKey("foo", "1.0.0"))).isTrue();
+		assertThat(cache.isMissing(NegativeCache.moduleKey("foo", "1.0.1"))).isFalse();
+	}
+
+	@Test
+	public void noKdocIsRemembered() {
+		NegativeCache cache = new NegativeCache(10, Duration.ofMinutes(1));
+
+		assertThat(cache.noKdoc("core", "3.1.0.RELEASE")).isNull();
+		cache.markNoKdoc("core", "3.1.0.RELEASE", "reactor-core:3.1.0.RELEASE");
+
+		assertThat(cache.noKdoc("core", "3.1.0.RELEASE")).isEqualTo("reactor-core:3.1.0.RELEASE");
+		assertThat(cache.isMissing(NegativeCache.moduleKey("core", "3.1.0.RELEASE")))
+				.as("module still exists").isFalse();
+	}
+
+	@Test
+	public void entriesExpire() throws InterruptedException {
+		NegativeCache cache = new NegativeCache(10, Duration.ofMillis(50));
+		cache.markMissing(URL);
+
+		Thread.sleep(100);
+
+		assertThat(cache.isMissing(URL)).isFalse();
+	}
+
+	@Test
+	public void invalidateAll() {
+		NegativeCache cache = new NegativeCache(10, Duration.ofMinutes(1));
+		cache.markMissing(URL);
+
+		cache.invalidateAll();
+
+		assertThat(cache.isMissing(URL)).isFalse();
+	}
+}
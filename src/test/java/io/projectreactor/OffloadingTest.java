@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2026 VMware Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.projectreactor;
+
+import java.util.concurrent.ThreadFactory;
+
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OffloadingTest {
+
+	@Test
+	public void workRunsOnOffloadingThreads() {
+		Scheduler offload = Offloading.fromConfig();
+		try {
+			String thread = Mono.fromCallable(() -> Thread.currentThread().getName())
+			                    .subscribeOn(offload)
+			                    .block();
+
+			assertThat(thread).startsWith(Offloading.NAME);
+		}
+		finally {
+			offload.dispose();
+		}
+	}
+
+	@Test
+	public void virtualThreadsOnlyWhenSupported() {
+		ThreadFactory factory = Offloading.virtualThreadFactory("test-");
+
+		if (Runtime.version().feature() < 21) {
+			assertThat(factory).isNull();
+		}
+		else {
+			assertThat(factory).isNotNull();
+			assertThat(factory.newThread(() -> { }).getName()).isEqualTo("test-0");
+		}
+	}
+}
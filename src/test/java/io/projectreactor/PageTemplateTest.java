@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2026 VMware Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.projectreactor;
+
+import java.nio.charset.StandardCharsets;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+public class PageTemplateTest {
+
+	static String render(PageTemplate template, String... values) {
+		ByteBuf page = template.render(UnpooledByteBufAllocator.DEFAULT, values);
+		try {
+			return page.toString(StandardCharsets.UTF_8);
+		}
+		finally {
+			page.release();
+		}
+	}
+
+	@Test
+	public void substitutesPlaceholders() {
+		PageTemplate template = PageTemplate.of("<p>" + PageTemplate.placeholder("module") + " "
+				+ PageTemplate.placeholder("page") + " é " + PageTemplate.placeholder("module") + "</p>", "page", "module");
+
+		assertThat(render(template, "/docs/fooé", "core")).isEqualTo("<p>core /docs/fooé é core</p>");
+	}
+
+	@Test
+	public void escapesValues() {
+		PageTemplate template = PageTemplate.of("<p>" + PageTemplate.placeholder("page") + "</p>", "page");
+
+		assertThat(render(template, "/<script>alert('x&y')</script>\""))
+				.isEqualTo("<p>/&lt;script&gt;alert(&#39;x&amp;y&#39;)&lt;/script&gt;&quot;</p>");
+	}
+
+	@Test
+	public void pageWithoutPlaceholders() {
+		PageTemplate template = PageTemplate.of("<p>static</p>", "page");
+
+		assertThat(render(template, "/foo")).isEqualTo("<p>static</p>");
+	}
+
+	@Test
+	public void valuesMustMatchVariables() {
+		PageTemplate template = PageTemplate.of("<p>static</p>", "page");
+
+		assertThatIllegalArgumentException().isThrownBy(() -> template.render(UnpooledByteBufAllocator.DEFAULT));
+	}
+}
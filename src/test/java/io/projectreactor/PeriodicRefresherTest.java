@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2026 VMware Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.projectreactor;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import reactor.core.Disposable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PeriodicRefresherTest {
+
+	@Test
+	public void refreshesPeriodically() throws InterruptedException {
+		AtomicInteger counter = new AtomicInteger();
+		CountDownLatch published = new CountDownLatch(3);
+		PeriodicRefresher<Integer> refresher = new PeriodicRefresher<>("test", counter::incrementAndGet,
+				i -> published.countDown(), Duration.ofMillis(20), Duration.ofMillis(5), 0.1);
+
+		Disposable refreshing = refresher.start(true);
+		try {
+			assertThat(published.await(5, TimeUnit.SECONDS)).isTrue();
+		}
+		finally {
+			refreshing.dispose();
+		}
+	}
+
+	@Test
+	public void failedRefreshesAreRetriedWithoutPublishing() throws InterruptedException {
+		AtomicInteger attempts = new AtomicInteger();
+		List<Integer> published = new CopyOnWriteArrayList<>();
+		CountDownLatch done = new CountDownLatch(1);
+		PeriodicRefresher<Integer> refresher = new PeriodicRefresher<>("test", () -> {
+			if (attempts.incrementAndGet() < 3) {
+				throw new IllegalStateException("boom");
+			}
+			return attempts.get();
+		}, i -> {
+			published.add(i);
+			done.countDown();
+		}, Duration.ofSeconds(10), Duration.ofMillis(5), 0);
+
+		Disposable refreshing = refresher.start(true);
+		try {
+			assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+			assertThat(published).containsExactly(3);
+		}
+		finally {
+			refreshing.dispose();
+		}
+	}
+
+	@Test
+	public void waitsForAnIntervalUnlessImmediate() throws InterruptedException {
+		AtomicInteger counter = new AtomicInteger();
+		PeriodicRefresher<Integer> refresher = new PeriodicRefresher<>("test", counter::incrementAndGet,
+				i -> { }, Duration.ofSeconds(10), Duration.ofMillis(5), 0);
+
+		Disposable refreshing = refresher.start(false);
+		Thread.sleep(100);
+		refreshing.dispose();
+
+		assertThat(counter).hasValue(0);
+	}
+
+	@Test
+	public void jitterStaysWithinBounds() {
+		PeriodicRefresher<Integer> refresher = new PeriodicRefresher<>("test", () -> 1,
+				i -> { }, Duration.ofSeconds(10), Duration.ofMillis(5), 0.1);
+
+		for (int i = 0; i < 100; i++) {
+			assertThat(refresher.jittered(Duration.ofSeconds(10)))
+					.isBetween(Duration.ofSeconds(9), Duration.ofSeconds(11));
+		}
+	}
+}
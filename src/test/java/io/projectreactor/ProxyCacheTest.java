@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) 2026 VMware Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.projectreactor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ProxyCacheTest {
+
+	private ProxyCache cache;
+
+	@Before
+	public void setUp() {
+		cache = new ProxyCache(1024 * 1024, 1024,
+				new ProxyCache.Freshness(Duration.ofHours(1), Duration.ofHours(2), Duration.ofHours(4), Duration.ofSeconds(1)),
+				new ProxyCache.Freshness(Duration.ofMinutes(10), Duration.ofMinutes(20), Duration.ofMinutes(5), Duration.ofSeconds(1)),
+				new ProxyCache.Freshness(Duration.ofMinutes(1), Duration.ZERO, Duration.ZERO, Duration.ofSeconds(1)),
+				Schedulers.immediate());
+	}
+
+	private static ProxyCache.CachedResponse response(String content, String versionType) {
+		HttpHeaders headers = new DefaultHttpHeaders()
+				.set(HttpHeaderNames.CONTENT_TYPE, "text/html")
+				.set(HttpHeaderNames.TRANSFER_ENCODING, "chunked");
+		ByteBuf body = Unpooled.copiedBuffer(content, StandardCharsets.UTF_8);
+		try {
+			return ProxyCache.CachedResponse.copyOf(HttpResponseStatus.OK, headers, body, versionType);
+		}
+		finally {
+			body.release();
+		}
+	}
+
+	@Test
+	public void copyIsDirectAndHeadersAreSanitized() {
+		ProxyCache.CachedResponse response = response("foo", "release");
+		ByteBuf body = response.retainedBody();
+
+		try {
+			assertThat(body.isDirect()).as("direct").isTrue();
+			assertThat(response.headers.get(HttpHeaderNames.CONTENT_TYPE)).isEqualTo("text/html");
+			assertThat(response.headers.contains(HttpHeaderNames.TRANSFER_ENCODING)).as("transfer-encoding").isFalse();
+			assertThat(response.headers.getInt(HttpHeaderNames.CONTENT_LENGTH)).isEqualTo(3);
+		}
+		finally {
+			body.release();
+			response.release();
+		}
+	}
+
+	@Test
+	public void chunkedBodyIsAggregated() {
+		HttpHeaders headers = new DefaultHttpHeaders().set(HttpHeaderNames.TRANSFER_ENCODING, "chunked");
+		Flux<ByteBuf> body = Flux.just("<html>", "chunked", "</html>")
+		                         .map(chunk -> Unpooled.copiedBuffer(chunk, StandardCharsets.UTF_8));
+
+		ProxyCache.CachedResponse response = ProxyCache.CachedResponse.aggregate(HttpResponseStatus.OK, headers,
+				body, 1024, "release").block();
+		ByteBuf content = response.retainedBody();
+
+		try {
+			assertThat(content.toString(StandardCharsets.UTF_8)).isEqualTo("<html>chunked</html>");
+			assertThat(response.headers.getInt(HttpHeaderNames.CONTENT_LENGTH)).isEqualTo(20);
+		}
+		finally {
+			content.release();
+			response.release();
+		}
+	}
+
+	@Test
+	public void tooBigChunkedBodyIsNotAggregated() {
+		ByteBuf[] chunks = { Unpooled.buffer().writeZero(600), Unpooled.buffer().writeZero(600), Unpooled.buffer().writeZero(600) };
+
+		ProxyCache.CachedResponse response = ProxyCache.CachedResponse.aggregate(HttpResponseStatus.OK,
+				new DefaultHttpHeaders(), Flux.just(chunks), 1024, "release").block();
+
+		assertThat(response).isNull();
+		//the aggregate released its references to the chunks
+		assertThat(chunks[0].refCnt()).isEqualTo(1);
+		assertThat(chunks[1].refCnt()).isEqualTo(1);
+	}
+
+	@Test
+	public void putThenGet() {
+		ByteBuf served = cache.put("https://example.org/a.html", response("<html>a</html>", "release"));
+		served.release();
+
+		ProxyCache.CachedResponse cached = cache.get("https://example.org/a.html");
+		assertThat(cached).isNotNull();
+
+		ByteBuf body = cached.retainedBody();
+		try {
+			assertThat(body.toString(StandardCharsets.UTF_8)).isEqualTo("<html>a</html>");
+		}
+		finally {
+			body.release();
+		}
+		assertThat(cache.get("https://example.org/b.html")).isNull();
+	}
+
+	@Test
+	public void invalidatedEntriesAreReleased() {
+		ProxyCache.CachedResponse response = response("<html>a</html>", "snapshot");
+		cache.put("https://example.org/a.html", response).release();
+
+		cache.invalidateAll();
+		cache.cleanUp();
+
+		assertThat(cache.get("https://example.org/a.html")).isNull();
+		assertThat(response.retainedBody()).as("released body").isNull();
+	}
+
+	@Test
+	public void invalidatedEntryIsReleased() {
+		ProxyCache.CachedResponse response = response("<html>a</html>", "release");
+		cache.put("https://example.org/a.html", response).release();
+
+		cache.invalidate("https://example.org/a.html");
+
+		assertThat(cache.get("https://example.org/a.html")).isNull();
+		assertThat(response.retainedBody()).as("released").isNull();
+	}
+
+	@Test
+	public void sizeIsWeightedByBytes() {
+		cache.put("https://example.org/a.html", response("0123456789", "release")).release();
+		cache.cleanUp();
+
+		assertThat(cache.weightedSize()).isEqualTo(10 + ProxyCache.ENTRY_OVERHEAD);
+	}
+
+	@Test
+	public void compressibleBodiesAreStoredWithGzipVariant() {
+		String html = "<html>" + "<p>Flux</p>".repeat(200) + "</html>";
+		ProxyCache.CachedResponse response = response(html, "release");
+		cache.put("https://example.org/a.html", response).release();
+		cache.cleanUp();
+
+		ByteBuf gzip = response.retainedVariant(Compression.GZIP);
+		try {
+			assertThat(gzip).as("gzip variant").isNotNull();
+			assertThat(gzip.readableBytes()).isLessThan(html.length());
+			assertThat(cache.weightedSize()).isEqualTo(html.length() + gzip.readableBytes() + ProxyCache.ENTRY_OVERHEAD);
+		}
+		finally {
+			gzip.release();
+		}
+	}
+
+	@Test
+	public void bodiesAreCompressedAfterBeingStored() throws InterruptedException {
+		Scheduler compressor = Schedulers.newSingle("compressor");
+		CountDownLatch compressing = new CountDownLatch(1);
+		compressor.schedule(() -> {
+			try {
+				compressing.await();
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		ProxyCache.Freshness freshness = new ProxyCache.Freshness(Duration.ofHours(1), Duration.ZERO, Duration.ZERO, Duration.ofSeconds(1));
+		ProxyCache asyncCache = new ProxyCache(1024 * 1024, 64 * 1024, freshness, freshness, freshness, compressor);
+		try {
+			String html = "<html>" + "<p>Flux</p>".repeat(200) + "</html>";
+			ProxyCache.CachedResponse response = response(html, "release");
+			asyncCache.put("https://example.org/a.html", response).release();
+
+			assertThat(response.retainedVariant(Compression.GZIP)).as("not compressed yet").isNull();
+			assertThat(asyncCache.get("https://example.org/a.html")).as("stored right away").isSameAs(response);
+
+			compressing.countDown();
+			Mono.delay(Duration.ZERO, compressor).block(); //after the compression
+
+			ByteBuf gzip = response.retainedVariant(Compression.GZIP);
+			assertThat(gzip).as("gzip variant").isNotNull();
+			gzip.release();
+			assertThat(asyncCache.get("https://example.org/a.html")).as("still cached").isSameAs(response);
+			asyncCache.cleanUp();
+			assertThat(asyncCache.weightedSize()).isGreaterThan(html.length() + ProxyCache.ENTRY_OVERHEAD);
+		}
+		finally {
+			asyncCache.invalidateAll();
+			compressor.dispose();
+		}
+	}
+
+	@Test
+	public void smallBodiesHaveNoVariant() {
+		ProxyCache.CachedResponse response = response("<html>a</html>", "release");
+		cache.put("https://example.org/a.html", response).release();
+
+		assertThat(response.retainedVariant(Compression.GZIP)).isNull();
+	}
+
+	@Test
+	public void acceptsOnlyKnownLengthsUnderMaxEntrySize() {
+		assertThat(cache.accepts(-1)).as("unknown").isFalse();
+		assertThat(cache.accepts(0)).as("empty").isTrue();
+		assertThat(cache.accepts(1024)).as("max").isTrue();
+		assertThat(cache.accepts(1025)).as("too big").isFalse();
+	}
+
+	@Test
+	public void ttlDependsOnVersionType() {
+		assertThat(cache.ttl("release")).isEqualTo(Duration.ofHours(1));
+		assertThat(cache.ttl("milestone")).isEqualTo(Duration.ofMinutes(10));
+		assertThat(cache.ttl("snapshot")).isEqualTo(Duration.ofMinutes(1));
+	}
+
+	@Test
+	public void freshnessStates() {
+		ProxyCache.Freshness release = cache.freshness("release");
+
+		assertThat(release.state(0)).isEqualTo(ProxyCache.State.FRESH);
+		assertThat(release.state(Duration.ofMinutes(59).toMillis())).isEqualTo(ProxyCache.State.FRESH);
+		assertThat(release.state(Duration.ofMinutes(61).toMillis())).isEqualTo(ProxyCache.State.STALE);
+		assertThat(release.state(Duration.ofHours(4).toMillis())).isEqualTo(ProxyCache.State.STALE_IF_ERROR);
+		assertThat(release.state(Duration.ofHours(5).toMillis())).isEqualTo(ProxyCache.State.EXPIRED);
+
+		assertThat(cache.freshness("snapshot").state(Duration.ofMinutes(1).toMillis()))
+				.as("no stale window")
+				.isEqualTo(ProxyCache.State.EXPIRED);
+	}
+
+	@Test
+	public void retentionCoversLongestStaleWindow() {
+		assertThat(cache.freshness("release").retention()).isEqualTo(Duration.ofHours(5));
+		assertThat(cache.freshness("milestone").retention()).isEqualTo(Duration.ofMinutes(30));
+		assertThat(cache.freshness("snapshot").retention()).isEqualTo(Duration.ofMinutes(1));
+	}
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2026 VMware Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.projectreactor;
+
+import java.nio.charset.StandardCharsets;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaders;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RenderedPageTest {
+
+	private final RenderedPage page = RenderedPage.of("<html><body>Réacteur</body></html>");
+
+	private DisposableServer server;
+
+	@Before
+	public void startServer() {
+		server = HttpServer.create()
+		                   .port(0)
+		                   .route(r -> r.get("/page", page::send))
+		                   .bindNow();
+	}
+
+	@After
+	public void stopServer() {
+		server.disposeNow();
+	}
+
+	@Test
+	public void sendsEncodedPageWithLengthAndEtag() {
+		for (int i = 0; i < 2; i++) {
+			Tuple2<HttpHeaders, String> response = HttpClient.create()
+			                                                 .port(server.port())
+			                                                 .get()
+			                                                 .uri("/page")
+			                                                 .responseSingle((r, body) -> body.asString(StandardCharsets.UTF_8)
+			                                                                                  .map(html -> Tuples.of(r.responseHeaders(), html)))
+			                                                 .block();
+
+			assertThat(response.getT2()).as("sent " + i).isEqualTo("<html><body>Réacteur</body></html>");
+			assertThat(response.getT1().get(HttpHeaderNames.CONTENT_LENGTH)).isEqualTo("35");
+			assertThat(response.getT1().get(HttpHeaderNames.CONTENT_TYPE)).isEqualTo(RenderedPage.HTML);
+			assertThat(response.getT1().get(HttpHeaderNames.ETAG)).isEqualTo(page.etag);
+		}
+	}
+
+	@Test
+	public void answersConditionalRequestsWithNotModified() {
+		int status = HttpClient.create()
+		                       .port(server.port())
+		                       .headers(h -> h.set(HttpHeaderNames.IF_NONE_MATCH, page.etag))
+		                       .get()
+		                       .uri("/page")
+		                       .responseSingle((r, body) -> body.thenReturn(r.status().code()))
+		                       .block();
+
+		assertThat(status).isEqualTo(304);
+	}
+
+	@Test
+	public void sendsPrecompressedVariant() {
+		RenderedPage large = RenderedPage.of("<html><body>" + "Reactor ".repeat(1000) + "</body></html>");
+		DisposableServer largeServer = HttpServer.create()
+		                                         .port(0)
+		                                         .route(r -> r.get("/page", large::send))
+		                                         .bindNow();
+		try {
+			HttpHeaders headers = HttpClient.create()
+			                                .port(largeServer.port())
+			                                .headers(h -> h.set(HttpHeaderNames.ACCEPT_ENCODING, "gzip"))
+			                                .get()
+			                                .uri("/page")
+			                                .responseSingle((r, body) -> body.asByteArray()
+			                                                                 .map(bytes -> r.responseHeaders()))
+			                                .block();
+
+			assertThat(headers.get(HttpHeaderNames.CONTENT_ENCODING)).isEqualTo(Compression.GZIP);
+			assertThat(headers.getInt(HttpHeaderNames.CONTENT_LENGTH)).isLessThan(8000);
+			assertThat(headers.get(HttpHeaderNames.ETAG)).isEqualTo(Compression.etag(large.etag, Compression.GZIP));
+			assertThat(headers.get(HttpHeaderNames.VARY)).isEqualToIgnoringCase("accept-encoding");
+		}
+		finally {
+			largeServer.disposeNow();
+		}
+	}
+
+	@Test
+	public void binaryFilesAreNotCompressed() {
+		byte[] png = new byte[4096];
+		RenderedPage file = RenderedPage.of(png, "image/png");
+		DisposableServer fileServer = HttpServer.create()
+		                                        .port(0)
+		                                        .route(r -> r.get("/file", file::send))
+		                                        .bindNow();
+		try {
+			HttpHeaders headers = HttpClient.create()
+			                                .port(fileServer.port())
+			                                .headers(h -> h.set(HttpHeaderNames.ACCEPT_ENCODING, "gzip"))
+			                                .get()
+			                                .uri("/file")
+			                                .responseSingle((r, body) -> body.asByteArray()
+			                                                                 .map(bytes -> r.responseHeaders()))
+			                                .block();
+
+			assertThat(headers.get(HttpHeaderNames.CONTENT_TYPE)).isEqualTo("image/png");
+			assertThat(headers.get(HttpHeaderNames.CONTENT_ENCODING)).isNull();
+			assertThat(headers.getInt(HttpHeaderNames.CONTENT_LENGTH)).isEqualTo(4096);
+			assertThat(headers.get(HttpHeaderNames.ETAG)).isEqualTo(file.etag);
+		}
+		finally {
+			fileServer.disposeNow();
+		}
+	}
+}
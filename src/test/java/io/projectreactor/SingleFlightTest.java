@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2026 VMware Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.projectreactor;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.reactivestreams.Subscription;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SingleFlightTest {
+
+	private final SingleFlight<String> singleFlight = new SingleFlight<>();
+
+	@Test
+	public void concurrentCallersShareOneCall() {
+		AtomicInteger calls = new AtomicInteger();
+		Sinks.One<String> upstream = Sinks.one();
+		List<String> delivered = new CopyOnWriteArrayList<>();
+		List<String> shares = new CopyOnWriteArrayList<>();
+
+		for (int i = 0; i < 3; i++) {
+			singleFlight.execute("key",
+					            () -> upstream.asMono().doOnSubscribe(s -> calls.incrementAndGet()),
+					            value -> {
+						            shares.add(value);
+						            return value + "-shared";
+					            },
+					            delivered::add)
+			            .subscribe(shares::add);
+		}
+
+		assertThat(calls).as("calls in flight").hasValue(1);
+		assertThat(singleFlight.inFlight()).isOne();
+
+		upstream.tryEmitValue("foo");
+
+		assertThat(shares).as("shares computed then delivered")
+		                  .containsExactlyInAnyOrder("foo", "foo", "foo", "foo-shared", "foo-shared", "foo-shared");
+		assertThat(delivered).as("afterDelivery invoked once").containsExactly("foo");
+		assertThat(singleFlight.inFlight()).isZero();
+	}
+
+	@Test
+	public void cancellingOneCallerDoesntCancelTheCall() {
+		AtomicInteger cancelled = new AtomicInteger();
+		Sinks.One<String> upstream = Sinks.one();
+		List<String> shares = new CopyOnWriteArrayList<>();
+
+		Disposable first = singleFlight.execute("key",
+				() -> upstream.asMono().doOnCancel(cancelled::incrementAndGet),
+				value -> value, value -> {})
+		                               .subscribe(shares::add);
+		singleFlight.execute("key", () -> Mono.just("unused"), value -> value, value -> {})
+		            .subscribe(shares::add);
+
+		first.dispose();
+		upstream.tryEmitValue("foo");
+
+		assertThat(cancelled).hasValue(0);
+		assertThat(shares).containsExactly("foo");
+	}
+
+	@Test
+	public void shareOfCancelledCallerIsDiscarded() {
+		List<Object> discarded = new CopyOnWriteArrayList<>();
+		BaseSubscriber<String> noDemand = new BaseSubscriber<String>() {
+			@Override
+			protected void hookOnSubscribe(Subscription subscription) {
+				//the share is computed, but not requested
+			}
+		};
+
+		singleFlight.execute("key", () -> Mono.just("foo"), value -> value + "-shared", value -> {})
+		            .doOnDiscard(String.class, discarded::add)
+		            .subscribe(noDemand);
+		noDemand.cancel();
+
+		assertThat(discarded).containsExactly("foo-shared");
+	}
+
+	@Test
+	public void completedCallIsNotReused() {
+		AtomicInteger calls = new AtomicInteger();
+
+		String first = singleFlight.execute("key", () -> Mono.fromCallable(() -> "call" + calls.incrementAndGet()),
+				value -> value, value -> {}).block();
+		String second = singleFlight.execute("key", () -> Mono.fromCallable(() -> "call" + calls.incrementAndGet()),
+				value -> value, value -> {}).block();
+
+		assertThat(first).isEqualTo("call1");
+		assertThat(second).isEqualTo("call2");
+	}
+
+	@Test
+	public void nullShareCompletesEmpty() {
+		String result = singleFlight.execute("key", () -> Mono.just("foo"), value -> (String) null, value -> {})
+		                            .block();
+
+		assertThat(result).isNull();
+	}
+
+	@Test
+	public void errorIsSharedWithAllCallers() {
+		Sinks.One<String> upstream = Sinks.one();
+		List<Throwable> errors = new CopyOnWriteArrayList<>();
+
+		for (int i = 0; i < 2; i++) {
+			singleFlight.execute("key", upstream::asMono, value -> value, value -> {})
+			            .subscribe(v -> {}, errors::add);
+		}
+		upstream.tryEmitError(new IllegalStateException("boom"));
+
+		assertThat(errors).hasSize(2)
+		                  .allSatisfy(e -> assertThat(e).hasMessage("boom"));
+		assertThat(singleFlight.inFlight()).isZero();
+	}
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2026 VMware Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.projectreactor;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.Test;
+
+import reactor.core.publisher.Mono;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class UpstreamClientsTest {
+
+	static final String SONATYPE_URL = "https://s01.oss.sonatype.org/service/local/repositories/releases/archive/io/projectreactor/reactor-core/3.4.0/reactor-core-3.4.0-javadoc.jar/!/index.html";
+	static final String SPRING_URL   = "https://repo.spring.io/release/io/projectreactor/reactor-core/3.4.0/reactor-core-3.4.0-javadoc.jar!/index.html";
+
+	private static UpstreamStats stats() {
+		return new UpstreamStats(100, 2, Duration.ofMinutes(1), 95, Duration.ofMillis(100), Duration.ofMillis(10), System::nanoTime);
+	}
+
+	@Test
+	public void host() {
+		assertThat(UpstreamClients.host("https://repo.spring.io/release/foo.jar!/index.html")).isEqualTo("repo.spring.io");
+		assertThat(UpstreamClients.host("http://localhost:8080/foo")).isEqualTo("localhost");
+		assertThat(UpstreamClients.host("repo.spring.io")).isEqualTo("repo.spring.io");
+	}
+
+	@Test
+	public void upstreamNameByHost() {
+		assertThat(UpstreamClients.upstreamName("https://repo.spring.io/milestone/io/projectreactor/reactor-core/3.4.0-M1/reactor-core-3.4.0-M1-javadoc.jar!/index.html"))
+				.isEqualTo(UpstreamClients.SPRING);
+		assertThat(UpstreamClients.upstreamName("https://s01.oss.sonatype.org/service/local/repositories/releases/archive/io/projectreactor/reactor-core/3.4.0/reactor-core-3.4.0-javadoc.jar/!/index.html"))
+				.isEqualTo(UpstreamClients.SONATYPE);
+		assertThat(UpstreamClients.upstreamName("https://example.org/foo"))
+				.isEqualTo(UpstreamClients.DEFAULT);
+	}
+
+	@Test
+	public void baseUrlOfUpstreams() {
+		assertThat(UpstreamClients.baseUrl(UpstreamClients.SPRING)).isEqualTo(DocUtils.SPRING_REPO);
+		assertThat(UpstreamClients.baseUrl(UpstreamClients.SONATYPE)).isEqualTo(DocUtils.SONATYPE_REPO);
+		assertThat(UpstreamClients.baseUrl(UpstreamClients.DEFAULT)).isNull();
+	}
+
+	@Test
+	public void perUpstreamConfigOverridesGlobalConfig() {
+		System.setProperty("REACTOR_SITE_UPSTREAM_MAX_CONNECTIONS", "10");
+		System.setProperty("REACTOR_SITE_UPSTREAM_SPRING_MAX_CONNECTIONS", "20");
+		try {
+			assertThat(UpstreamClients.config(UpstreamClients.SPRING, "MAX_CONNECTIONS", 100)).isEqualTo(20);
+			assertThat(UpstreamClients.config(UpstreamClients.SONATYPE, "MAX_CONNECTIONS", 100)).isEqualTo(10);
+			assertThat(UpstreamClients.config(UpstreamClients.SONATYPE, "MAX_IDLE_SECONDS", 30)).isEqualTo(30);
+		}
+		finally {
+			System.clearProperty("REACTOR_SITE_UPSTREAM_MAX_CONNECTIONS");
+			System.clearProperty("REACTOR_SITE_UPSTREAM_SPRING_MAX_CONNECTIONS");
+		}
+	}
+
+	@Test
+	public void hedgedRequestWinsOverSlowUpstream() {
+		UpstreamClients clients = new UpstreamClients(stats(), true);
+		List<String> requested = new CopyOnWriteArrayList<>();
+		List<String> discarded = new CopyOnWriteArrayList<>();
+		try {
+			String response = clients.hedge(SONATYPE_URL,
+					                           url -> {
+						                           requested.add(url);
+						                           return Mono.just(url)
+						                                      .delayElement(url.equals(SONATYPE_URL) ? Duration.ofSeconds(5) : Duration.ofMillis(10));
+					                           },
+					                           url -> false,
+					                           discarded::add)
+			                          .block(Duration.ofSeconds(2));
+
+			assertThat(response).isEqualTo(SPRING_URL);
+			assertThat(requested).containsExactly(SONATYPE_URL, SPRING_URL);
+			assertThat(discarded).isEmpty();
+		}
+		finally {
+			clients.dispose();
+		}
+	}
+
+	@Test
+	public void failedResponseIsDiscardedInFavorOfMirror() {
+		UpstreamClients clients = new UpstreamClients(stats(), true);
+		List<String> discarded = new CopyOnWriteArrayList<>();
+		try {
+			String response = clients.hedge(SONATYPE_URL,
+					                           Mono::just,
+					                           url -> url.equals(SONATYPE_URL),
+					                           discarded::add)
+			                          .block(Duration.ofSeconds(2));
+
+			assertThat(response).isEqualTo(SPRING_URL);
+			assertThat(discarded).containsExactly(SONATYPE_URL);
+		}
+		finally {
+			clients.dispose();
+		}
+	}
+
+	@Test
+	public void failoverAndCircuitBreaker() {
+		UpstreamStats stats = stats();
+		UpstreamClients clients = new UpstreamClients(stats, false);
+		List<String> requested = new CopyOnWriteArrayList<>();
+		try {
+			for (int i = 0; i < 2; i++) {
+				String response = clients.failover(SONATYPE_URL, url -> {
+					                         requested.add(url);
+					                         return url.equals(SONATYPE_URL) ? Mono.error(new IllegalStateException("boom")) : Mono.just(url);
+				                         })
+				                         .block(Duration.ofSeconds(2));
+				assertThat(response).isEqualTo(SPRING_URL);
+			}
+			assertThat(stats.isOpen(UpstreamClients.SONATYPE)).as("circuit open").isTrue();
+
+			requested.clear();
+			clients.failover(SONATYPE_URL, url -> {
+				       requested.add(url);
+				       return Mono.just(url);
+			       })
+			       .block(Duration.ofSeconds(2));
+			assertThat(requested).as("out of rotation").containsExactly(SPRING_URL);
+		}
+		finally {
+			clients.dispose();
+		}
+	}
+
+	@Test
+	public void missingResourceDoesntOpenCircuit() {
+		UpstreamStats stats = stats();
+		UpstreamClients clients = new UpstreamClients(stats, false);
+		try {
+			for (int i = 0; i < 3; i++) {
+				assertThatExceptionOfType(RuntimeException.class)
+						.isThrownBy(() -> clients.failover(SONATYPE_URL, url -> Mono.error(new UpstreamResponseException(404, "Unexpected status 404 for " + url)))
+						                         .block(Duration.ofSeconds(2)));
+				assertThatExceptionOfType(RuntimeException.class)
+						.isThrownBy(() -> clients.failover(SONATYPE_URL, url -> Mono.error(new UpstreamResponseException(UpstreamResponseException.INVALID_CONTENT, "Checksum mismatch for " + url)))
+						                         .block(Duration.ofSeconds(2)));
+			}
+			assertThat(stats.isOpen(UpstreamClients.SONATYPE)).isFalse();
+			assertThat(stats.isOpen(UpstreamClients.SPRING)).isFalse();
+
+			for (int i = 0; i < 2; i++) {
+				assertThatExceptionOfType(RuntimeException.class)
+						.isThrownBy(() -> clients.failover(SONATYPE_URL, url -> Mono.error(new UpstreamResponseException(503, "Unexpected status 503 for " + url)))
+						                         .block(Duration.ofSeconds(2)));
+			}
+			assertThat(stats.isOpen(UpstreamClients.SONATYPE)).as("5xx is a failure").isTrue();
+		}
+		finally {
+			clients.dispose();
+		}
+	}
+
+	@Test
+	public void noMirrorForSnapshots() {
+		UpstreamClients clients = new UpstreamClients(stats(), true);
+		String snapshotUrl = "https://repo.spring.io/snapshot/io/projectreactor/reactor-core/3.4.0-SNAPSHOT/reactor-core-3.4.0-SNAPSHOT-javadoc.jar!/index.html";
+		try {
+			String response = clients.hedge(snapshotUrl, Mono::just, url -> true, url -> { })
+			                         .block(Duration.ofSeconds(2));
+
+			assertThat(response).as("failure is passed through when there is no alternative").isEqualTo(snapshotUrl);
+		}
+		finally {
+			clients.dispose();
+		}
+	}
+}
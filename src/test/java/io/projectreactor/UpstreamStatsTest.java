@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2026 VMware Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.projectreactor;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.projectreactor.UpstreamStats.Permit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class UpstreamStatsTest {
+
+	private AtomicLong    clock;
+	private UpstreamStats stats;
+
+	@Before
+	public void setUp() {
+		clock = new AtomicLong();
+		stats = new UpstreamStats(100, 3, Duration.ofSeconds(10), 90, Duration.ofMillis(500), Duration.ofMillis(20), clock::get);
+	}
+
+	private void recordLatencies(String upstream, long fromMillis, long toMillis) {
+		for (long i = fromMillis; i <= toMillis; i++) {
+			stats.recordSuccess(upstream, TimeUnit.MILLISECONDS.toNanos(i));
+		}
+	}
+
+	@Test
+	public void percentileNeedsEnoughSamples() {
+		recordLatencies("spring", 1, UpstreamStats.MIN_SAMPLES - 1);
+
+		assertThat(stats.latencyPercentile("spring", 50)).isEqualTo(-1);
+		assertThat(stats.hedgeDelay("spring")).isEqualTo(Duration.ofMillis(500));
+	}
+
+	@Test
+	public void percentiles() {
+		recordLatencies("spring", 1, 100);
+
+		assertThat(stats.latencyPercentile("spring", 50)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(50));
+		assertThat(stats.latencyPercentile("spring", 90)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(90));
+		assertThat(stats.hedgeDelay("spring")).isEqualTo(Duration.ofMillis(90));
+	}
+
+	@Test
+	public void windowKeepsMostRecentSamples() {
+		recordLatencies("spring", 1000, 1099);
+		recordLatencies("spring", 1, 100);
+
+		assertThat(stats.latencyPercentile("spring", 100)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+	}
+
+	@Test
+	public void hedgeDelayHasMinimum() {
+		for (int i = 0; i < 20; i++) {
+			stats.recordSuccess("spring", TimeUnit.MILLISECONDS.toNanos(1));
+		}
+
+		assertThat(stats.hedgeDelay("spring")).isEqualTo(Duration.ofMillis(20));
+	}
+
+	@Test
+	public void preferredIsFastestMedian() {
+		recordLatencies("spring", 100, 200);
+		recordLatencies("sonatype", 10, 50);
+
+		assertThat(stats.preferred("spring", "sonatype")).isEqualTo("sonatype");
+		assertThat(stats.preferred("sonatype", "spring")).isEqualTo("sonatype");
+	}
+
+	@Test
+	public void preferredIsFirstWithoutStatistics() {
+		recordLatencies("sonatype", 10, 50);
+
+		assertThat(stats.preferred("spring", "sonatype")).isEqualTo("spring");
+	}
+
+	@Test
+	public void circuitOpensAfterConsecutiveFailures() {
+		stats.recordFailure("spring", Permit.GRANTED);
+		stats.recordFailure("spring", Permit.GRANTED);
+		stats.recordSuccess("spring", 1);
+		stats.recordFailure("spring", Permit.GRANTED);
+		stats.recordFailure("spring", Permit.GRANTED);
+		assertThat(stats.isOpen("spring")).as("not consecutive").isFalse();
+
+		stats.recordFailure("spring", Permit.GRANTED);
+		assertThat(stats.isOpen("spring")).isTrue();
+		assertThat(stats.tryAcquire("spring")).isEqualTo(Permit.DENIED);
+		assertThat(stats.preferred("spring", "sonatype")).isEqualTo("sonatype");
+	}
+
+	@Test
+	public void halfOpenCircuitLetsSingleTrialThrough() {
+		for (int i = 0; i < 3; i++) {
+			stats.recordFailure("spring", Permit.GRANTED);
+		}
+		clock.addAndGet(Duration.ofSeconds(10).toNanos());
+
+		assertThat(stats.tryAcquire("spring")).as("trial").isEqualTo(Permit.TRIAL);
+		assertThat(stats.tryAcquire("spring")).as("second trial").isEqualTo(Permit.DENIED);
+
+		stats.recordSuccess("spring", 1);
+		assertThat(stats.isOpen("spring")).isFalse();
+		assertThat(stats.tryAcquire("spring")).isEqualTo(Permit.GRANTED);
+	}
+
+	@Test
+	public void failedTrialReopensCircuit() {
+		for (int i = 0; i < 3; i++) {
+			stats.recordFailure("spring", Permit.GRANTED);
+		}
+		clock.addAndGet(Duration.ofSeconds(10).toNanos());
+		assertThat(stats.tryAcquire("spring")).as("trial").isEqualTo(Permit.TRIAL);
+
+		stats.recordFailure("spring", Permit.TRIAL);
+
+		assertThat(stats.tryAcquire("spring")).isEqualTo(Permit.DENIED);
+		clock.addAndGet(Duration.ofSeconds(10).toNanos());
+		assertThat(stats.tryAcquire("spring")).isEqualTo(Permit.TRIAL);
+	}
+
+	@Test
+	public void cancelledTrialFreesSlot() {
+		for (int i = 0; i < 3; i++) {
+			stats.recordFailure("spring", Permit.GRANTED);
+		}
+		clock.addAndGet(Duration.ofSeconds(10).toNanos());
+		assertThat(stats.tryAcquire("spring")).as("trial").isEqualTo(Permit.TRIAL);
+
+		stats.recordCancel("spring", Permit.TRIAL);
+
+		assertThat(stats.tryAcquire("spring")).isEqualTo(Permit.TRIAL);
+	}
+
+	@Test
+	public void otherRequestsDontEndTrial() {
+		for (int i = 0; i < 3; i++) {
+			stats.recordFailure("spring", Permit.GRANTED);
+		}
+		clock.addAndGet(Duration.ofSeconds(10).toNanos());
+		assertThat(stats.tryAcquire("spring")).as("trial").isEqualTo(Permit.TRIAL);
+
+		//eg. requests sent while every upstream was out of rotation
+		stats.recordCancel("spring", Permit.GRANTED);
+		stats.recordFailure("spring", Permit.GRANTED);
+
+		assertThat(stats.tryAcquire("spring")).as("trial still in flight").isEqualTo(Permit.DENIED);
+	}
+
+	@Test
+	public void percentilesAreRefreshedEveryFewSamples() {
+		recordLatencies("spring", 1, 100);
+		assertThat(stats.latencyPercentile("spring", 100)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+
+		stats.recordSuccess("spring", TimeUnit.MILLISECONDS.toNanos(1000));
+		assertThat(stats.latencyPercentile("spring", 100)).as("cached").isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+
+		recordLatencies("spring", 101, 105);
+		assertThat(stats.latencyPercentile("spring", 100)).as("refreshed").isEqualTo(TimeUnit.MILLISECONDS.toNanos(1000));
+	}
+}
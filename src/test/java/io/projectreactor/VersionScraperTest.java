@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2026 VMware Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.projectreactor;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class VersionScraperTest {
+
+	private final Module core = new Module("core", "io.projectreactor", "reactor-core");
+	private final Module netty = new Module("netty", "io.projectreactor.netty", "reactor-netty");
+
+	@Test
+	public void sourcesAreScrapedConcurrently() {
+		VersionScraper scraper = new VersionScraper(Duration.ofSeconds(5), Duration.ofSeconds(10), 0, Duration.ofMillis(10))
+				.source("a", m -> Mono.delay(Duration.ofMillis(300)).thenReturn(List.of("3.4.0")))
+				.source("b", m -> Mono.delay(Duration.ofMillis(300)).thenReturn(List.of("3.4.1-SNAPSHOT")));
+
+		VersionScraper.Report report = scraper.scrape(List.of(core, netty));
+
+		assertThat(report.isComplete()).isTrue();
+		assertThat(report.scraped).containsExactlyInAnyOrder("core@a", "core@b", "netty@a", "netty@b");
+		assertThat(report.durationMillis).as("slowest call, not the sum").isLessThan(1000);
+		assertThat(core.getVersions()).containsExactly("3.4.1-SNAPSHOT", "3.4.0");
+	}
+
+	@Test
+	public void partialResultsAreKeptAndMissesReported() {
+		VersionScraper scraper = new VersionScraper(Duration.ofMillis(100), Duration.ofSeconds(10), 0, Duration.ofMillis(10))
+				.source("a", m -> Mono.just(List.of("3.4.0")))
+				.source("b", m -> m == core ? Mono.never() : Mono.error(new IllegalStateException("boom")));
+
+		VersionScraper.Report report = scraper.scrape(List.of(core, netty));
+
+		assertThat(report.isComplete()).isFalse();
+		assertThat(report.scraped).containsExactlyInAnyOrder("core@a", "netty@a");
+		assertThat(report.missed).containsOnlyKeys("core@b", "netty@b");
+		assertThat(report.missed.get("core@b")).contains("timed out");
+		assertThat(report.missed.get("netty@b")).contains("boom");
+		assertThat(core.getVersions()).containsExactly("3.4.0");
+	}
+
+	@Test
+	public void failuresAreRetried() {
+		AtomicInteger attempts = new AtomicInteger();
+		VersionScraper scraper = new VersionScraper(Duration.ofSeconds(5), Duration.ofSeconds(10), 2, Duration.ofMillis(10))
+				.source("a", m -> attempts.incrementAndGet() < 3 ? Mono.error(new IllegalStateException("boom")) :
+						Mono.just(List.of("3.4.0")));
+
+		VersionScraper.Report report = scraper.scrape(List.of(core));
+
+		assertThat(report.isComplete()).isTrue();
+		assertThat(attempts).hasValue(3);
+	}
+
+	@Test
+	public void deadlineBoundsTheWholeScraping() {
+		VersionScraper scraper = new VersionScraper(Duration.ofSeconds(30), Duration.ofMillis(200), 0, Duration.ofMillis(10))
+				.source("a", m -> m == core ? Mono.just(List.of("3.4.0")) : Mono.never());
+
+		VersionScraper.Report report = scraper.scrape(List.of(core, netty));
+
+		assertThat(report.durationMillis).isLessThan(5000);
+		assertThat(report.scraped).containsExactly("core@a");
+		assertThat(report.missed).containsOnlyKeys("netty@a");
+		assertThat(report.missed.get("netty@a")).contains("deadline");
+	}
+
+	@Test
+	public void batchSourcesScrapeAllModulesAtOnce() {
+		AtomicInteger requests = new AtomicInteger();
+		VersionScraper scraper = new VersionScraper(Duration.ofSeconds(5), Duration.ofSeconds(10), 0, Duration.ofMillis(10))
+				.batchSource("a", modules -> {
+					requests.incrementAndGet();
+					return Mono.just(Map.of("core", List.of("3.4.0")));
+				})
+				.batchSource("b", modules -> Mono.error(new IllegalStateException("boom")));
+
+		VersionScraper.Report report = scraper.scrape(List.of(core, netty));
+
+		assertThat(requests).hasValue(1);
+		assertThat(report.scraped).containsExactlyInAnyOrder("core@a", "netty@a");
+		assertThat(report.missed).containsOnlyKeys("core@b", "netty@b");
+		assertThat(core.getVersions()).containsExactly("3.4.0");
+		assertThat(netty.getVersions()).isEmpty();
+	}
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2026 VMware Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.projectreactor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import io.netty.buffer.Unpooled;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class VersionsJsonParserTest {
+
+	static final String ARTIFACTORY = "{\"results\":[{\"version\":\"3.4.0\",\"integration\":false},"
+			+ "{\"version\":\"3.4.1-SNAPSHOT\",\"integration\":true}]}";
+
+	static final String SONATYPE = "{\"totalCount\":2,\"version\":\"ignored\",\"data\":["
+			+ "{\"groupId\":\"io.projectreactor\",\"artifactId\":\"reactor-core\",\"version\":\"3.4.0\"},"
+			+ "{\"groupId\":\"io.projectreactor\",\"artifactId\":\"reactor-core\",\"version\":\"3.3.0.RELEASE\"}],"
+			+ "\"repoDetails\":[{\"version\":\"ignored too\"}]}";
+
+	@Test
+	public void findsVersionsAtAnyDepth() {
+		List<String> versions = new ArrayList<>();
+
+		VersionsJsonParser.parse(ARTIFACTORY, null, versions::add);
+
+		assertThat(versions).containsExactly("3.4.0", "3.4.1-SNAPSHOT");
+	}
+
+	@Test
+	public void findsVersionsInScopeOnly() {
+		List<String> versions = new ArrayList<>();
+
+		VersionsJsonParser.parse(SONATYPE, "data", versions::add);
+
+		assertThat(versions).containsExactly("3.4.0", "3.3.0.RELEASE");
+	}
+
+	@Test
+	public void parsesChunksIncrementally() {
+		List<String> versions = new ArrayList<>();
+		byte[] json = SONATYPE.getBytes(StandardCharsets.UTF_8);
+
+		try (VersionsJsonParser parser = new VersionsJsonParser("data", versions::add)) {
+			for (int i = 0; i < json.length; i += 7) {
+				parser.feed(Unpooled.wrappedBuffer(json, i, Math.min(7, json.length - i)));
+			}
+			parser.end();
+		}
+
+		assertThat(versions).containsExactly("3.4.0", "3.3.0.RELEASE");
+	}
+
+	@Test
+	public void notifiesTheEndOfObjectsHoldingValues() {
+		List<String> values = new ArrayList<>();
+
+		try (VersionsJsonParser parser = new VersionsJsonParser("data", Set.of("artifactId", "version"),
+				(field, value) -> values.add(value), () -> values.add("|"))) {
+			parser.feed(Unpooled.wrappedBuffer(SONATYPE.getBytes(StandardCharsets.UTF_8)));
+			parser.end();
+		}
+
+		assertThat(values).containsExactly("reactor-core", "3.4.0", "|", "reactor-core", "3.3.0.RELEASE", "|");
+	}
+}